@@ -21,6 +21,17 @@ public interface Page<T> {
 
     List<T> getContent();
 
+    /**
+     * The total number of items, or -1 if it was not counted (see {@link Pageable#withoutTotalItems()}).
+     */
     int getTotalItems();
 
+    /**
+     * The token to get the next page with {@link Pageable#after(String, int)}, or null if this is the last page
+     * or the page was not requested with {@link Pageable#after(String, int)}.
+     */
+    default String getContinuationToken() {
+        return null;
+    }
+
 }
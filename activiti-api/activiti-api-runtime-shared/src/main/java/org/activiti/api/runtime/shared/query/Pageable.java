@@ -20,6 +20,9 @@ public class Pageable {
     private int startIndex;
     private int maxItems;
     private Order order;
+    private boolean keyset;
+    private String continuationToken;
+    private boolean countTotalItems = true;
 
     private Pageable(int startIndex,
                     int maxItems,
@@ -40,6 +43,30 @@ public class Pageable {
         return new Pageable(startIndex, maxItems, order);
     }
 
+    /**
+     * Pages with a cursor instead of an offset: the page starts right after the last item of the page the
+     * continuation token was returned with (see {@link Page#getContinuationToken()}), or at the first item when the
+     * token is null. Deep pages are as cheap as the first one.
+     */
+    public static Pageable after(String continuationToken,
+                                 int maxItems) {
+        Pageable pageable = new Pageable(0, maxItems, null);
+        pageable.keyset = true;
+        pageable.continuationToken = continuationToken;
+        return pageable;
+    }
+
+    /**
+     * Doesn't count the total number of items: {@link Page#getTotalItems()} returns -1.
+     */
+    public Pageable withoutTotalItems() {
+        Pageable pageable = new Pageable(startIndex, maxItems, order);
+        pageable.keyset = keyset;
+        pageable.continuationToken = continuationToken;
+        pageable.countTotalItems = false;
+        return pageable;
+    }
+
     public int getStartIndex() {
         return startIndex;
     }
@@ -52,4 +79,16 @@ public class Pageable {
         return order;
     }
 
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean isCountTotalItems() {
+        return countTotalItems;
+    }
+
 }
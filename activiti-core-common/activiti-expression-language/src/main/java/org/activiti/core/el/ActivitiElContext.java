@@ -31,6 +31,7 @@ public class ActivitiElContext extends ELContext {
     protected ELResolver elResolver;
     private ActivitiFunctionMapper functions;
     private ActivitiVariablesMapper variables;
+    private boolean sharedFunctions;
 
     public ActivitiElContext() {
         this(null);
@@ -40,6 +41,16 @@ public class ActivitiElContext extends ELContext {
         this.elResolver = elResolver;
     }
 
+    /**
+     * Creates a context whose functions are looked up in the given mapper, which may be shared with other contexts.
+     * The mapper is copied before any function is added through {@link #setFunction(String, String, Method)}.
+     */
+    public ActivitiElContext(ELResolver elResolver, ActivitiFunctionMapper functions) {
+        this.elResolver = elResolver;
+        this.functions = functions;
+        this.sharedFunctions = functions != null;
+    }
+
     public ELResolver getELResolver() {
         return elResolver;
     }
@@ -61,6 +72,9 @@ public class ActivitiElContext extends ELContext {
     public void setFunction(String prefix, String localName, Method method) {
         if (functions == null) {
             functions = new ActivitiFunctionMapper();
+        } else if (sharedFunctions) {
+            functions = new ActivitiFunctionMapper(functions);
+            sharedFunctions = false;
         }
         functions.setFunction(prefix, localName, method);
     }
@@ -30,6 +30,15 @@ public class ActivitiFunctionMapper extends FunctionMapper {
 
     Map<String, Method> map = Collections.emptyMap();
 
+    public ActivitiFunctionMapper() {
+    }
+
+    public ActivitiFunctionMapper(ActivitiFunctionMapper functionMapper) {
+        if (!functionMapper.map.isEmpty()) {
+            map = new HashMap<String, Method>(functionMapper.map);
+        }
+    }
+
     public Method resolveFunction(String prefix, String localName) {
         return map.get(prefix + ":" + localName);
     }
@@ -30,7 +30,7 @@ import org.activiti.core.el.juel.misc.TypeConverter;
 import org.activiti.core.el.juel.tree.TreeBuilder;
 import org.activiti.core.el.juel.tree.TreeStore;
 import org.activiti.core.el.juel.tree.impl.Builder;
-import org.activiti.core.el.juel.tree.impl.Cache;
+import org.activiti.core.el.juel.tree.impl.SegmentedLruCache;
 
 /**
  * Expression factory implementation.
@@ -265,6 +265,13 @@ public class ExpressionFactoryImpl extends ExpressionFactory {
         this.converter = converter;
     }
 
+    /**
+     * Returns the tree store used to parse and cache parse trees.
+     */
+    public TreeStore getTreeStore() {
+        return store;
+    }
+
     private Properties loadDefaultProperties() {
         String home = System.getProperty("java.home");
         String path =
@@ -437,7 +444,7 @@ public class ExpressionFactoryImpl extends ExpressionFactory {
                 );
             }
         }
-        Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+        SegmentedLruCache cache = cacheSize > 0 ? new SegmentedLruCache(cacheSize) : null;
 
         return new TreeStore(builder, cache);
     }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.tree.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.activiti.core.el.juel.tree.Tree;
+import org.activiti.core.el.juel.tree.TreeCache;
+
+/**
+ * Concurrent (thread-safe) segmented LRU tree cache.
+ * <p>
+ * New entries are added to a probationary segment. An entry that is looked up again is moved to a protected
+ * segment, which holds at most 80% of the capacity. When the cache is full, entries are evicted from the
+ * probationary segment first, so a burst of expressions that are used only once cannot push out the expressions
+ * that are used all the time.
+ * <p>
+ * Lookups don't take a lock: they only mark the entry as referenced. Entries are moved between segments
+ * when a new entry is added, under a lock.
+ */
+public final class SegmentedLruCache implements TreeCache {
+
+    private static final float PROTECTED_RATIO = 0.8f;
+
+    private final ConcurrentMap<String, Node> map;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node probation = new Node(null, null);
+    private final Node protectedSegment = new Node(null, null);
+    private final int capacity;
+    private final int protectedCapacity;
+    private int size;
+    private int protectedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache with the specified capacity.
+     *
+     * @param capacity
+     *            Cache size.
+     */
+    public SegmentedLruCache(int capacity) {
+        this.map = new ConcurrentHashMap<String, Node>();
+        this.capacity = capacity;
+        this.protectedCapacity = (int) (capacity * PROTECTED_RATIO);
+        probation.prev = probation.next = probation;
+        protectedSegment.prev = protectedSegment.next = protectedSegment;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public Tree get(String expression) {
+        Node node = map.get(expression);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        return node.tree;
+    }
+
+    public void put(String expression, Tree tree) {
+        Node node = new Node(expression, tree);
+        if (map.putIfAbsent(expression, node) != null) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (size >= capacity) {
+                evict();
+            }
+            linkFirst(probation, node);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes one entry: the least recently added entry of the probationary segment that was not looked up since
+     * it was added. Referenced entries met on the way are promoted to the protected segment.
+     */
+    private void evict() {
+        Node victim = probation.prev;
+        while (victim != probation && victim.referenced) {
+            promote(victim);
+            victim = probation.prev;
+        }
+        if (victim == probation) {
+            victim = protectedSegment.prev;
+            protectedSize--;
+        }
+        unlink(victim);
+        size--;
+        map.remove(victim.key, victim);
+        evictionCount.increment();
+    }
+
+    private void promote(Node node) {
+        node.referenced = false;
+        unlink(node);
+        linkFirst(protectedSegment, node);
+        protectedSize++;
+        if (protectedSize > protectedCapacity) {
+            Node demoted = protectedSegment.prev;
+            unlink(demoted);
+            linkFirst(probation, demoted);
+            protectedSize--;
+        }
+    }
+
+    private static void linkFirst(Node head, Node node) {
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+    /**
+     * Returns the number of lookups that found an expression tree.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find an expression tree.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of expression trees removed to make room for new ones.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private static final class Node {
+
+        final String key;
+        final Tree tree;
+        volatile boolean referenced;
+        Node prev;
+        Node next;
+
+        Node(String key, Tree tree) {
+            this.key = key;
+            this.tree = tree;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.tree.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.activiti.core.el.juel.test.TestCase;
+import org.activiti.core.el.juel.tree.Tree;
+import org.junit.jupiter.api.Test;
+
+public class SegmentedLruCacheTest extends TestCase {
+
+    @Test
+    public void testSingleThread() {
+        SegmentedLruCache cache = new SegmentedLruCache(1);
+        cache.put("1", parse("1"));
+        assertNotNull(cache.get("1"));
+        assertEquals(1, cache.size());
+
+        cache.put("2", parse("2"));
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("2"));
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    public void testEvictsUnusedEntriesFirst() {
+        SegmentedLruCache cache = new SegmentedLruCache(10);
+        for (int i = 0; i < 5; i++) {
+            cache.put("hot" + i, parse("${hot" + i + "}"));
+            assertNotNull(cache.get("hot" + i));
+        }
+
+        // a scan of expressions used only once
+        for (int i = 0; i < 100; i++) {
+            cache.put("cold" + i, parse("${cold" + i + "}"));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("hot" + i));
+        }
+        assertNull(cache.get("cold0"));
+        assertNotNull(cache.get("cold99"));
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testDemotesLeastRecentlyUsedProtectedEntries() {
+        SegmentedLruCache cache = new SegmentedLruCache(5);
+        for (int i = 0; i < 10; i++) {
+            cache.put("" + i, parse("" + i));
+            cache.get("" + i);
+        }
+
+        assertEquals(5, cache.size());
+        assertNull(cache.get("0"));
+        assertNotNull(cache.get("9"));
+    }
+
+    @Test
+    public void testStatistics() {
+        SegmentedLruCache cache = new SegmentedLruCache(2);
+        assertNull(cache.get("1"));
+        cache.put("1", parse("1"));
+        assertNotNull(cache.get("1"));
+        assertNotNull(cache.get("1"));
+        cache.put("2", parse("2"));
+        cache.put("3", parse("3"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("1"));
+    }
+
+    @Test
+    public void testMultiThread() throws Exception {
+        final int capacity = 100;
+        final SegmentedLruCache cache = new SegmentedLruCache(capacity);
+        final Builder builder = new Builder();
+        ExecutorService service = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(
+                service.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        String expression = String.valueOf(ThreadLocalRandom.current().nextInt(1000));
+                        Tree tree = cache.get(expression);
+                        if (tree == null) {
+                            cache.put(expression, builder.build(expression));
+                        }
+                    }
+                })
+            );
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        service.shutdown();
+
+        assertTrue(cache.size() <= capacity);
+        assertEquals(80000, cache.getHitCount() + cache.getMissCount());
+    }
+}
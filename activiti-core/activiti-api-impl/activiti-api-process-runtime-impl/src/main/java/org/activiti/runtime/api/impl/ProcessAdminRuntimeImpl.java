@@ -50,6 +50,7 @@ import org.activiti.runtime.api.model.impl.APIProcessDefinitionConverter;
 import org.activiti.runtime.api.model.impl.APIProcessInstanceConverter;
 import org.activiti.runtime.api.model.impl.APIVariableInstanceConverter;
 import org.activiti.runtime.api.query.impl.PageImpl;
+import org.activiti.runtime.api.query.impl.PageableQueries;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -212,9 +213,9 @@ public class ProcessAdminRuntimeImpl implements ProcessAdminRuntime {
                 internalQuery.superProcessInstanceId(getProcessInstancesPayload.getParentProcessInstanceId());
             }
         }
-        return new PageImpl<>(processInstanceConverter.from(internalQuery.listPage(pageable.getStartIndex(),
-                pageable.getMaxItems())),
-                Math.toIntExact(internalQuery.count()));
+        return PageableQueries.page(internalQuery,
+                pageable,
+                processInstanceConverter::from);
     }
 
     @Override
@@ -23,6 +23,7 @@ public class PageImpl<T> implements Page<T> {
 
     private List<T> content;
     private int totalItems;
+    private String continuationToken;
 
     public PageImpl(List<T> content,
                     int totalItems) {
@@ -30,6 +31,13 @@ public class PageImpl<T> implements Page<T> {
         this.totalItems = totalItems;
     }
 
+    public PageImpl(List<T> content,
+                    int totalItems,
+                    String continuationToken) {
+        this(content, totalItems);
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public List<T> getContent() {
         return content;
@@ -39,4 +47,9 @@ public class PageImpl<T> implements Page<T> {
     public int getTotalItems() {
         return totalItems;
     }
+
+    @Override
+    public String getContinuationToken() {
+        return continuationToken;
+    }
 }
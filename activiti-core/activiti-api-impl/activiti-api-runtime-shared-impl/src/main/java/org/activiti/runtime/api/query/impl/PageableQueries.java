@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.query.impl;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.activiti.api.runtime.shared.query.Page;
+import org.activiti.api.runtime.shared.query.Pageable;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.query.KeysetPageableQuery;
+import org.activiti.engine.query.Query;
+
+/**
+ * Reads a {@link Page} of an engine query, with offset or keyset paging as the {@link Pageable} asks for.
+ */
+public final class PageableQueries {
+
+    private PageableQueries() {
+    }
+
+    public static <T, U, Q extends Query<?, U> & KeysetPageableQuery<U>> Page<T> page(Q query,
+                                                                                   Pageable pageable,
+                                                                                   Function<List<U>, List<T>> converter) {
+        if (pageable.isKeyset()) {
+            KeysetPage<U> keysetPage = query.listPageAfter(pageable.getContinuationToken(),
+                                                           pageable.getMaxItems());
+            return new PageImpl<>(converter.apply(keysetPage.getContent()),
+                                  countTotalItems(query, pageable),
+                                  keysetPage.getContinuationToken());
+        }
+        return new PageImpl<>(converter.apply(query.listPage(pageable.getStartIndex(),
+                                                             pageable.getMaxItems())),
+                              countTotalItems(query, pageable));
+    }
+
+    private static int countTotalItems(Query<?, ?> query,
+                                       Pageable pageable) {
+        return pageable.isCountTotalItems() ? Math.toIntExact(query.count()) : -1;
+    }
+}
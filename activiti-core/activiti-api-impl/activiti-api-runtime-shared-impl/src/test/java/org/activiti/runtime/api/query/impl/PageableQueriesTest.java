@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.query.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.activiti.api.runtime.shared.query.Page;
+import org.activiti.api.runtime.shared.query.Pageable;
+import org.activiti.engine.impl.KeysetPageImpl;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskQuery;
+import org.junit.jupiter.api.Test;
+
+class PageableQueriesTest {
+
+    private final TaskQuery taskQuery = mock(TaskQuery.class);
+
+    private final Task task = mock(Task.class);
+
+    private final Function<List<Task>, List<String>> converter = tasks -> List.of("converted");
+
+    @Test
+    void should_useOffsetPaging_when_pageableIsOfStartIndex() {
+        given(taskQuery.listPage(20, 10)).willReturn(List.of(task));
+        given(taskQuery.count()).willReturn(21L);
+
+        Page<String> page = PageableQueries.page(taskQuery, Pageable.of(20, 10), converter);
+
+        assertThat(page.getContent()).containsExactly("converted");
+        assertThat(page.getTotalItems()).isEqualTo(21);
+        assertThat(page.getContinuationToken()).isNull();
+    }
+
+    @Test
+    void should_useKeysetPaging_when_pageableIsAfterContinuationToken() {
+        given(taskQuery.listPageAfter("token", 10)).willReturn(new KeysetPageImpl<>(List.of(task), "nextToken"));
+        given(taskQuery.count()).willReturn(21L);
+
+        Page<String> page = PageableQueries.page(taskQuery, Pageable.after("token", 10), converter);
+
+        assertThat(page.getContent()).containsExactly("converted");
+        assertThat(page.getTotalItems()).isEqualTo(21);
+        assertThat(page.getContinuationToken()).isEqualTo("nextToken");
+        verify(taskQuery, never()).listPage(anyInt(), anyInt());
+    }
+
+    @Test
+    void should_notCountTotalItems_when_pageableIsWithoutTotalItems() {
+        given(taskQuery.listPageAfter(null, 10)).willReturn(new KeysetPageImpl<>(List.of(task), null));
+
+        Page<String> page = PageableQueries.page(taskQuery, Pageable.after(null, 10).withoutTotalItems(), converter);
+
+        assertThat(page.getTotalItems()).isEqualTo(-1);
+        verify(taskQuery, never()).count();
+    }
+}
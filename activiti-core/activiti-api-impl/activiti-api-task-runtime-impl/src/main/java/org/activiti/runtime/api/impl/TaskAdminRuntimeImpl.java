@@ -44,6 +44,7 @@ import org.activiti.engine.task.TaskQuery;
 import org.activiti.runtime.api.model.impl.APITaskConverter;
 import org.activiti.runtime.api.model.impl.APIVariableInstanceConverter;
 import org.activiti.runtime.api.query.impl.PageImpl;
+import org.activiti.runtime.api.query.impl.PageableQueries;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -99,10 +100,9 @@ public class TaskAdminRuntimeImpl implements TaskAdminRuntime {
             taskQuery = taskQuery.taskParentTaskId(getTasksPayload.getParentTaskId());
         }
 
-        List<Task> tasks = taskConverter.from(taskQuery.listPage(pageable.getStartIndex(),
-                pageable.getMaxItems()));
-        return new PageImpl<>(tasks,
-                Math.toIntExact(taskQuery.count()));
+        return PageableQueries.page(taskQuery,
+                pageable,
+                taskConverter::from);
     }
 
     @Override
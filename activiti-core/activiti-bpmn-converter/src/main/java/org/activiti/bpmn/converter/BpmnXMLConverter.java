@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.XMLConstants;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
@@ -114,6 +115,9 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
   protected static Map<String, BaseBpmnXMLConverter> convertersToBpmnMap = new HashMap<String, BaseBpmnXMLConverter>();
   protected static Map<Class<? extends BaseElement>, BaseBpmnXMLConverter> convertersToXMLMap = new HashMap<Class<? extends BaseElement>, BaseBpmnXMLConverter>();
 
+  /** Compiled BPMN schemas by XSD location, see {@link #getSchema(URL)}. */
+  protected static final Map<String, Schema> SCHEMA_CACHE = new ConcurrentHashMap<String, Schema>();
+
   protected ClassLoader classloader;
   protected List<String> userTaskFormTypes;
   protected List<String> startEventFormTypes;
@@ -226,14 +230,13 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
   }
 
   protected Schema createSchema() throws SAXException {
-    SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
     Schema schema = null;
     if (classloader != null) {
-      schema = createSchema(factory, classloader.getResource(BPMN_XSD));
+      schema = getSchema(classloader.getResource(BPMN_XSD));
     }
 
     if (schema == null) {
-      schema = createSchema(factory, BpmnXMLConverter.class.getClassLoader().getResource(BPMN_XSD));
+      schema = getSchema(BpmnXMLConverter.class.getClassLoader().getResource(BPMN_XSD));
     }
 
     if (schema == null) {
@@ -242,6 +245,26 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     return schema;
   }
 
+  /**
+   * Returns the compiled schema of the given XSD location, compiling it on first use only:
+   * a {@link Schema} is immutable and thread-safe, and compiling the BPMN XSD set is by far the most expensive part of a validated parse.
+   */
+  protected Schema getSchema(URL schemaUrl) throws SAXException {
+    if (schemaUrl == null) {
+      return null;
+    }
+    String schemaLocation = schemaUrl.toExternalForm();
+    Schema schema = SCHEMA_CACHE.get(schemaLocation);
+    if (schema == null) {
+      schema = createSchema(SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI), schemaUrl);
+      Schema cachedSchema = SCHEMA_CACHE.putIfAbsent(schemaLocation, schema);
+      if (cachedSchema != null) {
+        schema = cachedSchema;
+      }
+    }
+    return schema;
+  }
+
   protected Schema createSchema(SchemaFactory factory, URL schemaUrl) throws SAXException {
     try {
       return factory.newSchema(
@@ -251,11 +274,15 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     }
   }
 
-  public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml) {
-    return convertToBpmnModel(inputStreamProvider, validateSchema, enableSafeBpmnXml, DEFAULT_ENCODING);
+  /**
+   * Returns the shared factory of the stream readers, with the safe XML settings applied.
+   * The factory is only read from once it is configured, which makes creating readers from multiple threads safe.
+   */
+  protected XMLInputFactory getXMLInputFactory() {
+    return XmlInputFactoryHolder.XML_INPUT_FACTORY;
   }
 
-  public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml, String encoding) {
+  protected static XMLInputFactory createXMLInputFactory() {
     XMLInputFactory xif = XMLInputFactory.newInstance();
 
     if (xif.isPropertySupported(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES)) {
@@ -269,6 +296,19 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     if (xif.isPropertySupported(XMLInputFactory.SUPPORT_DTD)) {
       xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
     }
+    return xif;
+  }
+
+  private static class XmlInputFactoryHolder {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+  }
+
+  public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml) {
+    return convertToBpmnModel(inputStreamProvider, validateSchema, enableSafeBpmnXml, DEFAULT_ENCODING);
+  }
+
+  public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml, String encoding) {
+    XMLInputFactory xif = getXMLInputFactory();
 
     InputStreamReader in = null;
     try {
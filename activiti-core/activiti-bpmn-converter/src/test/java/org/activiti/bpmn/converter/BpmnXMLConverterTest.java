@@ -23,6 +23,7 @@ import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import org.junit.jupiter.api.Test;
@@ -52,4 +53,20 @@ public class BpmnXMLConverterTest {
         assertThat(schema).isNotNull();
     }
 
+    @Test
+    public void should_compileSchemaOnce_when_createdByDifferentConverters() throws Exception {
+        Schema schema = bpmnXMLConverter.createSchema();
+
+        assertThat(new BpmnXMLConverter().createSchema()).isSameAs(schema);
+    }
+
+    @Test
+    public void should_shareSafeXMLInputFactory() {
+        XMLInputFactory xmlInputFactory = bpmnXMLConverter.getXMLInputFactory();
+
+        assertThat(new BpmnXMLConverter().getXMLInputFactory()).isSameAs(xmlInputFactory);
+        assertThat(xmlInputFactory.getProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES)).isEqualTo(false);
+        assertThat(xmlInputFactory.getProperty(XMLInputFactory.SUPPORT_DTD)).isEqualTo(false);
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Acquires and executes a batch of async continuation jobs the way the async executor does,
+ * but on the benchmark thread: the async executor is not activated, so the hand-off to its
+ * thread pool (and the acquisition wait time) do not blur the cost of the acquisition query,
+ * the job lock and the job execution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncJobBenchmark extends BenchmarkEngine {
+
+  public static final int JOBS_PER_INVOCATION = 100;
+
+  private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  private AsyncExecutor asyncExecutor;
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine("asyncTask.bpmn20.xml");
+    asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+  }
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  @Setup(Level.Invocation)
+  public void createJobs() {
+    for (int i = 0; i < JOBS_PER_INVOCATION; i++) {
+      runtimeService.startProcessInstanceByKey("asyncTask");
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(JOBS_PER_INVOCATION)
+  public void acquireAndExecuteJobs() {
+    AcquiredJobEntities acquiredJobs = managementService.executeCommand(new AcquireJobsCmd(asyncExecutor, JOBS_PER_INVOCATION));
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      new ExecuteAsyncRunnable(job, processEngineConfiguration).run();
+    }
+  }
+
+}
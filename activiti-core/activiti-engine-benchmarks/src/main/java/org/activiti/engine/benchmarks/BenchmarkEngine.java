@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.HistoryService;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.repository.DeploymentBuilder;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state of the benchmarks: a process engine on its own in-memory H2 database.
+ *
+ * Subclasses call {@link #buildProcessEngine()} from their trial setup, after tuning the
+ * configuration in {@link #configure(ProcessEngineConfigurationImpl)}.
+ */
+@State(Scope.Benchmark)
+public abstract class BenchmarkEngine {
+
+  public static final String RESOURCE_PATH = "org/activiti/engine/benchmarks/";
+
+  private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+  protected ProcessEngine processEngine;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  protected void buildProcessEngine(String... resources) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName("benchmark-" + DATABASE_COUNTER.incrementAndGet());
+    // every trial gets a fresh database, so the results of one trial do not depend on the data of another
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + processEngineConfiguration.getProcessEngineName());
+    processEngineConfiguration.setAsyncExecutorActivate(false);
+    configure(processEngineConfiguration);
+
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    repositoryService = processEngine.getRepositoryService();
+    runtimeService = processEngine.getRuntimeService();
+    taskService = processEngine.getTaskService();
+    historyService = processEngine.getHistoryService();
+    managementService = processEngine.getManagementService();
+
+    if (resources.length > 0) {
+      DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+      for (String resource : resources) {
+        deploymentBuilder.addClasspathResource(RESOURCE_PATH + resource);
+      }
+      deploymentBuilder.deploy();
+    }
+  }
+
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+  }
+
+  @TearDown
+  public void closeProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+    }
+  }
+
+}
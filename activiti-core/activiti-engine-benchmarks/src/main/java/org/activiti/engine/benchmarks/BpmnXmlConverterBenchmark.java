@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.converter.BpmnXMLConverter;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.engine.impl.util.io.BytesStreamSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses the benchmark models with the {@link BpmnXMLConverter}, with and without the schema
+ * validation that a deployment does by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BpmnXmlConverterBenchmark {
+
+  @Param({"linear", "exclusiveGateway", "parallelGateway"})
+  public String model;
+
+  @Param({"true", "false"})
+  public boolean validateSchema;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setUp() throws IOException {
+    try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(BenchmarkEngine.RESOURCE_PATH + model + ".bpmn20.xml")) {
+      bytes = inputStream.readAllBytes();
+    }
+  }
+
+  @Benchmark
+  public BpmnModel convertToBpmnModel() {
+    return new BpmnXMLConverter().convertToBpmnModel(new BytesStreamSource(bytes), validateSchema, false);
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.repository.DeploymentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deploys an application-sized deployment: copies of the exclusive gateway model, each with its own
+ * process definition key. Every invocation parses, validates and persists all of them, and the
+ * deployment is removed again afterwards. With a parsing parallelism above 1, the resources are converted
+ * and validated on that many threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DeploymentBenchmark extends BenchmarkEngine {
+
+  @Param({"500"})
+  public int numberOfProcessDefinitions;
+
+  @Param({"1", "4"})
+  public int parsingParallelism;
+
+  private List<String> resources;
+
+  private String deploymentId;
+
+  @Setup
+  public void setUp() throws IOException {
+    buildProcessEngine();
+
+    String xml;
+    try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE_PATH + "exclusiveGateway.bpmn20.xml")) {
+      xml = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    resources = new ArrayList<>();
+    for (int i = 0; i < numberOfProcessDefinitions; i++) {
+      resources.add(xml.replace("<process id=\"exclusiveGateway\">", "<process id=\"exclusiveGateway" + i + "\">"));
+    }
+  }
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    processEngineConfiguration.setDeploymentParsingParallelism(parsingParallelism);
+  }
+
+  @Benchmark
+  public void deploy() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment().name("benchmark");
+    for (int i = 0; i < resources.size(); i++) {
+      deploymentBuilder.addString("process" + i + ".bpmn20.xml", resources.get(i));
+    }
+    deploymentId = deploymentBuilder.deploy().getId();
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteDeployment() {
+    if (deploymentId != null) {
+      repositoryService.deleteDeployment(deploymentId, true);
+      deploymentId = null;
+    }
+  }
+
+}
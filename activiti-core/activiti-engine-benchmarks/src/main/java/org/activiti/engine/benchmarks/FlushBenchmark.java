@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Updates a set of existing variables in one transaction, so that the flush writes one update
+ * per variable. Compares the statement-per-entity flush with the JDBC-batched one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlushBenchmark extends BenchmarkEngine {
+
+  @Param({"false", "true"})
+  public boolean batchedFlush;
+
+  @Param({"20"})
+  public int numberOfVariables;
+
+  private String processInstanceId;
+
+  private int counter;
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine("userTask.bpmn20.xml");
+    processInstanceId = runtimeService.startProcessInstanceByKey("userTask", createVariables()).getId();
+  }
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    processEngineConfiguration.setBatchedFlushEnabled(batchedFlush);
+  }
+
+  @Benchmark
+  public void updateVariables() {
+    runtimeService.setVariables(processInstanceId, createVariables());
+  }
+
+  protected Map<String, Object> createVariables() {
+    counter++;
+    Map<String, Object> variables = new HashMap<>();
+    for (int i = 0; i < numberOfVariables; i++) {
+      variables.put("variable" + i, "value" + counter);
+    }
+    return variables;
+  }
+
+}
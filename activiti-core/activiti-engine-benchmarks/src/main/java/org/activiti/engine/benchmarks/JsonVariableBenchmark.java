@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.variable.VariableType;
+import org.activiti.engine.impl.variable.VariableTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sets JSON variables of about 1KB, 100KB and 1MB, which end up in the json (up to 4000 characters) and
+ * longJson variable types. Finding the variable type is also measured on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonVariableBenchmark extends BenchmarkEngine {
+
+  @Param({"1024", "102400", "1048576"})
+  public int payloadSize;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private VariableTypes variableTypes;
+
+  private String processInstanceId;
+
+  private ObjectNode value;
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine("userTask.bpmn20.xml");
+    variableTypes = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getVariableTypes();
+    processInstanceId = runtimeService.startProcessInstanceByKey("userTask").getId();
+    value = createJson(payloadSize);
+    runtimeService.setVariable(processInstanceId, "variable", value);
+  }
+
+  @Benchmark
+  public void setVariable() {
+    runtimeService.setVariable(processInstanceId, "variable", value);
+  }
+
+  @Benchmark
+  public VariableType findVariableType() {
+    return variableTypes.findVariableType(value);
+  }
+
+  protected static ObjectNode createJson(int size) {
+    ObjectNode json = OBJECT_MAPPER.createObjectNode();
+    ArrayNode items = json.putArray("items");
+    // every item is about 50 characters
+    for (int i = 0; i < size / 50; i++) {
+      items.addObject()
+          .put("id", i)
+          .put("name", "item " + i)
+          .put("active", i % 2 == 0);
+    }
+    return json;
+  }
+
+}
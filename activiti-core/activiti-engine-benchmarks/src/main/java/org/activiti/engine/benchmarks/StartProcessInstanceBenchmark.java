@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts (and thereby runs to the end) process instances of straight-through models,
+ * for every history level that changes the number of rows written per instance.
+ *
+ * The exclusive gateway model evaluates all of its conditions for the default amount.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StartProcessInstanceBenchmark extends BenchmarkEngine {
+
+  @Param({"linear", "exclusiveGateway", "parallelGateway"})
+  public String processDefinitionKey;
+
+  @Param({"none", "activity", "full"})
+  public String historyLevel;
+
+  private Map<String, Object> variables = Collections.singletonMap("amount", 10);
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine(processDefinitionKey + ".bpmn20.xml");
+  }
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    processEngineConfiguration.setHistory(historyLevel);
+  }
+
+  @Benchmark
+  public ProcessInstance startProcessInstance() {
+    return runtimeService.startProcessInstanceByKey(processDefinitionKey, variables);
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Completes the user task of a freshly started process instance. Starting the instance is
+ * part of the invocation setup, so only the completion is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserTaskCompleteBenchmark extends BenchmarkEngine {
+
+  @Param({"none", "activity", "full"})
+  public String historyLevel;
+
+  private String taskId;
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine("userTask.bpmn20.xml");
+  }
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    processEngineConfiguration.setHistory(historyLevel);
+  }
+
+  @Setup(Level.Invocation)
+  public void startProcessInstance() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("userTask").getId();
+    taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+  }
+
+  @Benchmark
+  public void completeTask() {
+    taskService.complete(taskId);
+  }
+
+}
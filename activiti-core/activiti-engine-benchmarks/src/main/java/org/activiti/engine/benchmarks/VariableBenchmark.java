@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmarks;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sets and reads a process variable for each of the built-in variable types, in a transaction
+ * of its own. The parameter is the name of the variable type that stores the value.
+ *
+ * Setting the value a variable already has doesn't update it, so the set benchmark alternates between
+ * two different values of the type. The null type has a single value and measures the skipped update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VariableBenchmark extends BenchmarkEngine {
+
+  @Param({"null", "string", "longString", "boolean", "short", "integer", "long", "double", "date",
+      "localDate", "localDateTime", "jodaDate", "jodaDateTime", "uuid", "bigDecimal", "json", "longJson", "bytes",
+      "serializable"})
+  public String variableType;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  // 2020-01-01T00:00:00Z
+  private static final long BASE_TIME = 1577836800000L;
+
+  private String processInstanceId;
+
+  private Object[] values;
+
+  private int invocationCount;
+
+  @Setup
+  public void setUp() {
+    buildProcessEngine("userTask.bpmn20.xml");
+    processInstanceId = runtimeService.startProcessInstanceByKey("userTask").getId();
+    values = new Object[] {createValue(variableType, 1), createValue(variableType, 2)};
+    runtimeService.setVariable(processInstanceId, "variable", values[0]);
+  }
+
+  @Benchmark
+  public void setVariable() {
+    runtimeService.setVariable(processInstanceId, "variable", values[++invocationCount % 2]);
+  }
+
+  @Benchmark
+  public Object getVariable() {
+    return runtimeService.getVariable(processInstanceId, "variable");
+  }
+
+  /**
+   * @param seed distinguishes the values of the same type
+   */
+  protected static Object createValue(String variableType, int seed) {
+    switch (variableType) {
+      case "null":
+        return null;
+      case "string":
+        return "benchmark" + seed;
+      case "longString":
+        // longer than the 4000 characters that fit in the TEXT_ column
+        return new String(new char[5000]).replace('\0', (char) ('a' + seed % 26));
+      case "boolean":
+        return seed % 2 == 0;
+      case "short":
+        return (short) seed;
+      case "integer":
+        return seed;
+      case "long":
+        return (long) seed;
+      case "double":
+        return seed + 0.5d;
+      case "date":
+        return new Date(BASE_TIME + seed);
+      case "localDate":
+        return LocalDate.of(2020, 1, 1).plusDays(seed);
+      case "localDateTime":
+        return LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(seed);
+      case "jodaDate":
+        return new org.joda.time.LocalDate(2020, 1, 1).plusDays(seed);
+      case "jodaDateTime":
+        return new DateTime(BASE_TIME + seed);
+      case "uuid":
+        return new UUID(0L, seed);
+      case "bigDecimal":
+        return BigDecimal.valueOf(seed, 2);
+      case "json":
+        return OBJECT_MAPPER.createObjectNode().put("name", "benchmark").put("count", seed);
+      case "longJson":
+        return OBJECT_MAPPER.createObjectNode().put("name", createValue("longString", seed).toString());
+      case "bytes":
+        byte[] bytes = new byte[1024];
+        bytes[0] = (byte) seed;
+        return bytes;
+      case "serializable":
+        return new SerializableValue("benchmark", seed);
+      default:
+        throw new ActivitiIllegalArgumentException("Unknown variable type " + variableType);
+    }
+  }
+
+  public static class SerializableValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final int count;
+
+    public SerializableValue(String name, int count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+  }
+
+}
@@ -26,6 +26,7 @@ import org.activiti.engine.history.HistoricDetail;
 import org.activiti.engine.history.HistoricDetailQuery;
 import org.activiti.engine.history.HistoricIdentityLink;
 import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricProcessInstancePurgeBuilder;
 import org.activiti.engine.history.HistoricProcessInstanceQuery;
 import org.activiti.engine.history.HistoricTaskInstance;
 import org.activiti.engine.history.HistoricTaskInstanceQuery;
@@ -124,4 +125,10 @@ public interface HistoryService {
    */
   ProcessInstanceHistoryLogQuery createProcessInstanceHistoryLogQuery(String processInstanceId);
 
+  /**
+   * Returns a builder to delete the history of finished process instances in bulk, for instance all process instances
+   * that finished before the retention period. The purge can run right away or as a recurring timer job.
+   */
+  HistoricProcessInstancePurgeBuilder createHistoricProcessInstancePurge();
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine;
 
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -628,6 +629,27 @@ public interface RuntimeService {
    */
   VariableInstance getVariableInstance(String executionId, String variableName);
 
+  /**
+   * Writes the stored content of a variable to the given output stream, without deserializing the value of the variable. Searching for the variable is done
+   * in all scopes that are visible to the given execution (including parent scopes). Only variables that are stored as a byte array have content, like byte
+   * arrays, serializable objects, long strings and long json values. The content is written as stored: the java serialization for serializable objects and
+   * long strings, and the UTF-8 encoded json for long json values.
+   *
+   * The content is copied from the database while it is read, so it isn't loaded into memory, unless the JDBC driver does so for the column type.
+   * The output stream is not closed.
+   *
+   * @param executionId
+   *          id of execution, cannot be null.
+   * @param variableName
+   *          name of variable, cannot be null.
+   * @param outputStream
+   *          the stream to write the content to, cannot be null.
+   * @return true if content was written, false if the variable is undefined, null or not stored as a byte array.
+   * @throws ActivitiObjectNotFoundException
+   *           when no execution is found for the given executionId.
+   */
+  boolean writeVariableContent(String executionId, String variableName, OutputStream outputStream);
+
   /**
    * The variable value. Searching for the variable is done in all scopes that are visible to the given execution (including parent scopes). Returns null when no variable value is found with the given
    * name or when the value is set to null. Throws ClassCastException when cannot cast variable to given class
@@ -1044,6 +1066,25 @@ public interface RuntimeService {
    */
   void signalEventReceivedAsyncWithTenantId(String signalName, String tenantId);
 
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has been received. The signal is delivered to all executions waiting on it
+   * by asynchronous jobs, each handling a chunk of at most {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#getSignalBroadcastChunkSize()}
+   * subscriptions in its own transaction, so a failure only affects one chunk.
+   * <p/>
+   * Only the subscriptions existing when this method is called receive the signal.
+   *
+   * @param signalName
+   *          the name of the signal event
+   * @return the ids of the jobs delivering the chunks. A chunk is delivered when its job no longer exists; a chunk that keeps failing becomes a dead
+   *         letter job with the same id.
+   */
+  List<String> signalEventReceivedInChunks(String signalName);
+
+  /**
+   * Similar to {@link #signalEventReceivedInChunks(String)}, but within the context of one tenant.
+   */
+  List<String> signalEventReceivedInChunksWithTenantId(String signalName, String tenantId);
+
   /**
    * Notifies the process engine that a signal event of name 'signalName' has been received. This method delivers the signal to all executions waiting on the signal.
    * <p/>
@@ -17,6 +17,7 @@
 package org.activiti.engine;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -512,6 +513,23 @@ public interface TaskService {
    */
   VariableInstance getVariableInstance(String taskId, String variableName);
 
+  /**
+   * Writes the stored content of a variable to the given output stream, without deserializing the value of the variable. Searching for the variable is done
+   * in all scopes that are visible to the task (including parent scopes). Only variables that are stored as a byte array have content, see
+   * {@link RuntimeService#writeVariableContent(String, String, OutputStream)}. Like there, the content isn't loaded into memory and the output stream is not closed.
+   *
+   * @param taskId
+   *          id of task, cannot be null.
+   * @param variableName
+   *          name of variable, cannot be null.
+   * @param outputStream
+   *          the stream to write the content to, cannot be null.
+   * @return true if content was written, false if the variable is undefined, null or not stored as a byte array.
+   * @throws ActivitiObjectNotFoundException
+   *           when no task is found for the given taskId.
+   */
+  boolean writeVariableContent(String taskId, String variableName, OutputStream outputStream);
+
   /**
    * checks whether or not the task has a variable defined with the given name, in the task scope and if available also the execution scopes.
    */
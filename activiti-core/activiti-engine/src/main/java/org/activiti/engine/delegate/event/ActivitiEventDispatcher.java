@@ -57,6 +57,15 @@ public interface ActivitiEventDispatcher {
    */
   void dispatchEvent(ActivitiEvent event);
 
+  /**
+   * Allows callers to skip building events that nobody would receive.
+   *
+   * @return true, if an event of the given type could be delivered to at least one listener. Dispatchers that can't tell always return true.
+   */
+  default boolean hasListeners(ActivitiEventType type) {
+    return true;
+  }
+
   /**
    * @param enabled
    *          true, if event dispatching should be enabled.
@@ -16,6 +16,10 @@
 
 package org.activiti.engine.delegate.event.impl;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.engine.delegate.event.ActivitiEntityEvent;
 import org.activiti.engine.delegate.event.ActivitiEvent;
@@ -37,6 +41,11 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
   protected ActivitiEventSupport eventSupport;
   protected boolean enabled = true;
 
+  /**
+   * Types for which a process definition parsed by this engine has event listeners. Only grows, and is replaced rather than modified.
+   */
+  protected volatile Set<ActivitiEventType> processDefinitionListenerTypes = EnumSet.noneOf(ActivitiEventType.class);
+
   public ActivitiEventDispatcherImpl() {
     eventSupport = new ActivitiEventSupport();
   }
@@ -64,6 +73,28 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     eventSupport.removeEventListener(listenerToRemove);
   }
 
+  /**
+   * Takes the listeners of process definitions into account once their model has been parsed, so this should only be used to skip events
+   * of executions that are running in their process model, like the events of the agenda operations.
+   */
+  @Override
+  public boolean hasListeners(ActivitiEventType type) {
+    return (enabled && eventSupport.hasListeners(type)) || processDefinitionListenerTypes.contains(type);
+  }
+
+  /**
+   * Called when a process definition with event listeners for the given types (all types when none are given) is parsed.
+   */
+  public synchronized void addProcessDefinitionListenerTypes(ActivitiEventType... types) {
+    Set<ActivitiEventType> listenerTypes = EnumSet.copyOf(processDefinitionListenerTypes);
+    if (types == null || types.length == 0) {
+      listenerTypes.addAll(EnumSet.allOf(ActivitiEventType.class));
+    } else {
+      listenerTypes.addAll(Arrays.asList(types));
+    }
+    processDefinitionListenerTypes = listenerTypes;
+  }
+
   @Override
   public void dispatchEvent(ActivitiEvent event) {
     if (enabled) {
@@ -16,7 +16,8 @@
 
 package org.activiti.engine.delegate.event.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -32,18 +33,26 @@ import org.slf4j.LoggerFactory;
 /**
  * Class that allows adding and removing event listeners and dispatching events to the appropriate listeners.
  *
+ * Listeners are added and removed under a lock, after which an immutable dispatch table is rebuilt that holds, for every event type,
+ * the global listeners followed by the listeners for that type. Dispatching only reads the current table, so it needs no locking
+ * and does not iterate listeners that are not interested in the event.
+ *
 
  */
 public class ActivitiEventSupport {
 
   private static final Logger LOG = LoggerFactory.getLogger(ActivitiEventSupport.class);
 
+  private static final ActivitiEventListener[] NO_LISTENERS = new ActivitiEventListener[0];
+
   protected List<ActivitiEventListener> eventListeners;
   protected Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
 
+  protected volatile Map<ActivitiEventType, ActivitiEventListener[]> dispatchTable = new EnumMap<ActivitiEventType, ActivitiEventListener[]>(ActivitiEventType.class);
+
   public ActivitiEventSupport() {
     eventListeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-    typedListeners = new HashMap<ActivitiEventType, List<ActivitiEventListener>>();
+    typedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(ActivitiEventType.class);
   }
 
   public synchronized void addEventListener(ActivitiEventListener listenerToAdd) {
@@ -52,6 +61,7 @@ public class ActivitiEventSupport {
     }
     if (!eventListeners.contains(listenerToAdd)) {
       eventListeners.add(listenerToAdd);
+      rebuildDispatchTable();
     }
   }
 
@@ -67,15 +77,24 @@ public class ActivitiEventSupport {
       for (ActivitiEventType type : types) {
         addTypedEventListener(listenerToAdd, type);
       }
+      rebuildDispatchTable();
     }
   }
 
-  public void removeEventListener(ActivitiEventListener listenerToRemove) {
+  public synchronized void removeEventListener(ActivitiEventListener listenerToRemove) {
     eventListeners.remove(listenerToRemove);
 
     for (List<ActivitiEventListener> listeners : typedListeners.values()) {
       listeners.remove(listenerToRemove);
     }
+    rebuildDispatchTable();
+  }
+
+  /**
+   * @return true, if at least one listener (global or for the given type) would be notified of an event of the given type.
+   */
+  public boolean hasListeners(ActivitiEventType type) {
+    return dispatchTable.containsKey(type);
   }
 
   public void dispatchEvent(ActivitiEvent event) {
@@ -87,19 +106,9 @@ public class ActivitiEventSupport {
       throw new ActivitiIllegalArgumentException("Event type cannot be null.");
     }
 
-    // Call global listeners
-    if (!eventListeners.isEmpty()) {
-      for (ActivitiEventListener listener : eventListeners) {
-        dispatchEvent(event, listener);
-      }
-    }
-
-    // Call typed listeners, if any
-    List<ActivitiEventListener> typed = typedListeners.get(event.getType());
-    if (typed != null && !typed.isEmpty()) {
-      for (ActivitiEventListener listener : typed) {
-        dispatchEvent(event, listener);
-      }
+    ActivitiEventListener[] listeners = dispatchTable.getOrDefault(event.getType(), NO_LISTENERS);
+    for (ActivitiEventListener listener : listeners) {
+      dispatchEvent(event, listener);
     }
   }
 
@@ -118,6 +127,10 @@ public class ActivitiEventSupport {
   }
 
   protected synchronized void addTypedEventListener(ActivitiEventListener listener, ActivitiEventType type) {
+    if (type == null) {
+      // A listener for a null type is never called
+      return;
+    }
     List<ActivitiEventListener> listeners = typedListeners.get(type);
     if (listeners == null) {
       // Add an empty list of listeners for this type
@@ -129,4 +142,22 @@ public class ActivitiEventSupport {
       listeners.add(listener);
     }
   }
+
+  /**
+   * Replaces the dispatch table with one for the current listeners. Types without any listener have no entry.
+   */
+  protected synchronized void rebuildDispatchTable() {
+    Map<ActivitiEventType, ActivitiEventListener[]> table = new EnumMap<ActivitiEventType, ActivitiEventListener[]>(ActivitiEventType.class);
+    for (ActivitiEventType type : ActivitiEventType.values()) {
+      List<ActivitiEventListener> typed = typedListeners.get(type);
+      if (!eventListeners.isEmpty() || (typed != null && !typed.isEmpty())) {
+        List<ActivitiEventListener> listeners = new ArrayList<ActivitiEventListener>(eventListeners);
+        if (typed != null) {
+          listeners.addAll(typed);
+        }
+        table.put(type, listeners.toArray(NO_LISTENERS));
+      }
+    }
+    dispatchTable = table;
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.history;
+
+import java.util.Date;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Deletes the history of finished process instances in bulk, for instance to enforce a retention period.
+ *
+ * An instance can be obtained through {@link org.activiti.engine.HistoryService#createHistoricProcessInstancePurge()}.
+ *
+ * Only finished root process instances are selected by the criteria below. Their sub process instances, activities, tasks,
+ * variables, details, identity links, comments and attachments are deleted with them, including the byte arrays that
+ * hold serialized variables and attachment content. The rows are deleted with set based statements in batches, and no
+ * entity events are dispatched for them.
+ */
+@Internal
+public interface HistoricProcessInstancePurgeBuilder {
+
+  /**
+   * Only purge process instances that finished before the given date.
+   */
+  HistoricProcessInstancePurgeBuilder finishedBefore(Date finishedBefore);
+
+  /**
+   * Only purge process instances that finished after the given date.
+   */
+  HistoricProcessInstancePurgeBuilder finishedAfter(Date finishedAfter);
+
+  /**
+   * Only purge process instances that finished longer than the given ISO 8601 duration (e.g. P90D) before the purge runs.
+   * Unlike {@link #finishedBefore(Date)}, it is resolved again for every batch, so a scheduled purge keeps enforcing it.
+   *
+   * @throws ActivitiIllegalArgumentException when the retention period isn't a valid duration
+   */
+  HistoricProcessInstancePurgeBuilder retentionPeriod(String retentionPeriod);
+
+  /**
+   * Only purge process instances of the given process definition.
+   */
+  HistoricProcessInstancePurgeBuilder processDefinitionId(String processDefinitionId);
+
+  /**
+   * Only purge process instances of any version of the process definition with the given key.
+   */
+  HistoricProcessInstancePurgeBuilder processDefinitionKey(String processDefinitionKey);
+
+  /**
+   * Only purge process instances of the given tenant.
+   */
+  HistoricProcessInstancePurgeBuilder tenantId(String tenantId);
+
+  /**
+   * The number of root process instances deleted per transaction. Defaults to
+   * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#getHistoricProcessInstancePurgeBatchSize()}.
+   *
+   * @throws ActivitiIllegalArgumentException when the batch size is not positive
+   */
+  HistoricProcessInstancePurgeBuilder batchSize(int batchSize);
+
+  /**
+   * Purges the matching process instances now, one batch per transaction, until no matching process instance is left.
+   *
+   * @return the number of purged root process instances
+   */
+  long purge();
+
+  /**
+   * Purges the matching process instances in the background, repeatedly: a timer job fires on the given cycle, an ISO 8601
+   * repeating interval (e.g. R/P1D) or a cron expression as in the time cycle of a timer event. Every time it fires, it
+   * deletes the first batch and schedules an async job for the next one as long as it found a full batch.
+   *
+   * The purge is stopped by deleting the timer job, see {@link org.activiti.engine.ManagementService#deleteTimerJob(String)}.
+   *
+   * @return the id of the timer job
+   */
+  String schedule(String cycle);
+
+}
@@ -24,6 +24,7 @@ import java.util.Set;
 
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.query.KeysetPageableQuery;
 import org.activiti.engine.query.Query;
 import org.activiti.engine.runtime.ProcessInstanceQuery;
 
@@ -32,7 +33,7 @@ import org.activiti.engine.runtime.ProcessInstanceQuery;
  *
  */
 @Internal
-public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInstanceQuery, HistoricProcessInstance> {
+public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInstanceQuery, HistoricProcessInstance>, KeysetPageableQuery<HistoricProcessInstance> {
 
   /**
    * Only select historic process instances with the given process instance. {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match.
@@ -20,6 +20,7 @@ package org.activiti.engine.history;
 import java.util.Date;
 
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.query.KeysetPageableQuery;
 import org.activiti.engine.task.TaskInfoQuery;
 
 /**
@@ -27,7 +28,7 @@ import org.activiti.engine.task.TaskInfoQuery;
  *
  */
 @Internal
-public interface HistoricTaskInstanceQuery extends TaskInfoQuery<HistoricTaskInstanceQuery, HistoricTaskInstance> {
+public interface HistoricTaskInstanceQuery extends TaskInfoQuery<HistoricTaskInstanceQuery, HistoricTaskInstance>, KeysetPageableQuery<HistoricTaskInstance> {
 
   /** Only select historic task instances with the given task delete reason. */
   HistoricTaskInstanceQuery taskDeleteReason(String taskDeleteReason);
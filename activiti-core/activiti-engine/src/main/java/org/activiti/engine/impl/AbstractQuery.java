@@ -17,7 +17,11 @@
 package org.activiti.engine.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -28,6 +32,7 @@ import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.query.Query;
 import org.activiti.engine.query.QueryProperty;
 
@@ -43,6 +48,8 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   public static final String SORTORDER_ASC = "asc";
   public static final String SORTORDER_DESC = "desc";
 
+  protected static final String KEYSET_ID_COLUMN = "RES.ID_";
+
   private static enum ResultType {
     LIST, LIST_PAGE, SINGLE_RESULT, COUNT
   }
@@ -64,6 +71,17 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
   protected NullHandlingOnOrder nullHandlingOnOrder;
 
+  // the first order, and whether it is the only one, for the keyset paging
+  protected QueryProperty firstOrderProperty;
+  protected String firstSortOrder;
+  protected boolean orderedByMultipleProperties;
+
+  // the position a keyset page continues after
+  protected String keysetColumn;
+  protected String keysetSortOrder;
+  protected Object keysetValue;
+  protected String keysetId;
+
   protected AbstractQuery() {
     parameter = this;
   }
@@ -113,6 +131,12 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     if (orderProperty == null) {
       throw new ActivitiIllegalArgumentException("You should call any of the orderBy methods first before specifying a direction");
     }
+    if (orderBy == null && nullHandlingOnOrder == null) {
+      firstOrderProperty = orderProperty;
+      firstSortOrder = direction.getName();
+    } else {
+      orderedByMultipleProperties = true;
+    }
     addOrder(orderProperty.getName(), direction.getName(), nullHandlingOnOrder);
     orderProperty = null;
     nullHandlingOnOrder = null;
@@ -154,6 +178,80 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  @SuppressWarnings("unchecked")
+  public KeysetPage<U> listPageAfter(String continuationToken, int maxResults) {
+    if (maxResults <= 0) {
+      throw new ActivitiIllegalArgumentException("maxResults must be positive");
+    }
+    checkQueryOk();
+    if (orderedByMultipleProperties) {
+      throw new ActivitiIllegalArgumentException("Keyset paging is only supported when ordering by at most one property");
+    }
+
+    Map<String, Function<U, Object>> keysetProperties = getKeysetProperties();
+    Function<U, Object> idGetter = keysetProperties.get(KEYSET_ID_COLUMN);
+    if (idGetter == null) {
+      throw new ActivitiIllegalArgumentException("Keyset paging is not supported by " + getClass().getSimpleName());
+    }
+    String orderColumn = null;
+    Function<U, Object> valueGetter = null;
+    if (firstOrderProperty != null && !KEYSET_ID_COLUMN.equals(firstOrderProperty.getName())) {
+      orderColumn = firstOrderProperty.getName();
+      valueGetter = keysetProperties.get(orderColumn);
+      if (valueGetter == null) {
+        throw new ActivitiIllegalArgumentException("Keyset paging is not supported when ordering by " + orderColumn);
+      }
+    }
+    String sortOrder = firstSortOrder != null ? firstSortOrder : SORTORDER_ASC;
+
+    List<U> results;
+    try {
+      keysetColumn = orderColumn;
+      keysetSortOrder = sortOrder;
+      if (continuationToken != null) {
+        ContinuationToken token = ContinuationToken.decode(continuationToken);
+        if (!sortOrder.equals(token.sortOrder) || (orderColumn == null ? token.orderColumn != null : !orderColumn.equals(token.orderColumn))) {
+          throw new ActivitiIllegalArgumentException("The continuation token was created for a query with a different order");
+        }
+        keysetValue = token.value;
+        keysetId = token.id;
+      }
+
+      // one more result than requested tells if there is a next page
+      this.firstResult = 0;
+      this.maxResults = maxResults + 1;
+      this.resultType = ResultType.LIST_PAGE;
+      if (commandExecutor != null) {
+        results = (List<U>) commandExecutor.execute(this);
+      } else {
+        results = executeList(Context.getCommandContext(), new Page(0, maxResults + 1));
+      }
+
+    } finally {
+      keysetColumn = null;
+      keysetSortOrder = null;
+      keysetValue = null;
+      keysetId = null;
+    }
+
+    String nextContinuationToken = null;
+    if (results.size() > maxResults) {
+      results = new ArrayList<U>(results.subList(0, maxResults));
+      U last = results.get(maxResults - 1);
+      nextContinuationToken = new ContinuationToken(orderColumn, sortOrder,
+          valueGetter != null ? valueGetter.apply(last) : null, (String) idGetter.apply(last)).encode();
+    }
+    return new KeysetPageImpl<U>(results, nextContinuationToken);
+  }
+
+  /**
+   * The properties that can be used for keyset paging, by column: the id (under {@link #KEYSET_ID_COLUMN}), and the
+   * order properties of which the value can't be null. Empty if the query doesn't support keyset paging.
+   */
+  protected Map<String, Function<U, Object>> getKeysetProperties() {
+    return Collections.emptyMap();
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
@@ -241,11 +339,12 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   }
 
   public String getOrderBy() {
-    if (orderBy == null) {
-      return super.getOrderBy();
-    } else {
-      return orderBy;
+    String orderBy = this.orderBy != null ? this.orderBy : super.getOrderBy();
+    if (keysetColumn != null) {
+      // the id makes the order of results with the same value stable
+      orderBy = orderBy + ", " + KEYSET_ID_COLUMN + " " + keysetSortOrder;
     }
+    return orderBy;
   }
 
   public String getOrderByColumns() {
@@ -256,6 +355,22 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return databaseType;
   }
 
+  public String getKeysetColumn() {
+    return keysetColumn;
+  }
+
+  public Object getKeysetValue() {
+    return keysetValue;
+  }
+
+  public String getKeysetId() {
+    return keysetId;
+  }
+
+  public String getKeysetComparator() {
+    return SORTORDER_DESC.equals(keysetSortOrder) ? "<" : ">";
+  }
+
   public void setDatabaseType(String databaseType) {
     this.databaseType = databaseType;
   }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.util.json.JSONException;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * The position of a keyset page: the order of the query and the order value and id of the last result of the page.
+ * Encoded as an opaque (base64 encoded json) string.
+ *
+ */
+class ContinuationToken {
+
+  private static final String ORDER_COLUMN = "o";
+  private static final String SORT_ORDER = "d";
+  private static final String VALUE = "v";
+  private static final String VALUE_TYPE = "t";
+  private static final String ID = "i";
+
+  private static final String TYPE_DATE = "date";
+  private static final String TYPE_INTEGER = "integer";
+  private static final String TYPE_LONG = "long";
+  private static final String TYPE_STRING = "string";
+
+  protected String orderColumn;
+  protected String sortOrder;
+  protected Object value;
+  protected String id;
+
+  ContinuationToken(String orderColumn, String sortOrder, Object value, String id) {
+    this.orderColumn = orderColumn;
+    this.sortOrder = sortOrder;
+    this.value = value;
+    this.id = id;
+  }
+
+  String encode() {
+    JSONObject json = new JSONObject();
+    if (orderColumn != null) {
+      json.put(ORDER_COLUMN, orderColumn);
+      if (value instanceof Date) {
+        json.put(VALUE_TYPE, TYPE_DATE);
+        json.put(VALUE, ((Date) value).getTime());
+      } else if (value instanceof Integer) {
+        json.put(VALUE_TYPE, TYPE_INTEGER);
+        json.put(VALUE, value);
+      } else if (value instanceof Long) {
+        json.put(VALUE_TYPE, TYPE_LONG);
+        json.put(VALUE, value);
+      } else if (value instanceof String) {
+        json.put(VALUE_TYPE, TYPE_STRING);
+        json.put(VALUE, value);
+      } else {
+        throw new ActivitiIllegalArgumentException("Keyset paging is not supported for value " + value + " of " + orderColumn);
+      }
+    }
+    json.put(SORT_ORDER, sortOrder);
+    json.put(ID, id);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  static ContinuationToken decode(String token) {
+    try {
+      JSONObject json = new JSONObject(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+      String orderColumn = json.optString(ORDER_COLUMN, null);
+      Object value = null;
+      if (orderColumn != null) {
+        String valueType = json.getString(VALUE_TYPE);
+        if (TYPE_DATE.equals(valueType)) {
+          value = new Date(json.getLong(VALUE));
+        } else if (TYPE_INTEGER.equals(valueType)) {
+          value = json.getInt(VALUE);
+        } else if (TYPE_LONG.equals(valueType)) {
+          value = json.getLong(VALUE);
+        } else if (TYPE_STRING.equals(valueType)) {
+          value = json.getString(VALUE);
+        } else {
+          throw new ActivitiIllegalArgumentException("Invalid continuation token: " + token);
+        }
+      }
+      return new ContinuationToken(orderColumn, json.getString(SORT_ORDER), value, json.getString(ID));
+
+    } catch (IllegalArgumentException | JSONException e) {
+      throw new ActivitiIllegalArgumentException("Invalid continuation token: " + token, e);
+    }
+  }
+
+}
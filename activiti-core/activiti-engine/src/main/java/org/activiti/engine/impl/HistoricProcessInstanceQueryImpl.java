@@ -20,7 +20,9 @@ package org.activiti.engine.impl;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -46,6 +48,11 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<HistoricProcessInstanceQuery, HistoricProcessInstance> implements HistoricProcessInstanceQuery {
 
   private static final long serialVersionUID = 1L;
+
+  private static final Map<String, Function<HistoricProcessInstance, Object>> KEYSET_PROPERTIES = Map.of(
+      KEYSET_ID_COLUMN, HistoricProcessInstance::getId,
+      HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.getName(), HistoricProcessInstance::getId,
+      HistoricProcessInstanceQueryProperty.START_TIME.getName(), HistoricProcessInstance::getStartTime);
   protected String processInstanceId;
   protected String processDefinitionId;
   protected String businessKey;
@@ -575,6 +582,11 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return orderBy(HistoricProcessInstanceQueryProperty.TENANT_ID);
   }
 
+  @Override
+  protected Map<String, Function<HistoricProcessInstance, Object>> getKeysetProperties() {
+    return KEYSET_PROPERTIES;
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
@@ -20,6 +20,8 @@ package org.activiti.engine.impl;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -41,6 +43,11 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
 
   private static final long serialVersionUID = 1L;
 
+  private static final Map<String, Function<HistoricTaskInstance, Object>> KEYSET_PROPERTIES = Map.of(
+      HistoricTaskInstanceQueryProperty.HISTORIC_TASK_INSTANCE_ID.getName(), HistoricTaskInstance::getId,
+      HistoricTaskInstanceQueryProperty.START.getName(), HistoricTaskInstance::getCreateTime,
+      HistoricTaskInstanceQueryProperty.TASK_PRIORITY.getName(), HistoricTaskInstance::getPriority);
+
   private static final Logger log = LoggerFactory.getLogger(HistoricTaskInstanceQueryImpl.class);
 
   protected String processDefinitionId;
@@ -1290,6 +1297,11 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     }
   }
 
+  @Override
+  protected Map<String, Function<HistoricTaskInstance, Object>> getKeysetProperties() {
+    return KEYSET_PROPERTIES;
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
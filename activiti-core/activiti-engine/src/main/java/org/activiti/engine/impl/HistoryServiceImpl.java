@@ -23,6 +23,7 @@ import org.activiti.engine.HistoryService;
 import org.activiti.engine.history.HistoricActivityInstanceQuery;
 import org.activiti.engine.history.HistoricDetailQuery;
 import org.activiti.engine.history.HistoricIdentityLink;
+import org.activiti.engine.history.HistoricProcessInstancePurgeBuilder;
 import org.activiti.engine.history.HistoricProcessInstanceQuery;
 import org.activiti.engine.history.HistoricTaskInstanceQuery;
 import org.activiti.engine.history.HistoricVariableInstanceQuery;
@@ -36,6 +37,9 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.activiti.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
+import org.activiti.engine.impl.cmd.PurgeHistoricProcessInstancesCmd;
+import org.activiti.engine.impl.cmd.SchedulePurgeHistoricProcessInstancesCmd;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
 
 /**
 
@@ -114,4 +118,29 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     return new ProcessInstanceHistoryLogQueryImpl(commandExecutor, processInstanceId);
   }
 
+  @Override
+  public HistoricProcessInstancePurgeBuilder createHistoricProcessInstancePurge() {
+    return new HistoricProcessInstancePurgeBuilderImpl(this);
+  }
+
+  public long purgeHistoricProcessInstances(HistoricProcessInstancePurgeBuilderImpl purgeBuilder) {
+    int batchSize = getPurgeBatchSize(purgeBuilder);
+    long purged = 0;
+    int purgedInBatch;
+    do {
+      // every batch in its own transaction
+      purgedInBatch = commandExecutor.execute(new PurgeHistoricProcessInstancesCmd(purgeBuilder, batchSize));
+      purged += purgedInBatch;
+    } while (purgedInBatch == batchSize);
+    return purged;
+  }
+
+  public String schedulePurgeHistoricProcessInstances(HistoricProcessInstancePurgeBuilderImpl purgeBuilder, String cycle) {
+    return commandExecutor.execute(new SchedulePurgeHistoricProcessInstancesCmd(purgeBuilder, getPurgeBatchSize(purgeBuilder), cycle));
+  }
+
+  protected int getPurgeBatchSize(HistoricProcessInstancePurgeBuilderImpl purgeBuilder) {
+    return purgeBuilder.getBatchSize() != null ? purgeBuilder.getBatchSize() : processEngineConfiguration.getHistoricProcessInstancePurgeBatchSize();
+  }
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl;
+
+import java.util.List;
+
+import org.activiti.engine.query.KeysetPage;
+
+/**
+ *
+ */
+public class KeysetPageImpl<U> implements KeysetPage<U> {
+
+  protected List<U> content;
+  protected String continuationToken;
+
+  public KeysetPageImpl(List<U> content, String continuationToken) {
+    this.content = content;
+    this.continuationToken = continuationToken;
+  }
+
+  @Override
+  public List<U> getContent() {
+    return content;
+  }
+
+  @Override
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+}
@@ -84,6 +84,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.start();
     }
 
+    if (processEngineConfiguration.isEnableDatabaseEventLogging() && processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().start();
+    }
+
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
       processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineBuilt(this);
     }
@@ -97,6 +101,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.shutdown();
     }
 
+    if (processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().shutdown();
+    }
+
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
@@ -21,7 +21,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -49,6 +51,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessInstanceQuery, ProcessInstance> implements ProcessInstanceQuery, Serializable {
 
   private static final long serialVersionUID = 1L;
+
+  private static final Map<String, Function<ProcessInstance, Object>> KEYSET_PROPERTIES = Map.of(
+      ProcessInstanceQueryProperty.PROCESS_INSTANCE_ID.getName(), ProcessInstance::getId);
+
   protected String executionId;
   protected String businessKey;
   protected boolean includeChildExecutionsWithBusinessKeyQuery;
@@ -618,6 +624,11 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return specialOrderBy;
   }
 
+  @Override
+  protected Map<String, Function<ProcessInstance, Object>> getKeysetProperties() {
+    return KEYSET_PROPERTIES;
+  }
+
   // results /////////////////////////////////////////////////////////////////
 
   public long executeCount(CommandContext commandContext) {
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -42,6 +43,7 @@ import org.activiti.engine.impl.cmd.GetDataObjectCmd;
 import org.activiti.engine.impl.cmd.GetDataObjectsCmd;
 import org.activiti.engine.impl.cmd.GetEnabledActivitiesForAdhocSubProcessCmd;
 import org.activiti.engine.impl.cmd.GetExecutionVariableCmd;
+import org.activiti.engine.impl.cmd.GetExecutionVariableContentCmd;
 import org.activiti.engine.impl.cmd.GetExecutionVariableInstanceCmd;
 import org.activiti.engine.impl.cmd.GetExecutionVariableInstancesCmd;
 import org.activiti.engine.impl.cmd.GetExecutionVariablesCmd;
@@ -55,6 +57,7 @@ import org.activiti.engine.impl.cmd.RemoveExecutionVariablesCmd;
 import org.activiti.engine.impl.cmd.SetExecutionVariablesCmd;
 import org.activiti.engine.impl.cmd.SetProcessInstanceBusinessKeyCmd;
 import org.activiti.engine.impl.cmd.SetProcessInstanceNameCmd;
+import org.activiti.engine.impl.cmd.SignalEventBroadcastCmd;
 import org.activiti.engine.impl.cmd.SignalEventReceivedCmd;
 import org.activiti.engine.impl.cmd.StartCreatedProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.StartProcessInstanceByMessageCmd;
@@ -190,6 +193,10 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         return commandExecutor.execute(new GetExecutionVariableInstanceCmd(executionId, variableName, false));
     }
 
+    public boolean writeVariableContent(String executionId, String variableName, OutputStream outputStream) {
+        return commandExecutor.execute(new GetExecutionVariableContentCmd(executionId, variableName, outputStream));
+    }
+
     public <T> T getVariable(String executionId, String variableName, Class<T> variableClass) {
         return variableClass.cast(getVariable(executionId, variableName));
     }
@@ -446,6 +453,14 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, true, tenantId));
     }
 
+    public List<String> signalEventReceivedInChunks(String signalName) {
+        return signalEventReceivedInChunksWithTenantId(signalName, null);
+    }
+
+    public List<String> signalEventReceivedInChunksWithTenantId(String signalName, String tenantId) {
+        return commandExecutor.execute(new SignalEventBroadcastCmd(signalName, tenantId));
+    }
+
     public void signalEventReceived(String signalName, Map<String, Object> processVariables) {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, processVariables, null));
     }
@@ -17,8 +17,15 @@
 package org.activiti.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -30,6 +37,10 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInitializingList;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityManager;
 import org.activiti.engine.impl.variable.VariableTypes;
 import org.activiti.engine.task.DelegationState;
 import org.activiti.engine.task.Task;
@@ -45,8 +56,16 @@ import org.slf4j.LoggerFactory;
  */
 public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> implements TaskQuery {
 
+  private static final Map<String, Function<Task, Object>> KEYSET_PROPERTIES = Map.of(
+      TaskQueryProperty.TASK_ID.getName(), Task::getId,
+      TaskQueryProperty.CREATE_TIME.getName(), Task::getCreateTime,
+      TaskQueryProperty.PRIORITY.getName(), Task::getPriority);
+
   private static final long serialVersionUID = 1L;
 
+  /** The maximum number of ids in one IN-list when fetching the variables of tasks separately. */
+  protected static final int VARIABLES_FETCH_CHUNK_SIZE = 1000;
+
   private static final Logger log = LoggerFactory.getLogger(TaskQueryImpl.class);
 
   protected String taskId;
@@ -112,6 +131,8 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   protected boolean includeTaskLocalVariables;
   protected boolean includeProcessVariables;
   protected Integer taskVariablesLimit;
+  protected boolean fetchVariablesSeparately;
+  protected Collection<String> taskVariableNames;
   protected String userIdForCandidateAndAssignee;
   protected boolean bothCandidateAndAssigned;
   protected String locale;
@@ -1204,6 +1225,19 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return taskVariablesLimit;
   }
 
+  public TaskQuery fetchVariablesSeparately() {
+    this.fetchVariablesSeparately = true;
+    return this;
+  }
+
+  public TaskQuery limitTaskVariableNames(Collection<String> variableNames) {
+    if (variableNames == null || variableNames.isEmpty()) {
+      throw new ActivitiIllegalArgumentException("Variable names is null or empty");
+    }
+    this.taskVariableNames = variableNames;
+    return this;
+  }
+
   public List<String> getCandidateGroups(){
     if (candidateGroup != null) {
       List<String> candidateGroupList = new ArrayList<String>(1);
@@ -1349,13 +1383,21 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return specialOrderBy;
   }
 
+  @Override
+  protected Map<String, Function<Task, Object>> getKeysetProperties() {
+    return KEYSET_PROPERTIES;
+  }
+
   // results ////////////////////////////////////////////////////////////////
 
   public List<Task> executeList(CommandContext commandContext, Page page) {
     ensureVariablesInitialized();
     checkQueryOk();
     List<Task> tasks = null;
-    if (includeTaskLocalVariables || includeProcessVariables) {
+    if ((includeTaskLocalVariables || includeProcessVariables) && fetchVariablesSeparately) {
+      tasks = commandContext.getTaskEntityManager().findTasksByQueryCriteria(this);
+      fetchVariables(commandContext, tasks);
+    } else if (includeTaskLocalVariables || includeProcessVariables) {
       tasks = commandContext.getTaskEntityManager().findTasksAndVariablesByQueryCriteria(this);
     } else {
       tasks = commandContext.getTaskEntityManager().findTasksByQueryCriteria(this);
@@ -1370,6 +1412,58 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return tasks;
   }
 
+  /**
+   * Second step of {@link #fetchVariablesSeparately()}: loads the variables of the given page of tasks with IN-list queries, in chunks of at most
+   * {@link #VARIABLES_FETCH_CHUNK_SIZE} ids, and sets them as the query variables of each task.
+   */
+  protected void fetchVariables(CommandContext commandContext, List<Task> tasks) {
+    Map<String, List<VariableInstanceEntity>> taskLocalVariables = new HashMap<String, List<VariableInstanceEntity>>();
+    Map<String, List<VariableInstanceEntity>> processVariables = new HashMap<String, List<VariableInstanceEntity>>();
+
+    VariableInstanceEntityManager variableInstanceEntityManager = commandContext.getVariableInstanceEntityManager();
+    if (includeTaskLocalVariables) {
+      List<String> taskIds = new ArrayList<String>();
+      for (Task task : tasks) {
+        taskIds.add(task.getId());
+      }
+      for (List<String> chunk : chunks(taskIds)) {
+        for (VariableInstanceEntity variable : variableInstanceEntityManager.findVariableInstancesByTaskIdsAndNames(chunk, taskVariableNames)) {
+          taskLocalVariables.computeIfAbsent(variable.getTaskId(), id -> new ArrayList<VariableInstanceEntity>()).add(variable);
+        }
+      }
+    }
+    if (includeProcessVariables) {
+      Set<String> processInstanceIds = new LinkedHashSet<String>();
+      for (Task task : tasks) {
+        if (task.getProcessInstanceId() != null) {
+          processInstanceIds.add(task.getProcessInstanceId());
+        }
+      }
+      for (List<String> chunk : chunks(new ArrayList<String>(processInstanceIds))) {
+        for (VariableInstanceEntity variable : variableInstanceEntityManager.findVariableInstancesByExecutionIdsAndNames(chunk, taskVariableNames)) {
+          processVariables.computeIfAbsent(variable.getExecutionId(), id -> new ArrayList<VariableInstanceEntity>()).add(variable);
+        }
+      }
+    }
+
+    for (Task task : tasks) {
+      List<VariableInstanceEntity> queryVariables = new VariableInitializingList();
+      queryVariables.addAll(taskLocalVariables.getOrDefault(task.getId(), Collections.<VariableInstanceEntity>emptyList()));
+      if (task.getProcessInstanceId() != null) {
+        queryVariables.addAll(processVariables.getOrDefault(task.getProcessInstanceId(), Collections.<VariableInstanceEntity>emptyList()));
+      }
+      ((TaskEntity) task).setQueryVariables(queryVariables);
+    }
+  }
+
+  protected List<List<String>> chunks(List<String> ids) {
+    List<List<String>> chunks = new ArrayList<List<String>>();
+    for (int i = 0; i < ids.size(); i += VARIABLES_FETCH_CHUNK_SIZE) {
+      chunks.add(ids.subList(i, Math.min(i + VARIABLES_FETCH_CHUNK_SIZE, ids.size())));
+    }
+    return chunks;
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
@@ -1637,6 +1731,14 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return includeProcessVariables;
   }
 
+  public boolean isFetchVariablesSeparately() {
+    return fetchVariablesSeparately;
+  }
+
+  public Collection<String> getTaskVariableNames() {
+    return taskVariableNames;
+  }
+
   public boolean isBothCandidateAndAssigned() {
     return bothCandidateAndAssigned;
   }
@@ -17,6 +17,7 @@
 package org.activiti.engine.impl;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -52,6 +53,7 @@ import org.activiti.engine.impl.cmd.GetTaskDataObjectsCmd;
 import org.activiti.engine.impl.cmd.GetTaskEventCmd;
 import org.activiti.engine.impl.cmd.GetTaskEventsCmd;
 import org.activiti.engine.impl.cmd.GetTaskVariableCmd;
+import org.activiti.engine.impl.cmd.GetTaskVariableContentCmd;
 import org.activiti.engine.impl.cmd.GetTaskVariableInstanceCmd;
 import org.activiti.engine.impl.cmd.GetTaskVariableInstancesCmd;
 import org.activiti.engine.impl.cmd.GetTaskVariablesCmd;
@@ -428,6 +430,11 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, false));
   }
 
+  @Override
+  public boolean writeVariableContent(String taskId, String variableName, OutputStream outputStream) {
+    return commandExecutor.execute(new GetTaskVariableContentCmd(taskId, variableName, outputStream));
+  }
+
   @Override
   public VariableInstance getVariableInstanceLocal(String taskId, String variableName) {
     return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, true));
@@ -220,6 +220,7 @@ public class ContinueProcessOperation extends AbstractOperation {
 
         if (Context.getProcessEngineConfiguration() != null &&
                 Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled() &&
+                Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(ActivitiEventType.ACTIVITY_STARTED) &&
                 !(activityBehavior instanceof MultiInstanceActivityBehavior)) {
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                     ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_STARTED,
@@ -250,7 +251,8 @@ public class ContinueProcessOperation extends AbstractOperation {
         }
 
         // Firing event that transition is being taken
-        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+                && Context.getProcessEngineConfiguration().getEventDispatcher().hasListeners(ActivitiEventType.SEQUENCEFLOW_TAKEN)) {
             FlowElement sourceFlowElement = sequenceFlow.getSourceFlowElement();
             FlowElement targetFlowElement = sequenceFlow.getTargetFlowElement();
             Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
@@ -19,6 +19,7 @@ package org.activiti.engine.impl.asyncexecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
@@ -39,6 +40,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
   protected final Object MONITOR = new Object();
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+  protected volatile boolean wakeUpRequested;
+
   protected long millisToWait;
 
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
@@ -53,31 +56,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     while (!isInterrupted) {
 
+      wakeUpRequested = false;
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
-
-        boolean allJobsSuccessfullyOffered = true;
-        for (JobEntity job : acquiredJobs.getJobs()) {
-          boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
-          if (!jobSuccessFullyOffered) {
-            allJobsSuccessfullyOffered = false;
-          }
-        }
-
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly.
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0;
-        }
-
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
-        }
-
+        acquireAndExecuteJobs(commandExecutor);
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
@@ -97,7 +78,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             log.debug("async job acquisition thread sleeping for {} millis", millisToWait);
           }
           synchronized (MONITOR) {
-            if (!isInterrupted) {
+            if (!isInterrupted && !wakeUpRequested) {
               isWaiting.set(true);
               MONITOR.wait(millisToWait);
             }
@@ -119,6 +100,56 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected void acquireAndExecuteJobs(CommandExecutor commandExecutor) {
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+    recordJobsAcquired(acquiredJobs);
+    boolean allJobsSuccessfullyOffered = offerJobs(acquiredJobs);
+
+    // If all jobs are executed, we check if we got back the amount we expected
+    // If not, we will wait, as to not query the database needlessly.
+    // Otherwise, we set the wait time to 0, as to query again immediately.
+    millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+      millisToWait = 0;
+    }
+
+    // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
+    if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
+      millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+    }
+  }
+
+  protected void recordJobsAcquired(AcquiredJobEntities acquiredJobs) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = asyncExecutor.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.getProcessEngineMetrics() != null) {
+      processEngineConfiguration.getProcessEngineMetrics().asyncJobsAcquired(acquiredJobs.size());
+    }
+  }
+
+  protected boolean offerJobs(AcquiredJobEntities acquiredJobs) {
+    boolean allJobsSuccessfullyOffered = true;
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
+      if (!jobSuccessFullyOffered) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    return allJobsSuccessfullyOffered;
+  }
+
+  /**
+   * Makes the acquisition thread query for jobs again right away, instead of waiting until its wait time is over.
+   */
+  public void wakeUp() {
+    synchronized (MONITOR) {
+      wakeUpRequested = true;
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
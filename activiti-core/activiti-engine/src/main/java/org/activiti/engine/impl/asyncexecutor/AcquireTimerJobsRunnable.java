@@ -23,6 +23,7 @@ import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,10 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
       try {
         final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        ProcessEngineMetrics processEngineMetrics = asyncExecutor.getProcessEngineConfiguration().getProcessEngineMetrics();
+        if (processEngineMetrics != null) {
+          processEngineMetrics.timerJobsAcquired(acquiredJobs.size());
+        }
 
         commandExecutor.execute(new Command<Void>() {
 
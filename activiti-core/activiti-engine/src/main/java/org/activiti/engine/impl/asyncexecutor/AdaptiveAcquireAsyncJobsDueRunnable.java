@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Acquisition of async jobs that adapts to the load, instead of using a fixed batch size and wait time.
+ *
+ * Each acquisition asks for as many jobs as the executor can take at that moment (see {@link DefaultAsyncJobExecutor#getRemainingCapacity()}),
+ * and the database isn't queried at all while the executor is full.
+ * When no jobs are found, the wait time before the next acquisition is doubled, starting from the minimum wait time up to the
+ * default async job acquire wait time. It goes back to the minimum as soon as jobs are found, or when {@link #wakeUp()} is called.
+ */
+public class AdaptiveAcquireAsyncJobsDueRunnable extends AcquireAsyncJobsDueRunnable {
+
+  protected final DefaultAsyncJobExecutor defaultAsyncJobExecutor;
+
+  protected volatile long backOffMillis;
+
+  public AdaptiveAcquireAsyncJobsDueRunnable(DefaultAsyncJobExecutor asyncExecutor) {
+    super(asyncExecutor);
+    this.defaultAsyncJobExecutor = asyncExecutor;
+    this.backOffMillis = getMinWaitTimeInMillis();
+  }
+
+  @Override
+  protected void acquireAndExecuteJobs(CommandExecutor commandExecutor) {
+    int remainingCapacity = defaultAsyncJobExecutor.getRemainingCapacity();
+    if (remainingCapacity <= 0) {
+      millisToWait = getMinWaitTimeInMillis();
+      return;
+    }
+
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity));
+    recordJobsAcquired(acquiredJobs);
+    boolean allJobsSuccessfullyOffered = offerJobs(acquiredJobs);
+
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired == 0) {
+      millisToWait = backOffMillis;
+      backOffMillis = Math.min(backOffMillis * 2, asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+
+    } else {
+      backOffMillis = getMinWaitTimeInMillis();
+      millisToWait = (jobsAcquired >= remainingCapacity && allJobsSuccessfullyOffered) ? 0 : backOffMillis;
+    }
+  }
+
+  @Override
+  public void wakeUp() {
+    backOffMillis = getMinWaitTimeInMillis();
+    super.wakeUp();
+  }
+
+  protected long getMinWaitTimeInMillis() {
+    return Math.min(defaultAsyncJobExecutor.getMinAsyncJobAcquireWaitTimeInMillis(), asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+  }
+
+}
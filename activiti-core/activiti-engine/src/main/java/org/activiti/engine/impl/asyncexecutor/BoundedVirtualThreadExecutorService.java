@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecutorService} that runs every task on a new virtual thread, with at most a fixed number of tasks running at the same time.
+ *
+ * A task submitted when that number is reached is rejected with a {@link RejectedExecutionException}, instead of being queued,
+ * just like when the queue of the regular thread pool is full. This way the async executor keeps getting the back-pressure
+ * signal it needs to unacquire the job and throttle the acquisition.
+ */
+public class BoundedVirtualThreadExecutorService extends AbstractExecutorService {
+
+  protected final ExecutorService delegate;
+  protected final Semaphore permits;
+  protected final int maxConcurrency;
+
+  public BoundedVirtualThreadExecutorService(String threadNamePrefix, int maxConcurrency) {
+    this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    this.permits = new Semaphore(maxConcurrency);
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Maximum of " + maxConcurrency + " concurrently executing jobs is reached");
+    }
+    try {
+      delegate.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of tasks that can still be started right now.
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+}
@@ -31,6 +31,7 @@ import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.runtime.Job;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +59,27 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
    */
   protected long keepAliveTime = 5000L;
 
+  /**
+   * Whether jobs are executed on virtual threads, instead of on the threads of a pool.
+   * The number of concurrently executing jobs is then limited by {@link #virtualThreadMaxConcurrency}.
+   */
+  protected boolean useVirtualThreads;
+
+  /**
+   * The number of connections of the engine's pooled data source that aren't used for the default {@link #virtualThreadMaxConcurrency}:
+   * one for each of the timer acquisition, async job acquisition and expired job reset threads,
+   * and one for the transactions that executing jobs start in a new connection, like fetching a block of ids.
+   */
+  public static final int VIRTUAL_THREAD_RESERVED_CONNECTIONS = 4;
+
+  /**
+   * The maximum number of jobs executing at the same time when using virtual threads.
+   * When not set, the maximum number of active connections of the engine's pooled data source minus
+   * {@link #VIRTUAL_THREAD_RESERVED_CONNECTIONS} (but at least 1) is used, as every executing job holds a connection.
+   * Falls back to {@link #maxPoolSize} otherwise.
+   */
+  protected int virtualThreadMaxConcurrency = -1;
+
   /** The size of the queue on which jobs to be executed are placed */
   protected int queueSize = 100;
 
@@ -85,11 +107,13 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected boolean isAutoActivate;
   protected boolean isActive;
   protected boolean isMessageQueueMode;
+  protected boolean isAdaptiveJobAcquisition;
 
   protected int maxTimerJobsPerAcquisition = 1;
   protected int maxAsyncJobsDuePerAcquisition = 1;
   protected int defaultTimerJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
+  protected int minAsyncJobAcquireWaitTimeInMillis = 100;
   protected int defaultQueueSizeFullWaitTime = 0;
 
   protected String lockOwner = UUID.randomUUID().toString();
@@ -145,6 +169,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
           });
         }
 
+        // With adaptive acquisition, the unacquired job is picked up again as soon as there's capacity,
+        // instead of after the regular acquire wait time
+        if (isAdaptiveJobAcquisition && asyncJobsDueRunnable != null) {
+          asyncJobsDueRunnable.wakeUp();
+        }
+
         // Job queue full, returning true so (if wanted) the acquiring can be throttled
         return false;
       }
@@ -181,7 +211,11 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
 
     if (!isMessageQueueMode && asyncJobsDueRunnable == null) {
-      asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this);
+      if (isAdaptiveJobAcquisition) {
+        asyncJobsDueRunnable = new AdaptiveAcquireAsyncJobsDueRunnable(this);
+      } else {
+        asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this);
+      }
     }
 
     if (!isMessageQueueMode) {
@@ -234,6 +268,11 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (useVirtualThreads) {
+      initAsyncJobExecutionVirtualThreads();
+      return;
+    }
+
     if (threadPoolQueue == null) {
       log.info("Creating thread pool queue of size {}", queueSize);
       threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
@@ -247,6 +286,31 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected void initAsyncJobExecutionVirtualThreads() {
+    if (executorService == null) {
+      int maxConcurrency = virtualThreadMaxConcurrency > 0 ? virtualThreadMaxConcurrency : maxPoolSize;
+      log.info("Creating virtual thread executor service with a maximum of {} concurrently executing jobs", maxConcurrency);
+      executorService = new BoundedVirtualThreadExecutorService("activiti-async-job-executor-virtual-thread-", maxConcurrency);
+    }
+  }
+
+  /**
+   * Returns how many more jobs the executor service can take right now: the free places in its queue,
+   * plus the threads that can still be started or are idle.
+   */
+  public int getRemainingCapacity() {
+    if (executorService instanceof BoundedVirtualThreadExecutorService) {
+      return ((BoundedVirtualThreadExecutorService) executorService).getAvailablePermits();
+    }
+    if (threadPoolQueue == null || !(executorService instanceof ThreadPoolExecutor)) {
+      return maxAsyncJobsDuePerAcquisition;
+    }
+    ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executorService;
+    long remainingCapacity = (long) threadPoolQueue.remainingCapacity()
+        + Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+    return (int) Math.min(remainingCapacity, (long) queueSize + maxPoolSize);
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
 
@@ -332,6 +396,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     defaultTimerJobAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorDefaultTimerJobAcquireWaitTime();
     defaultAsyncJobAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorDefaultAsyncJobAcquireWaitTime();
+    isAdaptiveJobAcquisition = processEngineConfiguration.isAsyncExecutorAdaptiveJobAcquisition();
+    minAsyncJobAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorMinAsyncJobAcquireWaitTime();
 
     applyLockConfig(processEngineConfiguration);
 
@@ -366,6 +432,13 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     corePoolSize = processEngineConfiguration.getAsyncExecutorCorePoolSize();
     maxPoolSize = processEngineConfiguration.getAsyncExecutorMaxPoolSize();
     keepAliveTime = processEngineConfiguration.getAsyncExecutorThreadKeepAliveTime();
+
+    useVirtualThreads = processEngineConfiguration.isAsyncExecutorUseVirtualThreads();
+    virtualThreadMaxConcurrency = processEngineConfiguration.getAsyncExecutorVirtualThreadMaxConcurrency();
+    if (virtualThreadMaxConcurrency <= 0 && processEngineConfiguration.getDataSource() instanceof PooledDataSource) {
+      int poolMaximumActiveConnections = ((PooledDataSource) processEngineConfiguration.getDataSource()).getPoolMaximumActiveConnections();
+      virtualThreadMaxConcurrency = Math.max(1, poolMaximumActiveConnections - VIRTUAL_THREAD_RESERVED_CONNECTIONS);
+    }
   }
 
   /* getters and setters */
@@ -423,6 +496,36 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.isMessageQueueMode = isMessageQueueMode;
   }
 
+  public boolean isAdaptiveJobAcquisition() {
+    return isAdaptiveJobAcquisition;
+  }
+
+  public void setAdaptiveJobAcquisition(boolean isAdaptiveJobAcquisition) {
+    this.isAdaptiveJobAcquisition = isAdaptiveJobAcquisition;
+  }
+
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  public int getVirtualThreadMaxConcurrency() {
+    return virtualThreadMaxConcurrency;
+  }
+
+  /**
+   * Sets the maximum number of jobs executing at the same time when using virtual threads.
+   * Every executing job holds a database connection, so this should leave connections of the pool for the acquisition threads
+   * and for the transactions that jobs start in a new connection, see {@link #VIRTUAL_THREAD_RESERVED_CONNECTIONS}.
+   * Otherwise the jobs can take all connections, and the executor stalls waiting for one.
+   */
+  public void setVirtualThreadMaxConcurrency(int virtualThreadMaxConcurrency) {
+    this.virtualThreadMaxConcurrency = virtualThreadMaxConcurrency;
+  }
+
   public int getQueueSize() {
     return queueSize;
   }
@@ -535,6 +638,14 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.defaultAsyncJobAcquireWaitTimeInMillis = defaultAsyncJobAcquireWaitTimeInMillis;
   }
 
+  public int getMinAsyncJobAcquireWaitTimeInMillis() {
+    return minAsyncJobAcquireWaitTimeInMillis;
+  }
+
+  public void setMinAsyncJobAcquireWaitTimeInMillis(int minAsyncJobAcquireWaitTimeInMillis) {
+    this.minAsyncJobAcquireWaitTimeInMillis = minAsyncJobAcquireWaitTimeInMillis;
+  }
+
   public void setTimerJobRunnable(AcquireTimerJobsRunnable timerJobRunnable) {
     this.timerJobRunnable = timerJobRunnable;
   }
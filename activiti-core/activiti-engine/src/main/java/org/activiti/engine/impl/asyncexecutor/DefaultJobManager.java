@@ -44,6 +44,7 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.el.NoExecutionVariableScope;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
 import org.activiti.engine.impl.jobexecutor.AsyncJobAddedNotification;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerEventHandler;
@@ -204,6 +205,13 @@ public class DefaultJobManager implements JobManager {
       processEngineConfiguration.getJobEntityManager().delete((JobEntity) job);
     }
 
+    if (processEngineConfiguration.getProcessEngineMetrics() != null) {
+      processEngineConfiguration.getProcessEngineMetrics().jobMovedToDeadLetter(deadLetterJob);
+    }
+    if (AsyncHistoryJobHandler.TYPE.equals(deadLetterJob.getJobHandlerType())) {
+      AsyncHistoryJobHandler.deadLettered(deadLetterJob, processEngineConfiguration);
+    }
+
     return deadLetterJob;
   }
 
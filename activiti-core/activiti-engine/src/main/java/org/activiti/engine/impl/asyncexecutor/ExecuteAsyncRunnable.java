@@ -25,6 +25,7 @@ import org.activiti.engine.impl.cmd.UnlockExclusiveJobCmd;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
@@ -76,6 +77,10 @@ public class ExecuteAsyncRunnable implements Runnable {
   }
 
   protected void executeJob() {
+    if (processEngineConfiguration.getProcessEngineMetrics() != null) {
+      recordJobExecutionStarted(processEngineConfiguration.getProcessEngineMetrics());
+    }
+
     try {
       processEngineConfiguration.getCommandExecutor().execute(new ExecuteAsyncJobCmd(jobId));
 
@@ -99,6 +104,14 @@ public class ExecuteAsyncRunnable implements Runnable {
     }
   }
 
+  protected void recordJobExecutionStarted(ProcessEngineMetrics processEngineMetrics) {
+    long latencyInMillis = -1;
+    if (job.getDuedate() != null) {
+      latencyInMillis = Math.max(0, processEngineConfiguration.getClock().getCurrentTime().getTime() - job.getDuedate().getTime());
+    }
+    processEngineMetrics.jobExecutionStarted(job, latencyInMillis);
+  }
+
   protected void unlockJobIfNeeded() {
     try {
       if (job.isExclusive()) {
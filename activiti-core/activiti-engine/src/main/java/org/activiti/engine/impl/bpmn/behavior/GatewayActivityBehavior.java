@@ -45,6 +45,12 @@ public abstract class GatewayActivityBehavior extends FlowNodeActivityBehavior {
       currentExecution = parentScopeExecution;
     }
 
+    if (Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableGatewayJoinRowLocking()
+        && executionEntityManager.lockExecution(parentScopeExecution)) {
+      // concurrent joins now wait for this transaction instead of failing on the forced update
+      return;
+    }
+
     parentScopeExecution.forceUpdate();
   }
 
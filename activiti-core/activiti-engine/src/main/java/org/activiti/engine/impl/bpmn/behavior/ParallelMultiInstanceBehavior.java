@@ -115,6 +115,12 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
       execution.setMultiInstanceRoot(false);
     }
 
+    ExecutionEntity executionEntity = (ExecutionEntity) execution;
+    if (!zeroNrOfInstances && executionEntity.getParent() != null) {
+      // before the counters are read, so that with a row lock the concurrent instances count one after the other
+      lockFirstParentScope(executionEntity);
+    }
+
     int loopCounter = getLoopVariable(execution, getCollectionElementIndexVariable());
     int nrOfInstances = getLoopVariable(execution, NUMBER_OF_INSTANCES);
     int nrOfCompletedInstances = getLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES) + 1;
@@ -138,12 +144,9 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     logLoopDetails(execution, "instance completed", loopCounter, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
 
-    ExecutionEntity executionEntity = (ExecutionEntity) execution;
-
     if (executionEntity.getParent() != null) {
 
       executionEntity.inactivate();
-      lockFirstParentScope(executionEntity);
 
       if (nrOfCompletedInstances >= nrOfInstances || completionConditionSatisfied(execution.getParent())) {
 
@@ -243,6 +246,12 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
       currentExecution = parentScopeExecution;
     }
 
+    if (Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableGatewayJoinRowLocking()
+        && executionEntityManager.lockExecution(parentScopeExecution)) {
+      // concurrent instances now wait for this transaction instead of failing on the forced update
+      return;
+    }
+
     parentScopeExecution.forceUpdate();
   }
 
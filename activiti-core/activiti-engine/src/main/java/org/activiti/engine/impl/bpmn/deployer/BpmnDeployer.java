@@ -20,8 +20,10 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.activiti.bpmn.constants.BpmnXMLConstants;
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.ExtensionElement;
@@ -55,6 +57,7 @@ public class BpmnDeployer implements Deployer {
     protected ParsedDeploymentBuilderFactory parsedDeploymentBuilderFactory;
     protected BpmnDeploymentHelper bpmnDeploymentHelper;
     protected CachingAndArtifactsManager cachingAndArtifactsManager;
+    protected ExpressionCachePrewarmer expressionCachePrewarmer;
     private boolean disableExistingStartEventSubscriptions;
 
     @Override
@@ -103,6 +106,23 @@ public class BpmnDeployer implements Deployer {
             createLocalizationValues(processDefinition,
                                      bpmnModel.getProcessById(processDefinition.getKey()));
         }
+
+        if (expressionCachePrewarmer != null) {
+            prewarmExpressionCache(parsedDeployment);
+        }
+    }
+
+    /**
+     * Parses the expressions of the deployed models, once per BPMN resource.
+     */
+    protected void prewarmExpressionCache(ParsedDeployment parsedDeployment) {
+        Set<BpmnModel> bpmnModels = new LinkedHashSet<>();
+        for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+            bpmnModels.add(parsedDeployment.getBpmnModelForProcessDefinition(processDefinition));
+        }
+        for (BpmnModel bpmnModel : bpmnModels) {
+            expressionCachePrewarmer.prewarm(bpmnModel);
+        }
     }
 //
 //  /**
@@ -545,6 +565,14 @@ public class BpmnDeployer implements Deployer {
         this.cachingAndArtifactsManager = manager;
     }
 
+    public ExpressionCachePrewarmer getExpressionCachePrewarmer() {
+        return expressionCachePrewarmer;
+    }
+
+    public void setExpressionCachePrewarmer(ExpressionCachePrewarmer expressionCachePrewarmer) {
+        this.expressionCachePrewarmer = expressionCachePrewarmer;
+    }
+
     public void setDisableExistingStartEventSubscriptions(boolean disableExistingStartEventSubscriptions) {
         this.disableExistingStartEventSubscriptions = disableExistingStartEventSubscriptions;
     }
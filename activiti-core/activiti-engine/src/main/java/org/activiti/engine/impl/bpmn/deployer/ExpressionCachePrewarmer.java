@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.bpmn.deployer;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import jakarta.el.ELException;
+import org.activiti.bpmn.model.AdhocSubProcess;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.CallActivity;
+import org.activiti.bpmn.model.Event;
+import org.activiti.bpmn.model.EventDefinition;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.IOParameter;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.bpmn.model.SignalEventDefinition;
+import org.activiti.bpmn.model.TimerEventDefinition;
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the expressions of a deployed {@link BpmnModel} that are only evaluated at runtime (sequence flow
+ * conditions, user task assignments, timers, ...), so that their parse trees are in the expression cache before
+ * the first process instance needs them.
+ */
+public class ExpressionCachePrewarmer {
+
+  private static final Logger log = LoggerFactory.getLogger(ExpressionCachePrewarmer.class);
+
+  public void prewarm(BpmnModel bpmnModel) {
+    ExpressionManager expressionManager = Context.getProcessEngineConfiguration().getExpressionManager();
+    for (String expression : collectExpressions(bpmnModel)) {
+      try {
+        expressionManager.createExpression(expression);
+      } catch (ELException e) {
+        // the error is reported when the expression is evaluated
+        log.debug("Could not parse expression {}", expression, e);
+      }
+    }
+  }
+
+  protected Set<String> collectExpressions(BpmnModel bpmnModel) {
+    Set<String> expressions = new LinkedHashSet<>();
+    for (Process process : bpmnModel.getProcesses()) {
+      for (FlowElement flowElement : process.findFlowElementsOfType(FlowElement.class, true)) {
+        collectExpressions(flowElement, expressions);
+      }
+    }
+    return expressions;
+  }
+
+  protected void collectExpressions(FlowElement flowElement, Set<String> expressions) {
+    if (flowElement instanceof SequenceFlow) {
+      SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+      addExpression(sequenceFlow.getConditionExpression(), expressions);
+      addExpression(sequenceFlow.getSkipExpression(), expressions);
+
+    } else if (flowElement instanceof UserTask) {
+      UserTask userTask = (UserTask) flowElement;
+      addExpression(userTask.getName(), expressions);
+      addExpression(userTask.getDocumentation(), expressions);
+      addExpression(userTask.getAssignee(), expressions);
+      addExpression(userTask.getOwner(), expressions);
+      addExpression(userTask.getDueDate(), expressions);
+      addExpression(userTask.getPriority(), expressions);
+      addExpression(userTask.getCategory(), expressions);
+      addExpression(userTask.getFormKey(), expressions);
+      addExpression(userTask.getSkipExpression(), expressions);
+      addExpressions(userTask.getCandidateUsers(), expressions);
+      addExpressions(userTask.getCandidateGroups(), expressions);
+
+    } else if (flowElement instanceof ServiceTask) {
+      addExpression(((ServiceTask) flowElement).getSkipExpression(), expressions);
+
+    } else if (flowElement instanceof CallActivity) {
+      CallActivity callActivity = (CallActivity) flowElement;
+      addExpression(callActivity.getBusinessKey(), expressions);
+      for (IOParameter parameter : callActivity.getInParameters()) {
+        addExpression(parameter.getSourceExpression(), expressions);
+      }
+      for (IOParameter parameter : callActivity.getOutParameters()) {
+        addExpression(parameter.getSourceExpression(), expressions);
+      }
+
+    } else if (flowElement instanceof AdhocSubProcess) {
+      addExpression(((AdhocSubProcess) flowElement).getCompletionCondition(), expressions);
+
+    } else if (flowElement instanceof Event) {
+      for (EventDefinition eventDefinition : ((Event) flowElement).getEventDefinitions()) {
+        if (eventDefinition instanceof TimerEventDefinition) {
+          TimerEventDefinition timerEventDefinition = (TimerEventDefinition) eventDefinition;
+          addExpression(timerEventDefinition.getTimeDate(), expressions);
+          addExpression(timerEventDefinition.getTimeCycle(), expressions);
+          addExpression(timerEventDefinition.getTimeDuration(), expressions);
+        } else if (eventDefinition instanceof SignalEventDefinition) {
+          addExpression(((SignalEventDefinition) eventDefinition).getSignalExpression(), expressions);
+        }
+      }
+    }
+  }
+
+  protected void addExpressions(Collection<String> values, Set<String> expressions) {
+    if (values != null) {
+      for (String value : values) {
+        addExpression(value, expressions);
+      }
+    }
+  }
+
+  protected void addExpression(String value, Set<String> expressions) {
+    if (value != null && (value.contains("${") || value.contains("#{"))) {
+      expressions.add(value);
+    }
+  }
+
+}
@@ -19,16 +19,20 @@ package org.activiti.engine.impl.bpmn.deployer;
 import static org.activiti.engine.impl.cmd.DeploymentSettings.RESOURCE_NAMES;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 import org.activiti.engine.impl.bpmn.parser.BpmnParser;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.DeploymentSettings;
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.ResourceEntity;
@@ -43,11 +47,23 @@ public class ParsedDeploymentBuilder {
   protected BpmnParser bpmnParser;
   protected Map<String, Object> deploymentSettings;
 
+  /**
+   * The maximum number of threads converting and validating the BPMN resources of the deployment.
+   * With 1, all resources are parsed one after the other on the deploying thread.
+   */
+  protected int parsingParallelism;
+
   public ParsedDeploymentBuilder(DeploymentEntity deployment,
       BpmnParser bpmnParser, Map<String, Object> deploymentSettings) {
+    this(deployment, bpmnParser, deploymentSettings, 1);
+  }
+
+  public ParsedDeploymentBuilder(DeploymentEntity deployment,
+      BpmnParser bpmnParser, Map<String, Object> deploymentSettings, int parsingParallelism) {
     this.deployment = deployment;
     this.bpmnParser = bpmnParser;
     this.deploymentSettings = deploymentSettings;
+    this.parsingParallelism = parsingParallelism;
   }
 
   public ParsedDeployment build() {
@@ -57,20 +73,29 @@ public class ParsedDeploymentBuilder {
     Map<ProcessDefinitionEntity, ResourceEntity> processDefinitionsToResourceMap
       = new LinkedHashMap<ProcessDefinitionEntity, ResourceEntity>();
 
+    Map<ResourceEntity, BpmnParse> bpmnParses = new LinkedHashMap<ResourceEntity, BpmnParse>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       if (isBpmnResource(resource.getName())) {
         if (deploymentSettings == null || mayBeContainsProcessDefinitionResourceName(resource.getName())) {
-          log.debug("Processing BPMN resource {}", resource.getName());
-          BpmnParse parse = createBpmnParseFromResource(resource);
-          for (ProcessDefinitionEntity processDefinition : parse.getProcessDefinitions()) {
-              processDefinitions.add(processDefinition);
-              processDefinitionsToBpmnParseMap.put(processDefinition, parse);
-              processDefinitionsToResourceMap.put(processDefinition, resource);
-            }
+          bpmnParses.put(resource, createBpmnParse(resource));
         }
       }
     }
 
+    parseAndValidate(bpmnParses);
+
+    // The parse handlers need the command context, so they are applied on this thread and in resource order
+    for (Map.Entry<ResourceEntity, BpmnParse> entry : bpmnParses.entrySet()) {
+      ResourceEntity resource = entry.getKey();
+      log.debug("Processing BPMN resource {}", resource.getName());
+      BpmnParse parse = entry.getValue().execute();
+      for (ProcessDefinitionEntity processDefinition : parse.getProcessDefinitions()) {
+          processDefinitions.add(processDefinition);
+          processDefinitionsToBpmnParseMap.put(processDefinition, parse);
+          processDefinitionsToResourceMap.put(processDefinition, resource);
+        }
+    }
+
     return new ParsedDeployment(deployment, processDefinitions,
         processDefinitionsToBpmnParseMap, processDefinitionsToResourceMap);
   }
@@ -84,39 +109,88 @@ public class ParsedDeploymentBuilder {
             .isPresent();
   }
 
+  /**
+   * Converts and validates the XML of the given parses, which is the expensive part of parsing a deployment.
+   * When the deployment has more than one BPMN resource and the parsing parallelism allows it, this is done
+   * on a fork join pool that is bounded by the parsing parallelism and only lives for the duration of this call.
+   */
+  protected void parseAndValidate(Map<ResourceEntity, BpmnParse> bpmnParses) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    int parallelism = Math.min(parsingParallelism, bpmnParses.size());
+    if (parallelism <= 1) {
+      bpmnParses.forEach((resource, bpmnParse) -> parseAndValidate(resource, bpmnParse, processEngineConfiguration));
+      return;
+    }
+
+    ForkJoinPool parsingPool = new ForkJoinPool(parallelism);
+    try {
+      parsingPool.submit(() -> bpmnParses.entrySet().parallelStream()
+          .forEach(entry -> parseAndValidate(entry.getKey(), entry.getValue(), processEngineConfiguration)))
+        .get();
+
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new ActivitiException("Error parsing deployment " + deployment.getName(), e.getCause());
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ActivitiException("Interrupted while parsing deployment " + deployment.getName(), e);
+
+    } finally {
+      parsingPool.shutdown();
+    }
+  }
+
+  protected void parseAndValidate(ResourceEntity resource, BpmnParse bpmnParse, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    long start = System.nanoTime();
+    bpmnParse.parseAndValidate(processEngineConfiguration);
+    long duration = System.nanoTime() - start;
+
+    log.debug("Parsed and validated BPMN resource {} in {} ms", resource.getName(), TimeUnit.NANOSECONDS.toMillis(duration));
+    if (processEngineConfiguration != null && processEngineConfiguration.getProcessEngineMetrics() != null) {
+      processEngineConfiguration.getProcessEngineMetrics().bpmnResourceParsed(resource.getName(), duration);
+    }
+  }
+
   protected BpmnParse createBpmnParseFromResource(ResourceEntity resource) {
+    return createBpmnParse(resource).execute();
+  }
+
+  /**
+   * Creates the parse of the given resource, configured with the validation settings of the deployment,
+   * without executing it.
+   */
+  protected BpmnParse createBpmnParse(ResourceEntity resource) {
     String resourceName = resource.getName();
 
-    try(ByteArrayInputStream inputStream = new ByteArrayInputStream(resource.getBytes())) {
-        BpmnParse bpmnParse = bpmnParser.createParse()
-            .sourceInputStream(inputStream)
-            .setSourceSystemId(resourceName)
-            .deployment(deployment)
-            .name(resourceName);
-
-        if (deploymentSettings != null) {
-
-            // Schema validation if needed
-            if (deploymentSettings.containsKey(DeploymentSettings.IS_BPMN20_XSD_VALIDATION_ENABLED)) {
-                bpmnParse.setValidateSchema((Boolean) deploymentSettings.get(DeploymentSettings.IS_BPMN20_XSD_VALIDATION_ENABLED));
-            }
-
-            // Process validation if needed
-            if (deploymentSettings.containsKey(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED)) {
-                bpmnParse.setValidateProcess((Boolean) deploymentSettings.get(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED));
-            }
-
-        } else {
-            // On redeploy, we assume it is validated at the first deploy
-            bpmnParse.setValidateSchema(false);
-            bpmnParse.setValidateProcess(false);
+    // the stream is only read when the parse is executed, closing a ByteArrayInputStream has no effect anyway
+    BpmnParse bpmnParse = bpmnParser.createParse()
+        .sourceInputStream(new ByteArrayInputStream(resource.getBytes()))
+        .setSourceSystemId(resourceName)
+        .deployment(deployment)
+        .name(resourceName);
+
+    if (deploymentSettings != null) {
+
+        // Schema validation if needed
+        if (deploymentSettings.containsKey(DeploymentSettings.IS_BPMN20_XSD_VALIDATION_ENABLED)) {
+            bpmnParse.setValidateSchema((Boolean) deploymentSettings.get(DeploymentSettings.IS_BPMN20_XSD_VALIDATION_ENABLED));
         }
 
-        bpmnParse.execute();
-        return bpmnParse;
-    } catch (IOException e) {
-        throw new ActivitiException(e.getMessage(), e);
+        // Process validation if needed
+        if (deploymentSettings.containsKey(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED)) {
+            bpmnParse.setValidateProcess((Boolean) deploymentSettings.get(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED));
+        }
+
+    } else {
+        // On redeploy, we assume it is validated at the first deploy
+        bpmnParse.setValidateSchema(false);
+        bpmnParse.setValidateProcess(false);
     }
+
+    return bpmnParse;
   }
 
   protected boolean isBpmnResource(String resourceName) {
@@ -24,6 +24,7 @@ import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 public class ParsedDeploymentBuilderFactory {
 
   protected BpmnParser bpmnParser;
+  protected int parsingParallelism = 1;
 
   public BpmnParser getBpmnParser() {
     return bpmnParser;
@@ -33,13 +34,21 @@ public class ParsedDeploymentBuilderFactory {
     this.bpmnParser = bpmnParser;
   }
 
+  public int getParsingParallelism() {
+    return parsingParallelism;
+  }
+
+  public void setParsingParallelism(int parsingParallelism) {
+    this.parsingParallelism = parsingParallelism;
+  }
+
   public ParsedDeploymentBuilder getBuilderForDeployment(DeploymentEntity deployment) {
     return getBuilderForDeploymentAndSettings(deployment, null);
   }
 
   public ParsedDeploymentBuilder getBuilderForDeploymentAndSettings(DeploymentEntity deployment,
       Map<String, Object> deploymentSettings) {
-    return new ParsedDeploymentBuilder(deployment, bpmnParser, deploymentSettings);
+    return new ParsedDeploymentBuilder(deployment, bpmnParser, deploymentSettings, parsingParallelism);
   }
 
 }
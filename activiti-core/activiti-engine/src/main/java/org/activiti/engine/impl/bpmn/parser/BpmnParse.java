@@ -89,6 +89,9 @@ public class BpmnParse implements BpmnXMLConstants {
 
   protected BpmnModel bpmnModel;
 
+  /** Whether {@link #parseAndValidate(ProcessEngineConfigurationImpl)} already ran, e.g. on another thread. */
+  protected boolean parsedAndValidated;
+
   protected String targetNamespace;
 
   /** The deployment to which the parsed process definitions will be added. */
@@ -136,9 +139,40 @@ public class BpmnParse implements BpmnXMLConstants {
   }
 
   public BpmnParse execute() {
+    if (!parsedAndValidated) {
+      parseAndValidate(Context.getProcessEngineConfiguration());
+    }
+
+    try {
+
+      bpmnModel.setSourceSystemId(sourceSystemId);
+      bpmnModel.setEventSupport(new ActivitiEventSupport());
+
+      // Validation successful (or no validation)
+
+      // Attach logic to the processes (eg. map ActivityBehaviors to bpmn model elements)
+      applyParseHandlers();
+
+      // Finally, process the diagram interchange info
+      processDI();
+
+    } catch (Exception e) {
+      throw wrapParseException(e);
+    }
+
+    return this;
+  }
+
+  /**
+   * First phase of {@link #execute()}: converts the XML to a {@link BpmnModel} and validates it.
+   *
+   * This phase only depends on the given configuration and not on the {@link Context}, so the resources of one deployment
+   * can go through it on different threads. The parse handlers, which do need the context, are applied when
+   * {@link #execute()} is called afterwards.
+   */
+  public BpmnParse parseAndValidate(ProcessEngineConfigurationImpl processEngineConfiguration) {
     try {
 
-      ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
       BpmnXMLConverter converter = new BpmnXMLConverter();
 
       boolean enableSafeBpmnXml = false;
@@ -190,30 +224,25 @@ public class BpmnParse implements BpmnXMLConstants {
         }
       }
 
-      bpmnModel.setSourceSystemId(sourceSystemId);
-      bpmnModel.setEventSupport(new ActivitiEventSupport());
-
-      // Validation successful (or no validation)
-
-      // Attach logic to the processes (eg. map ActivityBehaviors to bpmn model elements)
-      applyParseHandlers();
-
-      // Finally, process the diagram interchange info
-      processDI();
+      parsedAndValidated = true;
 
     } catch (Exception e) {
-      if (e instanceof ActivitiException) {
-        throw (ActivitiException) e;
-      } else if (e instanceof XMLException) {
-        throw (XMLException) e;
-      } else {
-        throw new ActivitiException("Error parsing XML", e);
-      }
+      throw wrapParseException(e);
     }
 
     return this;
   }
 
+  protected RuntimeException wrapParseException(Exception e) {
+    if (e instanceof ActivitiException) {
+      return (ActivitiException) e;
+    } else if (e instanceof XMLException) {
+      return (XMLException) e;
+    } else {
+      return new ActivitiException("Error parsing XML", e);
+    }
+  }
+
   public BpmnParse name(String name) {
     this.name = name;
     return this;
@@ -54,6 +54,18 @@ public class PerformanceSettings {
    */
   protected boolean enableLocalization = true;
 
+  /**
+   * Experimental setting: when an execution arrives at a joining parallel or inclusive gateway, or completes an instance
+   * of a parallel multi instance activity, the parent scope execution is locked with a row lock instead of being forced to update.
+   *
+   * With the forced update, concurrent joins of the same scope fail with an optimistic locking exception
+   * and need to be retried. With the row lock they wait for each other, and the last arriving execution
+   * sees the others when counting the joined executions. This requires the read committed transaction isolation
+   * level, which is the default of all supported databases except MySQL and MariaDB. In transactions with another
+   * isolation level, the join falls back to the forced update.
+   */
+  protected boolean enableGatewayJoinRowLocking;
+
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
   }
@@ -86,4 +98,12 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public boolean isEnableGatewayJoinRowLocking() {
+    return enableGatewayJoinRowLocking;
+  }
+
+  public void setEnableGatewayJoinRowLocking(boolean enableGatewayJoinRowLocking) {
+    this.enableGatewayJoinRowLocking = enableGatewayJoinRowLocking;
+  }
+
 }
@@ -39,6 +39,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
@@ -81,6 +82,7 @@ import org.activiti.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeploymentHelper;
 import org.activiti.engine.impl.bpmn.deployer.CachingAndArtifactsManager;
 import org.activiti.engine.impl.bpmn.deployer.EventSubscriptionManager;
+import org.activiti.engine.impl.bpmn.deployer.ExpressionCachePrewarmer;
 import org.activiti.engine.impl.bpmn.deployer.ParsedDeploymentBuilderFactory;
 import org.activiti.engine.impl.bpmn.deployer.TimerManager;
 import org.activiti.engine.impl.bpmn.listener.ListenerNotificationHelper;
@@ -140,7 +142,11 @@ import org.activiti.engine.impl.event.EventHandler;
 import org.activiti.engine.impl.event.EventSubscriptionPayloadMappingProvider;
 import org.activiti.engine.impl.event.MessageEventHandler;
 import org.activiti.engine.impl.event.SignalEventHandler;
+import org.activiti.engine.impl.event.logger.AsyncEventLogWriter;
+import org.activiti.engine.impl.event.logger.AsyncEventLogger;
 import org.activiti.engine.impl.event.logger.EventLogger;
+import org.activiti.engine.impl.history.AsyncHistoryJobWriter;
+import org.activiti.engine.impl.history.AsyncHistoryWriter;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
@@ -153,26 +159,34 @@ import org.activiti.engine.impl.interceptor.CommandInvoker;
 import org.activiti.engine.impl.interceptor.DebugCommandInvoker;
 import org.activiti.engine.impl.interceptor.DelegateInterceptor;
 import org.activiti.engine.impl.interceptor.LogInterceptor;
+import org.activiti.engine.impl.interceptor.MetricsCommandInterceptor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.jobexecutor.HistoricProcessInstancePurgeJobHandler;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
 import org.activiti.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.activiti.engine.impl.jobexecutor.SignalEventBroadcastJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.Deployer;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
@@ -474,6 +488,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected EventSubscriptionManager eventSubscriptionManager;
   protected BpmnDeploymentHelper bpmnDeploymentHelper;
   protected CachingAndArtifactsManager cachingAndArtifactsManager;
+  protected ExpressionCachePrewarmer expressionCachePrewarmer;
+
+  /**
+   * Set this to true to parse the expressions of a process definition (conditions, user task assignments, timers, ...)
+   * when it is deployed or loaded into the process definition cache, instead of when they are first evaluated.
+   *
+   * By default false.
+   */
+  protected boolean enableExpressionCachePrewarm;
   protected List<Deployer> customPreDeployers;
   protected List<Deployer> customPostDeployers;
   protected List<Deployer> deployers;
@@ -482,6 +505,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int processDefinitionCacheLimit = -1; // By default, no limit
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
+  /**
+   * Set this to true to use a {@link ConcurrentDeploymentCache} instead of a {@link DefaultDeploymentCache}
+   * for the process definition cache and the process definition info cache: reads don't take a global lock,
+   * and hits, misses and evictions are counted.
+   *
+   * By default false.
+   */
+  protected boolean enableConcurrentDeploymentCache;
+
+  /**
+   * Limit on the total weight of the process definition cache, as determined by the {@link ProcessDefinitionCacheEntryWeigher}
+   * (i.e. the number of flow elements). Only applicable when {@link #enableConcurrentDeploymentCache} is set.
+   */
+  protected long processDefinitionCacheMaxWeight = -1; // By default, no limit
+
   protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
   protected ProcessDefinitionInfoCache processDefinitionInfoCache;
 
@@ -537,6 +575,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorThreadPoolQueueSize = 100;
 
+  /**
+   * Set this to true to execute each async job on its own virtual thread, instead of on the thread pool
+   * configured with {@link #asyncExecutorCorePoolSize}, {@link #asyncExecutorMaxPoolSize} and {@link #asyncExecutorThreadPoolQueueSize}.
+   * This suits jobs that mostly wait on remote calls. Jobs that can't be started because
+   * {@link #asyncExecutorVirtualThreadMaxConcurrency} is reached are handled like when the queue of the thread pool is full.
+   *
+   * By default false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorUseVirtualThreads;
+
+  /**
+   * The maximum number of async jobs executing at the same time when {@link #asyncExecutorUseVirtualThreads} is set.
+   * By default the maximum number of active connections of the engine's data source, when it's created by the engine, minus the
+   * connections the acquisition threads and the jobs' new transactions need (see {@link DefaultAsyncJobExecutor#VIRTUAL_THREAD_RESERVED_CONNECTIONS}),
+   * otherwise {@link #asyncExecutorMaxPoolSize}. When set, it should leave the same headroom in the connection pool.
+   */
+  protected int asyncExecutorVirtualThreadMaxConcurrency = -1;
+
   /**
    * The queue onto which jobs will be placed before they are actually executed.
    * Threads form the async executor threadpool will take work from this queue.
@@ -612,6 +668,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultAsyncJobAcquireWaitTime = 10 * 1000;
 
+  /**
+   * Set this to true to let the {@link DefaultAsyncJobExecutor} adapt the async job acquisition to the load:
+   * each acquisition fetches as many jobs as the executor has free capacity for (instead of {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition}),
+   * and when no jobs are found the wait time doubles from {@link #asyncExecutorMinAsyncJobAcquireWaitTime}
+   * up to {@link #asyncExecutorDefaultAsyncJobAcquireWaitTime}.
+   * A job that was committed locally but couldn't be handed to the full executor wakes up the acquisition immediately.
+   *
+   * By default false.
+   */
+  protected boolean asyncExecutorAdaptiveJobAcquisition;
+
+  /**
+   * The minimum time (in milliseconds) the adaptive async job acquisition waits between acquisitions
+   * when no jobs are found. Only applicable when {@link #asyncExecutorAdaptiveJobAcquisition} is set.
+   *
+   * By default 100 milliseconds.
+   */
+  protected int asyncExecutorMinAsyncJobAcquireWaitTime = 100;
+
   /**
    * The time (in milliseconds) the async job (both timer and async continuations) acquisition thread will
    * wait when the queueu is full to execute the next query. By default set to 0 (for backwards compatibility)
@@ -686,6 +761,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean asyncExecutorMessageQueueMode;
 
+  /**
+   * Set this to true to acquire async jobs and timer jobs with a 'select ... for update skip locked'
+   * (or the equivalent table hints on MS SQL Server). The selected rows stay locked until the
+   * acquisition transaction has written the lock owner, and concurrent acquisitions skip them,
+   * so multiple executors acquire disjoint batches instead of failing with optimistic locking exceptions.
+   *
+   * Requires database support: PostgreSQL 9.5+, MySQL 8.0+, MariaDB 10.6+, Oracle, MS SQL Server and H2.
+   * On other databases the regular acquisition query is used.
+   *
+   * By default false.
+   */
+  protected boolean asyncExecutorSkipLockedJobAcquisition;
+
  /**
   * Allows to define a custom factory for creating the {@link Runnable} that is executed by the async executor.
   *
@@ -707,6 +795,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * Set this to true to let the default {@link DbIdGenerator} fetch the next id block in the background,
+   * once half of the current block is used, so engine threads don't have to wait for it when the current block runs out.
+   *
+   * By default false.
+   */
+  protected boolean idBlockPrefetchEnabled;
+
+  /**
+   * The executor on which the default {@link DbIdGenerator} prefetches id blocks.
+   * By default null, in which case the id generator uses a single daemon thread of its own.
+   */
+  protected Executor idBlockPrefetchExecutor;
+
   // BPMN PARSER //////////////////////////////////////////////////////////////
 
   protected List<BpmnParseHandler> preBpmnParseHandlers;
@@ -791,6 +893,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int batchSizeProcessInstances = 25;
   protected int batchSizeTasks = 25;
 
+  /**
+   * The number of subscriptions delivered by one job when a signal is broadcast in chunks
+   * (see {@link org.activiti.engine.RuntimeService#signalEventReceivedInChunks(String)}).
+   */
+  protected int signalBroadcastChunkSize = 100;
+
+  /**
+   * The number of finished root process instances deleted per transaction by a purge of the history
+   * (see {@link org.activiti.engine.HistoryService#createHistoricProcessInstancePurge()}).
+   */
+  protected int historicProcessInstancePurgeBatchSize = 500;
+
+  /**
+   * When enabled, finished activity instances and variable updates are not written to the history tables by the
+   * command that records them, but by an async job created in its transaction (see {@link AsyncHistoryWriter}).
+   * The async executor must be running for them to show up in the history.
+   */
+  protected boolean asyncHistoryEnabled;
+
+  /**
+   * The writer of the asynchronous history, {@link AsyncHistoryJobWriter} by default.
+   */
+  protected AsyncHistoryWriter asyncHistoryWriter;
+
   protected boolean enableEventDispatcher = true;
   protected ActivitiEventDispatcher eventDispatcher;
   protected List<ActivitiEventListener> eventListeners;
@@ -799,6 +925,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // Event logging to database
   protected boolean enableDatabaseEventLogging;
 
+  /**
+   * When set, the database event log entries are not inserted in the transaction that produced them, but handed to this writer after
+   * that transaction has been committed. The writer inserts them in batches from a background thread, and is started and shut down with
+   * the process engine. Only used when enableDatabaseEventLogging is true.
+   */
+  protected AsyncEventLogWriter asyncEventLogWriter;
+
+  /**
+   * When set, receives the command timings, flush counts, job and process definition cache measurements of this engine.
+   * A {@link MetricsCommandInterceptor} is then added to the default command interceptors.
+   */
+  protected ProcessEngineMetrics processEngineMetrics;
+
   /**
    * Using field injection together with a delegate expression for a service
    * task / execution listener / task listener is not thread-sade , see user
@@ -832,6 +971,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int maxNrOfStatementsInBulkInsert = 100;
 
+  /**
+   * If set to true, updates and deletes are grouped per sql statement and sent to the database as JDBC batches
+   * when flushing, instead of one round trip per entity. Update counts are still checked per row,
+   * so optimistic locking keeps working. Default false.
+   */
+  protected boolean isBatchedFlushEnabled;
+
+  /**
+   * The maximum number of threads used to convert and validate the BPMN resources of one deployment.
+   * The parse handlers and the persistence of the deployment always run on the deploying thread.
+   * Custom {@link ProcessValidator} implementations must be thread-safe and may not rely on the
+   * {@link org.activiti.engine.impl.context.Context} when this is set higher than 1. Default 1 (no parallel parsing).
+   */
+  protected int deploymentParsingParallelism = 1;
+
   public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
   protected ObjectMapper objectMapper = new ObjectMapper();
@@ -987,6 +1141,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     List<CommandInterceptor> interceptors = new ArrayList<CommandInterceptor>();
     interceptors.add(new LogInterceptor());
 
+    if (processEngineMetrics != null) {
+      interceptors.add(new MetricsCommandInterceptor(processEngineMetrics));
+    }
+
     CommandInterceptor transactionInterceptor = createTransactionInterceptor();
     if (transactionInterceptor != null) {
       interceptors.add(transactionInterceptor);
@@ -1524,6 +1682,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+    dbSqlSessionFactory.setProcessEngineMetrics(processEngineMetrics);
+    if (asyncHistoryEnabled) {
+      if (asyncHistoryWriter == null) {
+        asyncHistoryWriter = new AsyncHistoryJobWriter();
+      }
+      dbSqlSessionFactory.setAsyncHistoryWriter(asyncHistoryWriter);
+    }
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1613,7 +1779,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit,
+            processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
+      } else if (processDefinitionCacheLimit <= 0) {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
       } else {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
@@ -1623,7 +1792,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionInfoCache() {
     if (processDefinitionInfoCache == null) {
-      if (processDefinitionInfoCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor,
+            new ConcurrentDeploymentCache<ProcessDefinitionInfoCacheObject>(processDefinitionInfoCacheLimit));
+      } else if (processDefinitionInfoCacheLimit <= 0) {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor);
       } else {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, processDefinitionInfoCacheLimit);
@@ -1674,6 +1846,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (parsedDeploymentBuilderFactory.getBpmnParser() == null) {
       parsedDeploymentBuilderFactory.setBpmnParser(bpmnParser);
     }
+    parsedDeploymentBuilderFactory.setParsingParallelism(deploymentParsingParallelism);
 
     if (timerManager == null) {
       timerManager = new TimerManager();
@@ -1697,6 +1870,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       cachingAndArtifactsManager = new CachingAndArtifactsManager();
     }
 
+    if (enableExpressionCachePrewarm && expressionCachePrewarmer == null) {
+      expressionCachePrewarmer = new ExpressionCachePrewarmer();
+    }
+
   }
 
   public Collection<? extends Deployer> getDefaultDeployers() {
@@ -1713,6 +1890,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     bpmnDeployer.setBpmnDeploymentHelper(bpmnDeploymentHelper);
     bpmnDeployer.setCachingAndArtifactsManager(cachingAndArtifactsManager);
     bpmnDeployer.setDisableExistingStartEventSubscriptions(disableExistingStartEventSubscriptions);
+    bpmnDeployer.setExpressionCachePrewarmer(expressionCachePrewarmer);
 
     defaultDeployers.add(bpmnDeployer);
     return defaultDeployers;
@@ -1869,6 +2047,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    SignalEventBroadcastJobHandler signalEventBroadcastJobHandler = new SignalEventBroadcastJobHandler();
+    jobHandlers.put(signalEventBroadcastJobHandler.getType(), signalEventBroadcastJobHandler);
+
+    HistoricProcessInstancePurgeJobHandler historicProcessInstancePurgeJobHandler = new HistoricProcessInstancePurgeJobHandler();
+    jobHandlers.put(historicProcessInstancePurgeJobHandler.getType(), historicProcessInstancePurgeJobHandler);
+
+    AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler();
+    jobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1924,6 +2111,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       DbIdGenerator dbIdGenerator = new DbIdGenerator();
       dbIdGenerator.setIdBlockSize(idBlockSize);
+      dbIdGenerator.setPrefetchEnabled(idBlockPrefetchEnabled);
+      dbIdGenerator.setPrefetchExecutor(idBlockPrefetchExecutor);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
       idGenerator = dbIdGenerator;
@@ -2155,7 +2344,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (enableDatabaseEventLogging) {
       // Database event logging uses the default logging mechanism and adds
       // a specific event listener to the list of event listeners
-      getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+      if (asyncEventLogWriter != null) {
+        if (asyncEventLogWriter.getCommandExecutor() == null) {
+          asyncEventLogWriter.setCommandExecutor(commandExecutor);
+        }
+        getEventDispatcher().addEventListener(new AsyncEventLogger(clock, objectMapper, asyncEventLogWriter));
+      } else {
+        getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+      }
     }
   }
 
@@ -2865,6 +3061,78 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public ExpressionCachePrewarmer getExpressionCachePrewarmer() {
+    return expressionCachePrewarmer;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCachePrewarmer(ExpressionCachePrewarmer expressionCachePrewarmer) {
+    this.expressionCachePrewarmer = expressionCachePrewarmer;
+    return this;
+  }
+
+  public boolean isEnableExpressionCachePrewarm() {
+    return enableExpressionCachePrewarm;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableExpressionCachePrewarm(boolean enableExpressionCachePrewarm) {
+    this.enableExpressionCachePrewarm = enableExpressionCachePrewarm;
+    return this;
+  }
+
+  public boolean isIdBlockPrefetchEnabled() {
+    return idBlockPrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetchEnabled(boolean idBlockPrefetchEnabled) {
+    this.idBlockPrefetchEnabled = idBlockPrefetchEnabled;
+    return this;
+  }
+
+  public Executor getIdBlockPrefetchExecutor() {
+    return idBlockPrefetchExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetchExecutor(Executor idBlockPrefetchExecutor) {
+    this.idBlockPrefetchExecutor = idBlockPrefetchExecutor;
+    return this;
+  }
+
+  public int getSignalBroadcastChunkSize() {
+    return signalBroadcastChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSignalBroadcastChunkSize(int signalBroadcastChunkSize) {
+    this.signalBroadcastChunkSize = signalBroadcastChunkSize;
+    return this;
+  }
+
+  public int getHistoricProcessInstancePurgeBatchSize() {
+    return historicProcessInstancePurgeBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricProcessInstancePurgeBatchSize(int historicProcessInstancePurgeBatchSize) {
+    this.historicProcessInstancePurgeBatchSize = historicProcessInstancePurgeBatchSize;
+    return this;
+  }
+
+  public boolean isAsyncHistoryEnabled() {
+    return asyncHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEnabled(boolean asyncHistoryEnabled) {
+    this.asyncHistoryEnabled = asyncHistoryEnabled;
+    return this;
+  }
+
+  public AsyncHistoryWriter getAsyncHistoryWriter() {
+    return asyncHistoryWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryWriter(AsyncHistoryWriter asyncHistoryWriter) {
+    this.asyncHistoryWriter = asyncHistoryWriter;
+    return this;
+  }
+
   public int getBatchSizeProcessInstances() {
     return batchSizeProcessInstances;
   }
@@ -2901,6 +3169,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isEnableConcurrentDeploymentCache() {
+    return enableConcurrentDeploymentCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+    this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+    return this;
+  }
+
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
   public int getKnowledgeBaseCacheLimit() {
     return knowledgeBaseCacheLimit;
   }
@@ -2982,6 +3268,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public AsyncEventLogWriter getAsyncEventLogWriter() {
+    return asyncEventLogWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventLogWriter(AsyncEventLogWriter asyncEventLogWriter) {
+    this.asyncEventLogWriter = asyncEventLogWriter;
+    return this;
+  }
+
+  public ProcessEngineMetrics getProcessEngineMetrics() {
+    return processEngineMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessEngineMetrics(ProcessEngineMetrics processEngineMetrics) {
+    this.processEngineMetrics = processEngineMetrics;
+    return this;
+  }
+
   public int getMaxLengthStringVariableType() {
     return maxLengthStringVariableType;
   }
@@ -3009,6 +3313,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isBatchedFlushEnabled() {
+    return isBatchedFlushEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchedFlushEnabled(boolean isBatchedFlushEnabled) {
+    this.isBatchedFlushEnabled = isBatchedFlushEnabled;
+    return this;
+  }
+
+  public int getDeploymentParsingParallelism() {
+    return deploymentParsingParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParsingParallelism(int deploymentParsingParallelism) {
+    this.deploymentParsingParallelism = deploymentParsingParallelism;
+    return this;
+  }
+
   public boolean isUsingRelationalDatabase() {
     return usingRelationalDatabase;
   }
@@ -3050,6 +3372,11 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableGatewayJoinRowLocking(boolean enableGatewayJoinRowLocking) {
+    this.performanceSettings.setEnableGatewayJoinRowLocking(enableGatewayJoinRowLocking);
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3738,6 +4065,55 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorSkipLockedJobAcquisition() {
+    return asyncExecutorSkipLockedJobAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorSkipLockedJobAcquisition(boolean asyncExecutorSkipLockedJobAcquisition) {
+    this.asyncExecutorSkipLockedJobAcquisition = asyncExecutorSkipLockedJobAcquisition;
+    return this;
+  }
+
+  public boolean isAsyncExecutorUseVirtualThreads() {
+    return asyncExecutorUseVirtualThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+    this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+    return this;
+  }
+
+  public int getAsyncExecutorVirtualThreadMaxConcurrency() {
+    return asyncExecutorVirtualThreadMaxConcurrency;
+  }
+
+  /**
+   * Every executing job holds a connection, so leave connections of the pool for the acquisition threads and for new transactions,
+   * see {@link DefaultAsyncJobExecutor#VIRTUAL_THREAD_RESERVED_CONNECTIONS}.
+   */
+  public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreadMaxConcurrency(int asyncExecutorVirtualThreadMaxConcurrency) {
+    this.asyncExecutorVirtualThreadMaxConcurrency = asyncExecutorVirtualThreadMaxConcurrency;
+    return this;
+  }
+
+  public boolean isAsyncExecutorAdaptiveJobAcquisition() {
+    return asyncExecutorAdaptiveJobAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveJobAcquisition(boolean asyncExecutorAdaptiveJobAcquisition) {
+    this.asyncExecutorAdaptiveJobAcquisition = asyncExecutorAdaptiveJobAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorMinAsyncJobAcquireWaitTime() {
+    return asyncExecutorMinAsyncJobAcquireWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMinAsyncJobAcquireWaitTime(int asyncExecutorMinAsyncJobAcquireWaitTime) {
+    this.asyncExecutorMinAsyncJobAcquireWaitTime = asyncExecutorMinAsyncJobAcquireWaitTime;
+    return this;
+  }
+
   public boolean isRollbackDeployment() {
       return isRollbackDeployment;
   }
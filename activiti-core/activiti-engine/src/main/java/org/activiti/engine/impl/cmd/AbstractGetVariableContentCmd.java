@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.OutputStream;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.VariableInstance;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Writes the stored bytes of a variable to an output stream, without deserializing its value.
+ * The bytes are copied from the database while they are read, see {@link org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager#copyBytes(String, OutputStream)}.
+ *
+ * Returns false when the variable has no content.
+ */
+public abstract class AbstractGetVariableContentCmd implements Command<Boolean> {
+
+    protected String variableName;
+    protected OutputStream outputStream;
+
+    public AbstractGetVariableContentCmd(String variableName, OutputStream outputStream) {
+        this.variableName = variableName;
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public Boolean execute(CommandContext commandContext) {
+        if (outputStream == null) {
+            throw new ActivitiIllegalArgumentException("outputStream is null");
+        }
+        VariableInstance variable = findVariableInstance(commandContext);
+
+        // transient variables and variables of types that don't store bytes have no content
+        if (variable instanceof VariableInstanceEntity) {
+            ByteArrayRef byteArrayRef = ((VariableInstanceEntity) variable).getByteArrayRef();
+            if (byteArrayRef != null && byteArrayRef.getId() != null) {
+                return commandContext.getByteArrayEntityManager().copyBytes(byteArrayRef.getId(), outputStream);
+            }
+        }
+        return false;
+    }
+
+    protected void checkVariableName() {
+        if (variableName == null) {
+            throw new ActivitiIllegalArgumentException("variableName is null");
+        }
+    }
+
+    /**
+     * @return the variable, searched for in all scopes visible to the scope of this command, or null if it is undefined
+     */
+    protected abstract VariableInstance findVariableInstance(CommandContext commandContext);
+}
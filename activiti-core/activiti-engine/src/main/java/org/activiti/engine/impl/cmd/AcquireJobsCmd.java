@@ -33,14 +33,20 @@ import org.activiti.engine.impl.persistence.entity.JobEntity;
 public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final int maxJobs;
 
   public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+  }
+
+  public AcquireJobsCmd(AsyncExecutor asyncExecutor, int maxJobs) {
     this.asyncExecutor = asyncExecutor;
+    this.maxJobs = maxJobs;
   }
 
   public AcquiredJobEntities execute(CommandContext commandContext) {
     AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
-    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, maxJobs));
 
     for (JobEntity job : jobs) {
       lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -19,12 +19,14 @@ package org.activiti.engine.impl.cmd;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.ResourceEntity;
 import org.activiti.engine.impl.repository.DeploymentBuilderImpl;
+import org.activiti.engine.impl.util.ChecksumUtil;
 import org.activiti.engine.repository.Deployment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,11 +163,22 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
         DeploymentEntity deployment = deploymentBuilder.getDeployment();
         deployment.setDeploymentTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
         setProjectReleaseVersion(deployment);
+        setChecksums(deployment);
         deployment.setVersion(1);
         deployment.setNew(true);
         return deployment;
     }
 
+    private void setChecksums(DeploymentEntity deployment) {
+        Map<String, ResourceEntity> resources = deployment.getResources();
+        if (resources != null) {
+            for (ResourceEntity resource : resources.values()) {
+                resource.setChecksum(ChecksumUtil.checksum(resource.getBytes()));
+            }
+            deployment.setChecksum(ChecksumUtil.checksum(resources.values()));
+        }
+    }
+
     private void setProjectReleaseVersion(DeploymentEntity deployment) {
         if (deploymentBuilder.hasProjectManifestSet()) {
             deployment.setProjectReleaseVersion(deploymentBuilder.getProjectManifest().getVersion());
@@ -202,11 +215,20 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
     }
 
     private boolean deploymentsDifferDefault(DeploymentEntity deployment, DeploymentEntity saved) {
-        if (deployment.getResources() == null || saved.getResources() == null) {
+        if (deployment.getResources() == null) {
             return true;
         }
+        if (deployment.getChecksum() != null && deployment.getChecksum().equals(saved.getChecksum())) {
+            return false;
+        }
+
+        // The saved deployment can still contain all resources of the new one, next to others.
+        // So compare the resources one by one, by their checksums rather than their bytes.
         Map<String, ResourceEntity> resources = deployment.getResources();
-        Map<String, ResourceEntity> savedResources = saved.getResources();
+        Map<String, ResourceEntity> savedResources = new HashMap<>();
+        for (ResourceEntity savedResource : Context.getCommandContext().getResourceEntityManager().findResourcesWithoutBytesByDeploymentId(saved.getId())) {
+            savedResources.put(savedResource.getName(), savedResource);
+        }
 
         for (String resourceName : resources.keySet()) {
             ResourceEntity savedResource = savedResources.get(resourceName);
@@ -218,9 +240,11 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
             if (!savedResource.isGenerated()) {
                 ResourceEntity resource = resources.get(resourceName);
 
-                byte[] bytes = resource.getBytes();
-                byte[] savedBytes = savedResource.getBytes();
-                if (!Arrays.equals(bytes, savedBytes)) {
+                if (savedResource.getChecksum() != null) {
+                    if (!savedResource.getChecksum().equals(resource.getChecksum())) {
+                        return true;
+                    }
+                } else if (!Arrays.equals(resource.getBytes(), getSavedBytes(saved, resourceName))) {
                     return true;
                 }
             }
@@ -228,6 +252,16 @@ public class DeployCmd<T> implements Command<Deployment>, Serializable {
         return false;
     }
 
+    /**
+     * Only needed for resources that were deployed before their checksum was stored.
+     */
+    private byte[] getSavedBytes(DeploymentEntity saved, String resourceName) {
+        return Context.getCommandContext()
+            .getResourceEntityManager()
+            .findResourceByDeploymentIdAndResourceName(saved.getId(), resourceName)
+            .getBytes();
+    }
+
     protected void scheduleProcessDefinitionActivation(CommandContext commandContext, DeploymentEntity deployment) {
         for (ProcessDefinitionEntity processDefinitionEntity : deployment.getDeployedArtifacts(ProcessDefinitionEntity.class)) {
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.OutputStream;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstance;
+import org.activiti.engine.task.Task;
+
+/**
+ * Writes the stored bytes of a variable visible to a task to an output stream, see {@link AbstractGetVariableContentCmd}.
+ */
+public class GetTaskVariableContentCmd extends AbstractGetVariableContentCmd {
+
+    protected String taskId;
+
+    public GetTaskVariableContentCmd(String taskId, String variableName, OutputStream outputStream) {
+        super(variableName, outputStream);
+        this.taskId = taskId;
+    }
+
+    @Override
+    protected VariableInstance findVariableInstance(CommandContext commandContext) {
+        if (taskId == null) {
+            throw new ActivitiIllegalArgumentException("taskId is null");
+        }
+        checkVariableName();
+
+        TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+
+        if (task == null) {
+            throw new ActivitiObjectNotFoundException("task " + taskId + " doesn't exist", Task.class);
+        }
+
+        return task.getVariableInstance(variableName, false);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Purges one batch of finished process instances, see {@link org.activiti.engine.history.HistoricProcessInstancePurgeBuilder}.
+ *
+ * Returns the number of purged root process instances: less than the batch size means nothing is left to purge.
+ */
+public class PurgeHistoricProcessInstancesCmd implements Command<Integer> {
+
+  private static final Logger log = LoggerFactory.getLogger(PurgeHistoricProcessInstancesCmd.class);
+
+  protected final HistoricProcessInstancePurgeBuilderImpl purgeCriteria;
+  protected final int batchSize;
+
+  public PurgeHistoricProcessInstancesCmd(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize) {
+    this.purgeCriteria = purgeCriteria;
+    this.batchSize = batchSize;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    if (batchSize <= 0) {
+      throw new ActivitiIllegalArgumentException("batchSize must be positive");
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    HistoricProcessInstancePurgeBuilderImpl batchCriteria = purgeCriteria.resolveRetentionPeriod(processEngineConfiguration.getClock().getCurrentTime());
+
+    long start = System.nanoTime();
+    int purged = commandContext.getHistoricProcessInstanceEntityManager().purgeHistoricProcessInstances(batchCriteria, batchSize);
+    long duration = System.nanoTime() - start;
+
+    if (purged > 0) {
+      long durationInMillis = TimeUnit.NANOSECONDS.toMillis(duration);
+      log.info("Purged {} historic process instances in {} ms ({} per second)", purged, durationInMillis, purged * TimeUnit.SECONDS.toNanos(1) / Math.max(duration, 1));
+
+      if (processEngineConfiguration.getProcessEngineMetrics() != null) {
+        processEngineConfiguration.getProcessEngineMetrics().historicProcessInstancesPurged(purged, duration);
+      }
+    }
+    return purged;
+  }
+
+}
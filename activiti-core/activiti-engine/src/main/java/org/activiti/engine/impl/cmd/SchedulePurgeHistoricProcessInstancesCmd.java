@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.calendar.BusinessCalendar;
+import org.activiti.engine.impl.calendar.CycleBusinessCalendar;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.HistoricProcessInstancePurgeJobHandler;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.util.TimerUtil;
+
+/**
+ * Schedules the purge of finished process instances, see {@link HistoricProcessInstancePurgeJobHandler}: with a cycle,
+ * as a timer job repeating on it, and otherwise as the async job purging the next batch. Returns the id of the job.
+ */
+public class SchedulePurgeHistoricProcessInstancesCmd implements Command<String> {
+
+  protected final HistoricProcessInstancePurgeBuilderImpl purgeCriteria;
+  protected final int batchSize;
+  protected final String cycle;
+
+  public SchedulePurgeHistoricProcessInstancesCmd(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize) {
+    this(purgeCriteria, batchSize, null);
+  }
+
+  public SchedulePurgeHistoricProcessInstancesCmd(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize, String cycle) {
+    this.purgeCriteria = purgeCriteria;
+    this.batchSize = batchSize;
+    this.cycle = cycle;
+  }
+
+  public String execute(CommandContext commandContext) {
+    if (batchSize <= 0) {
+      throw new ActivitiIllegalArgumentException("batchSize must be positive");
+    }
+    if (cycle != null) {
+      return scheduleTimerJob(commandContext);
+    }
+
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setJobHandlerType(HistoricProcessInstancePurgeJobHandler.TYPE);
+    job.setJobHandlerConfiguration(HistoricProcessInstancePurgeJobHandler.createJobHandlerConfiguration(purgeCriteria, batchSize));
+    if (purgeCriteria.getTenantId() != null) {
+      job.setTenantId(purgeCriteria.getTenantId());
+    }
+    commandContext.getJobManager().scheduleAsyncJob(job);
+    return job.getId();
+  }
+
+  protected String scheduleTimerJob(CommandContext commandContext) {
+    BusinessCalendar businessCalendar = commandContext.getProcessEngineConfiguration().getBusinessCalendarManager().getBusinessCalendar(CycleBusinessCalendar.NAME);
+
+    TimerJobEntity timer = commandContext.getTimerJobEntityManager().create();
+    timer.setJobType(JobEntity.JOB_TYPE_TIMER);
+    timer.setRevision(1);
+    timer.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    timer.setJobHandlerType(HistoricProcessInstancePurgeJobHandler.TYPE);
+    timer.setJobHandlerConfiguration(HistoricProcessInstancePurgeJobHandler.createJobHandlerConfiguration(purgeCriteria, batchSize));
+    timer.setExclusive(true);
+    timer.setDuedate(businessCalendar.resolveDuedate(cycle));
+    timer.setRepeat(TimerUtil.prepareRepeat(cycle));
+    if (purgeCriteria.getTenantId() != null) {
+      timer.setTenantId(purgeCriteria.getTenantId());
+    }
+    commandContext.getJobManager().scheduleTimerJob(timer);
+    return timer.getId();
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.SignalEventBroadcastJobHandler;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Broadcasts a signal to all its subscriptions in chunks: the subscription ids are paged through with a keyset
+ * cursor, and every page of at most chunkSize subscriptions is handed to a separate
+ * {@link SignalEventBroadcastJobHandler} job. Only the ids are loaded by this command.
+ *
+ * Returns the ids of the created jobs, which can be used to follow the progress of the broadcast: a chunk is
+ * delivered once its job is gone, and a chunk that keeps failing ends up as a dead letter job with the same id.
+ */
+public class SignalEventBroadcastCmd implements Command<List<String>> {
+
+  protected final String eventName;
+  protected final String tenantId;
+  protected Integer chunkSize;
+
+  /**
+   * Uses the chunk size of the process engine configuration.
+   */
+  public SignalEventBroadcastCmd(String eventName, String tenantId) {
+    this.eventName = eventName;
+    this.tenantId = tenantId;
+  }
+
+  public SignalEventBroadcastCmd(String eventName, String tenantId, int chunkSize) {
+    this(eventName, tenantId);
+    this.chunkSize = chunkSize;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    if (eventName == null) {
+      throw new ActivitiIllegalArgumentException("signalName is null");
+    }
+    int chunkSize = this.chunkSize != null ? this.chunkSize : commandContext.getProcessEngineConfiguration().getSignalBroadcastChunkSize();
+    if (chunkSize <= 0) {
+      throw new ActivitiIllegalArgumentException("chunkSize must be positive");
+    }
+
+    Date createdBefore = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
+
+    List<String> jobIds = new ArrayList<String>();
+    String fromId = null;
+    List<String> subscriptionIds;
+    do {
+      subscriptionIds = eventSubscriptionEntityManager.findSignalEventSubscriptionIdsByEventName(eventName, tenantId, fromId, chunkSize);
+      if (!subscriptionIds.isEmpty()) {
+        // not the last element: the database doesn't have to return the ids of a page in order
+        String toId = Collections.max(subscriptionIds);
+        jobIds.add(scheduleChunk(commandContext, fromId, toId, createdBefore));
+        fromId = toId;
+      }
+    } while (subscriptionIds.size() == chunkSize);
+
+    return jobIds;
+  }
+
+  protected String scheduleChunk(CommandContext commandContext, String fromId, String toId, Date createdBefore) {
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setJobHandlerType(SignalEventBroadcastJobHandler.TYPE);
+    job.setJobHandlerConfiguration(SignalEventBroadcastJobHandler.createJobHandlerConfiguration(eventName, tenantId, fromId, toId, createdBefore));
+    if (tenantId != null) {
+      job.setTenantId(tenantId);
+    }
+    commandContext.getJobManager().scheduleAsyncJob(job);
+    return job.getId();
+  }
+
+}
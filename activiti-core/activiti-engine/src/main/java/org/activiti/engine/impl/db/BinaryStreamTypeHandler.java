@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Maps a binary column to the stream of the driver, which only stays readable until the next row is fetched.
+ * So it is meant for statements executed with a {@link org.apache.ibatis.session.ResultHandler} that consumes every row.
+ */
+public class BinaryStreamTypeHandler implements TypeHandler<InputStream> {
+
+  public void setParameter(PreparedStatement ps, int i, InputStream parameter, JdbcType jdbcType) throws SQLException {
+    ps.setBinaryStream(i, parameter);
+  }
+
+  public InputStream getResult(ResultSet rs, String columnName) throws SQLException {
+    return rs.getBinaryStream(columnName);
+  }
+
+  public InputStream getResult(ResultSet rs, int columnIndex) throws SQLException {
+    return rs.getBinaryStream(columnIndex);
+  }
+
+  public InputStream getResult(CallableStatement cs, int columnIndex) throws SQLException {
+    Blob blob = cs.getBlob(columnIndex);
+    return blob != null ? blob.getBinaryStream() : null;
+  }
+
+}
@@ -17,29 +17,132 @@
 
 package org.activiti.engine.impl.db;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
-
+ * {@link IdGenerator} handing out ids from blocks reserved in the ACT_GE_PROPERTY table.
+ *
+ * Ids of the current block are handed out without locking. Only when a block is exhausted,
+ * the threads needing an id wait for a single one of them to fetch the next block.
+ * When prefetching is enabled, the next block is already fetched in the background once half of
+ * the current block has been used, so that waiting is normally not needed at all. The prefetching runs on the
+ * {@link #setPrefetchExecutor(Executor) prefetch executor}, by default a single daemon thread of this generator.
+ *
+ * Blocks are fetched through {@link #getNewBlock()}, so subclasses overriding it keep working.
  */
 public class DbIdGenerator implements IdGenerator {
 
+  private static final Logger log = LoggerFactory.getLogger(DbIdGenerator.class);
+
   protected int idBlockSize;
+  protected boolean prefetchEnabled;
+  protected Executor prefetchExecutor;
+
+  /**
+   * The bounds of the block fetched last by {@link #getNewBlock()}.
+   *
+   * @deprecated ids are no longer handed out from these fields, they only pass the fetched block on to {@link #fetchNewBlock()}
+   */
+  @Deprecated
   protected long nextId;
+  @Deprecated
   protected long lastId = -1;
 
   protected CommandExecutor commandExecutor;
   protected CommandConfig commandConfig;
 
-  public synchronized String getNextId() {
-    if (lastId < nextId) {
-      getNewBlock();
+  protected final AtomicReference<ActiveIdBlock> activeBlock = new AtomicReference<ActiveIdBlock>(new ActiveIdBlock(new IdBlock(0, -1)));
+  protected final AtomicReference<CompletableFuture<IdBlock>> prefetchedBlock = new AtomicReference<CompletableFuture<IdBlock>>();
+  protected final ReentrantLock newBlockLock = new ReentrantLock();
+
+  public String getNextId() {
+    while (true) {
+      ActiveIdBlock block = activeBlock.get();
+      long nextId = block.nextId.getAndIncrement();
+      if (nextId <= block.lastId) {
+        if (prefetchEnabled && nextId == block.prefetchId) {
+          prefetchNewBlock();
+        }
+        return Long.toString(nextId);
+      }
+      activateNewBlock(block);
+    }
+  }
+
+  /**
+   * Replaces the given exhausted block, unless another thread already did so while waiting for the lock.
+   */
+  protected void activateNewBlock(ActiveIdBlock exhaustedBlock) {
+    newBlockLock.lock();
+    try {
+      if (activeBlock.get() == exhaustedBlock) {
+        activeBlock.set(new ActiveIdBlock(takeNewBlock()));
+      }
+    } finally {
+      newBlockLock.unlock();
     }
-    long _nextId = nextId++;
-    return Long.toString(_nextId);
+  }
+
+  protected IdBlock takeNewBlock() {
+    CompletableFuture<IdBlock> prefetched = prefetchedBlock.getAndSet(null);
+    if (prefetched != null) {
+      try {
+        return prefetched.join();
+      } catch (CompletionException e) {
+        log.warn("Prefetching the next id block failed, fetching it again", e.getCause());
+      }
+    }
+    return fetchNewBlock();
+  }
+
+  protected void prefetchNewBlock() {
+    CompletableFuture<IdBlock> prefetched = new CompletableFuture<IdBlock>();
+    if (prefetchedBlock.compareAndSet(null, prefetched)) {
+      Runnable prefetch = () -> {
+        try {
+          prefetched.complete(fetchNewBlock());
+        } catch (Throwable t) {
+          prefetched.completeExceptionally(t);
+        }
+      };
+      try {
+        getOrCreatePrefetchExecutor().execute(prefetch);
+      } catch (RuntimeException e) {
+        // e.g. a rejected execution: the block is fetched when the current one runs out instead
+        prefetched.completeExceptionally(e);
+      }
+    }
+  }
+
+  protected synchronized Executor getOrCreatePrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+          new BasicThreadFactory.Builder().namingPattern("activiti-id-block-prefetch-%d").daemon(true).build());
+      threadPoolExecutor.allowCoreThreadTimeOut(true);
+      prefetchExecutor = threadPoolExecutor;
+    }
+    return prefetchExecutor;
+  }
+
+  protected synchronized IdBlock fetchNewBlock() {
+    getNewBlock();
+    return new IdBlock(nextId, lastId);
   }
 
   protected synchronized void getNewBlock() {
@@ -56,6 +159,26 @@ public class DbIdGenerator implements IdGenerator {
     this.idBlockSize = idBlockSize;
   }
 
+  public boolean isPrefetchEnabled() {
+    return prefetchEnabled;
+  }
+
+  public void setPrefetchEnabled(boolean prefetchEnabled) {
+    this.prefetchEnabled = prefetchEnabled;
+  }
+
+  public synchronized Executor getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  /**
+   * Sets the executor fetching the next id block in the background. It is used for blocking database work,
+   * so it shouldn't be a shared pool like the common fork join pool.
+   */
+  public synchronized void setPrefetchExecutor(Executor prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
   }
@@ -71,4 +194,18 @@ public class DbIdGenerator implements IdGenerator {
   public void setCommandConfig(CommandConfig commandConfig) {
     this.commandConfig = commandConfig;
   }
+
+  protected static class ActiveIdBlock {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    public ActiveIdBlock(IdBlock idBlock) {
+      this.nextId = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.prefetchId = idBlock.getNextId() + (idBlock.getLastId() - idBlock.getNextId()) / 2;
+    }
+
+  }
 }
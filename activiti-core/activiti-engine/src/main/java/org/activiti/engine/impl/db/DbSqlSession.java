@@ -27,6 +27,7 @@ import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -58,15 +59,25 @@ import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
+import org.activiti.engine.impl.history.AsyncHistoryWriter;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.activiti.engine.impl.persistence.entity.Entity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -147,6 +158,7 @@ public class DbSqlSession implements Session {
 
         /* Current */
         ACTIVITI_VERSIONS.add(new ActivitiVersion("8.0.0"));
+        ACTIVITI_VERSIONS.add(new ActivitiVersion("8.1.0"));
         ACTIVITI_VERSIONS.add(new ActivitiVersion(ProcessEngine.VERSION));
     }
 
@@ -165,6 +177,18 @@ public class DbSqlSession implements Session {
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
 
+    /**
+     * Set when statements were executed through a JDBC batch during flush.
+     * Those bypass the regular {@link SqlSession}, which therefore doesn't know it is dirty
+     * and needs to be forced to commit or rollback.
+     */
+    protected boolean batchStatementsFlushed;
+
+    /**
+     * Set to false by the job writing the deferred history, so its rows are not deferred once more.
+     */
+    protected boolean asyncHistoryEnabled = true;
+
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory,
                         EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
@@ -521,14 +545,75 @@ public class DbSqlSession implements Session {
     public void flush() {
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
+        deferHistoricInserts();
 
         if (log.isDebugEnabled()) {
             debugFlush();
         }
 
+        // Counted up front, as the inserted and deleted objects are cleared while they are flushed
+        Map<Class<? extends Entity>, int[]> flushCounts = dbSqlSessionFactory.getProcessEngineMetrics() != null ? countFlushedEntities() : null;
+
         flushInserts();
         flushUpdates();
         flushDeletes();
+
+        if (flushCounts != null) {
+            for (Map.Entry<Class<? extends Entity>, int[]> flushCount : flushCounts.entrySet()) {
+                dbSqlSessionFactory.getProcessEngineMetrics().entitiesFlushed(flushCount.getKey(),
+                                                                              flushCount.getValue()[0],
+                                                                              flushCount.getValue()[1],
+                                                                              flushCount.getValue()[2]);
+            }
+        }
+    }
+
+    /**
+     * Hands the history rows that don't need to be written in this transaction to the {@link AsyncHistoryWriter}.
+     */
+    protected void deferHistoricInserts() {
+        AsyncHistoryWriter asyncHistoryWriter = dbSqlSessionFactory.getAsyncHistoryWriter();
+        if (asyncHistoryWriter == null || !asyncHistoryEnabled) {
+            return;
+        }
+
+        List<Entity> deferredObjects = new ArrayList<Entity>();
+        for (Map<String, Entity> insertedObjectMap : insertedObjects.values()) {
+            Iterator<Entity> insertedObjectIterator = insertedObjectMap.values().iterator();
+            while (insertedObjectIterator.hasNext()) {
+                Entity insertedObject = insertedObjectIterator.next();
+                if (asyncHistoryWriter.isDeferrable(insertedObject)) {
+                    deferredObjects.add(insertedObject);
+                    insertedObjectIterator.remove();
+                }
+            }
+        }
+
+        if (!deferredObjects.isEmpty()) {
+            asyncHistoryWriter.write(Context.getCommandContext(),
+                                     deferredObjects);
+        }
+    }
+
+    /**
+     * Returns the number of inserts, updates and deletes per entity type.
+     */
+    protected Map<Class<? extends Entity>, int[]> countFlushedEntities() {
+        Map<Class<? extends Entity>, int[]> flushCounts = new HashMap<Class<? extends Entity>, int[]>();
+        for (Map.Entry<Class<? extends Entity>, Map<String, Entity>> insertedObjectMap : insertedObjects.entrySet()) {
+            if (!insertedObjectMap.getValue().isEmpty()) {
+                flushCounts.computeIfAbsent(insertedObjectMap.getKey(), entityClass -> new int[3])[0] += insertedObjectMap.getValue().size();
+            }
+        }
+        for (Entity updatedObject : updatedObjects) {
+            flushCounts.computeIfAbsent(updatedObject.getClass(), entityClass -> new int[3])[1]++;
+        }
+        for (Map.Entry<Class<? extends Entity>, Map<String, Entity>> deletedObjectMap : deletedObjects.entrySet()) {
+            if (!deletedObjectMap.getValue().isEmpty()) {
+                flushCounts.computeIfAbsent(deletedObjectMap.getKey(), entityClass -> new int[3])[2] += deletedObjectMap.getValue().size();
+            }
+        }
+        return flushCounts;
     }
 
     /**
@@ -571,6 +656,11 @@ public class DbSqlSession implements Session {
             Map<String, CachedEntity> classCache = cachedObjects.get(clazz);
             for (CachedEntity cachedObject : classCache.values()) {
 
+                // Entities tracking their own changes can be skipped right away when untouched
+                if (cachedObject.isDirtyTracked() && !cachedObject.hasChanged()) {
+                    continue;
+                }
+
                 Entity cachedEntity = cachedObject.getEntity();
 
                 // Executions are stored as a hierarchical tree, and updates are important to execute
@@ -841,6 +931,11 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && updatedObjects.size() > 1) {
+            flushBatchedUpdates();
+            return;
+        }
+
         for (Entity updatedObject : updatedObjects) {
             String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
             updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
@@ -861,10 +956,106 @@ public class DbSqlSession implements Session {
             if (updatedObject instanceof HasRevision) {
                 ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
             }
+            clearDirty(updatedObject);
+        }
+        updatedObjects.clear();
+    }
+
+    /**
+     * Groups the updates per update statement and sends each group as one JDBC batch.
+     * The update count of every row is still verified, so a concurrent modification
+     * results in an {@link ActivitiOptimisticLockingException} just like a regular update.
+     */
+    protected void flushBatchedUpdates() {
+        Map<String, List<Entity>> updatesPerStatement = new LinkedHashMap<String, List<Entity>>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+            if (updateStatement == null) {
+                throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+            }
+
+            if (!updatesPerStatement.containsKey(updateStatement)) {
+                updatesPerStatement.put(updateStatement,
+                                        new ArrayList<Entity>());
+            }
+            updatesPerStatement.get(updateStatement).add(updatedObject);
+        }
+
+        for (Map.Entry<String, List<Entity>> updates : updatesPerStatement.entrySet()) {
+            log.debug("batch updating {} entities with {}",
+                      updates.getValue().size(),
+                      updates.getKey());
+            flushBatch(updates.getKey(),
+                       updates.getValue(),
+                       true);
+
+            // See https://activiti.atlassian.net/browse/ACT-1290
+            for (Entity updatedObject : updates.getValue()) {
+                if (updatedObject instanceof HasRevision) {
+                    ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+                }
+                clearDirty(updatedObject);
+            }
         }
         updatedObjects.clear();
     }
 
+    protected void clearDirty(Entity updatedObject) {
+        if (updatedObject instanceof DirtyTrackingEntity) {
+            ((DirtyTrackingEntity) updatedObject).clearDirty();
+        }
+    }
+
+    /**
+     * Executes the given statement once for every entity as a single JDBC batch,
+     * on the connection of the current {@link SqlSession}.
+     *
+     * @param checkRowCounts if true, an {@link ActivitiOptimisticLockingException} is thrown
+     *                       for the first entity that didn't affect any row.
+     */
+    protected void flushBatch(String statement,
+                              Collection<Entity> entities,
+                              boolean checkRowCounts) {
+        Configuration configuration = sqlSession.getConfiguration();
+        Executor executor = configuration.newExecutor(new BatchFlushTransaction(sqlSession),
+                                                      ExecutorType.BATCH);
+        batchStatementsFlushed = true;
+        try {
+            MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+            for (Entity entity : entities) {
+                executor.update(mappedStatement,
+                                entity);
+            }
+
+            List<BatchResult> batchResults = executor.flushStatements();
+            if (checkRowCounts) {
+                verifyBatchRowCounts(batchResults);
+            }
+        } catch (SQLException e) {
+            throw ExceptionFactory.wrapException("Error flushing batch for statement " + statement + ". Cause: " + e,
+                                                 e);
+        } finally {
+            executor.close(false);
+            sqlSession.clearCache(); // the batch bypassed the session, so its local cache might be stale
+            ErrorContext.instance().reset();
+        }
+    }
+
+    protected void verifyBatchRowCounts(List<BatchResult> batchResults) {
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                // Some drivers only report SUCCESS_NO_INFO for batched statements, nothing can be verified then
+                if (updateCounts[i] == 0) {
+                    throw new ActivitiOptimisticLockingException(parameterObjects.get(i) + " was updated by another transaction concurrently");
+                }
+            }
+        }
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -904,6 +1095,12 @@ public class DbSqlSession implements Session {
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass,
                                        Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && entitiesToDelete.size() > 1) {
+            flushBatchedDeleteEntities(entityClass,
+                                       entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -926,16 +1123,72 @@ public class DbSqlSession implements Session {
         }
     }
 
+    protected void flushBatchedDeleteEntities(Class<? extends Entity> entityClass,
+                                              Collection<Entity> entitiesToDelete) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entityClass);
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new ActivitiException("no delete statement for " + entityClass + " in the ibatis mapping files");
+        }
+
+        log.debug("batch deleting {} entities with {}",
+                  entitiesToDelete.size(),
+                  deleteStatement);
+
+        // It only makes sense to check for optimistic locking exceptions
+        // for objects that actually have a revision
+        flushBatch(deleteStatement,
+                   entitiesToDelete,
+                   HasRevision.class.isAssignableFrom(entityClass));
+    }
+
     public void close() {
         sqlSession.close();
     }
 
     public void commit() {
-        sqlSession.commit();
+        sqlSession.commit(batchStatementsFlushed);
+        batchStatementsFlushed = false;
     }
 
     public void rollback() {
-        sqlSession.rollback();
+        sqlSession.rollback(batchStatementsFlushed);
+        batchStatementsFlushed = false;
+    }
+
+    /**
+     * Lets a batch {@link Executor} run on the connection of the current {@link SqlSession},
+     * leaving commit, rollback and closing of that connection to the session itself.
+     */
+    protected static class BatchFlushTransaction implements Transaction {
+
+        protected SqlSession sqlSession;
+
+        public BatchFlushTransaction(SqlSession sqlSession) {
+            this.sqlSession = sqlSession;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return sqlSession.getConnection();
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Integer getTimeout() {
+            return null;
+        }
     }
 
     // schema operations
@@ -1550,4 +1803,12 @@ public class DbSqlSession implements Session {
     public DbSqlSessionFactory getDbSqlSessionFactory() {
         return dbSqlSessionFactory;
     }
+
+    public boolean isAsyncHistoryEnabled() {
+        return asyncHistoryEnabled;
+    }
+
+    public void setAsyncHistoryEnabled(boolean asyncHistoryEnabled) {
+        this.asyncHistoryEnabled = asyncHistoryEnabled;
+    }
 }
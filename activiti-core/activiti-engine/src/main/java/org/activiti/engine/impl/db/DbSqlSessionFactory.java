@@ -24,9 +24,11 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.history.AsyncHistoryWriter;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.interceptor.SessionFactory;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
 import org.activiti.engine.impl.persistence.entity.Entity;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -70,6 +72,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
+  protected boolean isBatchedFlushEnabled;
+  protected ProcessEngineMetrics processEngineMetrics;
+  protected AsyncHistoryWriter asyncHistoryWriter;
 
   public Class<?> getSessionType() {
     return DbSqlSession.class;
@@ -323,4 +328,28 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
   }
 
+  public boolean isBatchedFlushEnabled() {
+    return isBatchedFlushEnabled;
+  }
+
+  public void setBatchedFlushEnabled(boolean isBatchedFlushEnabled) {
+    this.isBatchedFlushEnabled = isBatchedFlushEnabled;
+  }
+
+  public ProcessEngineMetrics getProcessEngineMetrics() {
+    return processEngineMetrics;
+  }
+
+  public void setProcessEngineMetrics(ProcessEngineMetrics processEngineMetrics) {
+    this.processEngineMetrics = processEngineMetrics;
+  }
+
+  public AsyncHistoryWriter getAsyncHistoryWriter() {
+    return asyncHistoryWriter;
+  }
+
+  public void setAsyncHistoryWriter(AsyncHistoryWriter asyncHistoryWriter) {
+    this.asyncHistoryWriter = asyncHistoryWriter;
+  }
+
 }
@@ -27,9 +27,11 @@ import jakarta.el.ListELResolver;
 import jakarta.el.MapELResolver;
 import jakarta.el.ValueExpression;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.activiti.core.el.ActivitiElContext;
+import org.activiti.core.el.ActivitiFunctionMapper;
 import org.activiti.core.el.CustomFunctionProvider;
 import org.activiti.core.el.ELContextBuilder;
 import org.activiti.core.el.ELResolverReflectionBlockerDecorator;
@@ -49,6 +51,11 @@ import org.activiti.engine.impl.persistence.entity.VariableScopeImpl;
  * <p>
  * Then also this class is used as an entry point for runtime evaluation of the expressions.
  * </p>
+ * <p>
+ * The resolvers that don't depend on a variable scope (custom, beans and base resolvers) and the function mapper are
+ * built once and shared by all the contexts created by this manager: a context for a variable scope only adds a
+ * {@link VariableScopeElResolver} on top of them.
+ * </p>
  */
 public class ExpressionManager {
 
@@ -57,6 +64,10 @@ public class ExpressionManager {
     protected List<CustomFunctionProvider> customFunctionProviders;
     protected List<ELResolver> customELResolvers;
 
+    protected volatile ELResolver sharedElResolver;
+    protected volatile ELResolver baseElResolver;
+    protected volatile ActivitiFunctionMapper functionMapper;
+
     public ExpressionManager() {
         this(null);
     }
@@ -89,6 +100,10 @@ public class ExpressionManager {
             expression);
     }
 
+    public ExpressionFactory getExpressionFactory() {
+        return expressionFactory;
+    }
+
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
     }
@@ -99,6 +114,7 @@ public class ExpressionManager {
 
     public void setCustomFunctionProviders(List<CustomFunctionProvider> customFunctionProviders) {
         this.customFunctionProviders = customFunctionProviders;
+        this.functionMapper = null;
     }
 
     public List<ELResolver> getCustomELResolvers() {
@@ -107,6 +123,7 @@ public class ExpressionManager {
 
     public void setCustomELResolvers(List<ELResolver> customELResolvers) {
         this.customELResolvers = customELResolvers;
+        this.sharedElResolver = null;
     }
 
     public ELContext getElContext(VariableScope variableScope) {
@@ -127,20 +144,61 @@ public class ExpressionManager {
     }
 
     protected ActivitiElContext createElContext(VariableScope variableScope) {
-        return (ActivitiElContext) new ELContextBuilder().withResolvers(createElResolver(variableScope)).buildWithCustomFunctions(customFunctionProviders);
+        return new ActivitiElContext(createElResolver(variableScope), getFunctionMapper());
     }
 
     protected ELResolver createElResolver(VariableScope variableScope) {
         CompositeELResolver elResolver = new CompositeELResolver();
         elResolver.add(new VariableScopeElResolver(variableScope));
+        elResolver.add(getSharedElResolver());
+        return elResolver;
+    }
+
+    /**
+     * Returns the resolvers that are evaluated after the variable scope, built on first use.
+     */
+    protected ELResolver getSharedElResolver() {
+        ELResolver elResolver = sharedElResolver;
+        if (elResolver == null) {
+            elResolver = createSharedElResolver();
+            sharedElResolver = elResolver;
+        }
+        return elResolver;
+    }
+
+    protected ELResolver createSharedElResolver() {
+        CompositeELResolver elResolver = new CompositeELResolver();
         if (customELResolvers != null) {
             customELResolvers.forEach(elResolver::add);
         }
         addBeansResolver(elResolver);
-        addBaseResolvers(elResolver);
+        elResolver.add(getBaseElResolver());
+        return elResolver;
+    }
+
+    protected ELResolver getBaseElResolver() {
+        ELResolver elResolver = baseElResolver;
+        if (elResolver == null) {
+            CompositeELResolver compositeELResolver = new CompositeELResolver();
+            addBaseResolvers(compositeELResolver);
+            elResolver = compositeELResolver;
+            baseElResolver = elResolver;
+        }
         return elResolver;
     }
 
+    /**
+     * Returns the function mapper holding the built-in and custom functions, built on first use.
+     */
+    protected ActivitiFunctionMapper getFunctionMapper() {
+        ActivitiFunctionMapper mapper = functionMapper;
+        if (mapper == null) {
+            mapper = (ActivitiFunctionMapper) new ELContextBuilder().buildWithCustomFunctions(customFunctionProviders).getFunctionMapper();
+            functionMapper = mapper;
+        }
+        return mapper;
+    }
+
     protected void addBeansResolver(CompositeELResolver elResolver) {
         if (beans != null) {
             // ACT-1102: Also expose all beans in configuration when using
@@ -167,11 +225,13 @@ public class ExpressionManager {
 
     public void setBeans(Map<Object, Object> beans) {
         this.beans = beans;
+        this.sharedElResolver = null;
     }
 
     public ELContext getElContext(Map<String, Object> availableVariables) {
         CompositeELResolver elResolver = new CompositeELResolver();
-        addBaseResolvers(elResolver);
-        return new ELContextBuilder().withResolvers(elResolver).withVariables(availableVariables).buildWithCustomFunctions(customFunctionProviders);
+        elResolver.add(new ReadOnlyMapELResolver(availableVariables != null ? new HashMap<>(availableVariables) : Collections.emptyMap()));
+        elResolver.add(getBaseElResolver());
+        return new ActivitiElContext(elResolver, getFunctionMapper());
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.event.logger.handler.EventLoggerEventHandler;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates the event log entries when the command context is closing, as the handlers need the entities in their current state,
+ * but only hands them to the {@link AsyncEventLogWriter} once the transaction has been committed, instead of inserting them in it.
+ *
+ * The transaction listeners are registered with the first event, as the transaction context is no longer available
+ * when the command context is closed. This way entries of a transaction that is managed outside of the engine
+ * (e.g. by Spring) are only written when that transaction commits, and discarded when it rolls back.
+ */
+public class AsyncEventFlusher extends AbstractEventFlusher {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncEventFlusher.class);
+
+  protected AsyncEventLogWriter eventLogWriter;
+
+  protected List<EventLogEntryEntity> eventLogEntries = new ArrayList<EventLogEntryEntity>();
+
+  /** Whether the entries are handed to the writer by a transaction listener, instead of when the command context is closed */
+  protected boolean transactionListenersAdded;
+
+  public AsyncEventFlusher(AsyncEventLogWriter eventLogWriter) {
+    this.eventLogWriter = eventLogWriter;
+  }
+
+  @Override
+  public void addEventHandler(EventLoggerEventHandler eventHandler) {
+    super.addEventHandler(eventHandler);
+    if (!transactionListenersAdded) {
+      addTransactionListeners();
+    }
+  }
+
+  protected void addTransactionListeners() {
+    TransactionContext transactionContext = Context.getTransactionContext();
+    if (transactionContext == null) {
+      return;
+    }
+
+    transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        if (!eventLogEntries.isEmpty()) {
+          eventLogWriter.add(eventLogEntries);
+          eventLogEntries.clear();
+        }
+      }
+    });
+    transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        eventLogEntries.clear();
+      }
+    });
+    transactionListenersAdded = true;
+  }
+
+  @Override
+  public void closing(CommandContext commandContext) {
+
+    if (commandContext.getException() != null) {
+      return; // Not interested in events about exceptions
+    }
+
+    for (EventLoggerEventHandler eventHandler : eventHandlers) {
+      try {
+        eventLogEntries.add(eventHandler.generateEventLogEntry(commandContext));
+      } catch (Exception e) {
+        logger.warn("Could not create event log", e);
+      }
+    }
+  }
+
+  @Override
+  public void closed(CommandContext commandContext) {
+    if (!transactionListenersAdded && !eventLogEntries.isEmpty()) {
+      eventLogWriter.add(eventLogEntries);
+    }
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+    eventLogEntries.clear();
+  }
+
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cmd.InsertEventLogEntriesCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes event log entries to the database from a background thread.
+ *
+ * Committed entries are added to a bounded buffer, from which the writer thread takes them in batches of at most
+ * {@link #getBatchSize()} entries, each of which is inserted in its own transaction (as a multi-row insert when bulk inserts are enabled).
+ * What happens when the buffer is full is decided by the {@link EventLogOverflowPolicy}.
+ *
+ * Entries that are still buffered when the process engine is not shut down cleanly are lost, unless they were spilled to the spill file.
+ * When a spill file is set, a batch that can't be written is spilled to it as well, instead of being lost.
+ *
+ * Spilled entries are replayed from a copy of the spill file (with a <code>.replay</code> suffix) whenever the buffer is empty.
+ * When a batch of them can't be written, the replay stops and resumes after the last written line on the next attempt.
+ * That line is kept in a file with a <code>.position</code> suffix, so a restarted engine doesn't write the entries before it again
+ * (only the last batch can be written twice, when the process stops right after writing it).
+ * Lines that can't be read (for instance one that was only partly written when the process crashed) are skipped and
+ * moved to a file with a <code>.corrupt</code> suffix.
+ */
+public class AsyncEventLogWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncEventLogWriter.class);
+
+  protected CommandExecutor commandExecutor;
+  protected int bufferSize = 10000;
+  protected int batchSize = 100;
+  protected long idleWaitTimeInMillis = 500L;
+  protected long shutdownTimeoutInMillis = 60000L;
+  protected EventLogOverflowPolicy overflowPolicy = EventLogOverflowPolicy.BLOCK;
+  protected File spillFile;
+
+  protected BlockingQueue<BufferedEntry> buffer;
+  protected Thread writerThread;
+  protected volatile boolean active;
+  protected final Object spillLock = new Object();
+  protected ObjectMapper objectMapper = new ObjectMapper();
+
+  protected AtomicLong writtenCount = new AtomicLong();
+  protected AtomicLong droppedCount = new AtomicLong();
+  protected AtomicLong spilledCount = new AtomicLong();
+  protected AtomicLong failedCount = new AtomicLong();
+
+  public synchronized void start() {
+    if (active) {
+      return;
+    }
+    if (commandExecutor == null) {
+      throw new ActivitiException("No command executor set on the event log writer");
+    }
+    if (overflowPolicy == EventLogOverflowPolicy.SPILL_TO_FILE && spillFile == null) {
+      throw new ActivitiException("The spill to file overflow policy needs a spill file");
+    }
+    buffer = new ArrayBlockingQueue<BufferedEntry>(bufferSize);
+    active = true;
+    writerThread = new Thread(this::run, "activiti-event-log-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the writer thread, after it has written the entries that are still buffered or spilled.
+   */
+  public synchronized void shutdown() {
+    if (!active) {
+      return;
+    }
+    active = false;
+    try {
+      writerThread.join(shutdownTimeoutInMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writerThread.isAlive()) {
+      logger.warn("Event log writer did not finish within {} ms, {} entries are not written", shutdownTimeoutInMillis, buffer.size());
+    }
+    writerThread = null;
+  }
+
+  /**
+   * Adds the given (committed) entries to the buffer, applying the overflow policy for every entry that does not fit.
+   */
+  public void add(Collection<EventLogEntryEntity> eventLogEntries) {
+    for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+      BufferedEntry bufferedEntry = new BufferedEntry(eventLogEntry, System.currentTimeMillis());
+      if (!active) {
+        logger.warn("Event log writer is not active, dropping event log entry of type {}", eventLogEntry.getType());
+        droppedCount.incrementAndGet();
+
+      } else if (!buffer.offer(bufferedEntry)) {
+        switch (overflowPolicy) {
+          case BLOCK:
+            putBlocking(bufferedEntry);
+            break;
+          case DROP_OLDEST:
+            while (!buffer.offer(bufferedEntry)) {
+              if (buffer.poll() != null) {
+                droppedCount.incrementAndGet();
+              }
+            }
+            break;
+          case SPILL_TO_FILE:
+            spill(eventLogEntry);
+            break;
+        }
+      }
+    }
+  }
+
+  protected void putBlocking(BufferedEntry bufferedEntry) {
+    try {
+      buffer.put(bufferedEntry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while waiting for room in the event log buffer, dropping event log entry of type {}", bufferedEntry.eventLogEntry.getType());
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  protected void run() {
+    List<EventLogEntryEntity> batch = new ArrayList<EventLogEntryEntity>(batchSize);
+    while (active || !buffer.isEmpty()) {
+      BufferedEntry first;
+      try {
+        first = buffer.poll(idleWaitTimeInMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        first = buffer.poll();
+      }
+
+      if (first == null) {
+        writeSpilledEntries();
+        continue;
+      }
+
+      batch.add(first.eventLogEntry);
+      List<BufferedEntry> others = new ArrayList<BufferedEntry>(batchSize - 1);
+      buffer.drainTo(others, batchSize - 1);
+      for (BufferedEntry other : others) {
+        batch.add(other.eventLogEntry);
+      }
+      if (!write(batch) && spillFile != null) {
+        for (EventLogEntryEntity eventLogEntry : batch) {
+          spill(eventLogEntry);
+        }
+      }
+      batch.clear();
+    }
+    writeSpilledEntries();
+  }
+
+  /**
+   * @return whether the batch was written
+   */
+  protected boolean write(List<EventLogEntryEntity> batch) {
+    try {
+      commandExecutor.execute(new InsertEventLogEntriesCmd(new ArrayList<EventLogEntryEntity>(batch)));
+      writtenCount.addAndGet(batch.size());
+      return true;
+    } catch (Exception e) {
+      logger.warn("Could not write " + batch.size() + " event log entries", e);
+      failedCount.addAndGet(batch.size());
+      return false;
+    }
+  }
+
+  // spilling //////////////////////////////////////////////////////////////
+
+  protected void spill(EventLogEntryEntity eventLogEntry) {
+    ObjectNode json = objectMapper.createObjectNode();
+    json.put("type", eventLogEntry.getType());
+    json.put("processDefinitionId", eventLogEntry.getProcessDefinitionId());
+    json.put("processInstanceId", eventLogEntry.getProcessInstanceId());
+    json.put("executionId", eventLogEntry.getExecutionId());
+    json.put("taskId", eventLogEntry.getTaskId());
+    if (eventLogEntry.getTimeStamp() != null) {
+      json.put("timeStamp", eventLogEntry.getTimeStamp().getTime());
+    }
+    json.put("userId", eventLogEntry.getUserId());
+    json.put("data", eventLogEntry.getData());
+
+    synchronized (spillLock) {
+      try (BufferedWriter writer = Files.newBufferedWriter(spillFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        writer.write(objectMapper.writeValueAsString(json));
+        writer.newLine();
+        spilledCount.incrementAndGet();
+      } catch (IOException e) {
+        logger.warn("Could not spill event log entry of type " + eventLogEntry.getType() + " to " + spillFile, e);
+        droppedCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Moves the spill file aside, so new entries can be spilled meanwhile, and writes its entries in batches.
+   * The replay file is only deleted once all its entries are written; when a batch fails, the next call continues with that batch,
+   * from the position that was stored after the last written batch.
+   */
+  protected void writeSpilledEntries() {
+    if (spillFile == null) {
+      return;
+    }
+    File replayFile = new File(spillFile.getPath() + ".replay");
+    File positionFile = new File(spillFile.getPath() + ".position");
+    synchronized (spillLock) {
+      if (!replayFile.exists()) {
+        if (!spillFile.exists()) {
+          return;
+        }
+        try {
+          Files.deleteIfExists(positionFile.toPath());
+          Files.move(spillFile.toPath(), replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+          logger.warn("Could not move spill file " + spillFile, e);
+          return;
+        }
+      }
+    }
+
+    List<EventLogEntryEntity> batch = new ArrayList<EventLogEntryEntity>(batchSize);
+    try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+      long replayedLineCount = readReplayPosition(positionFile);
+      long lineCount = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineCount++;
+        if (lineCount <= replayedLineCount) {
+          continue;
+        }
+        EventLogEntryEntity eventLogEntry = !line.isEmpty() ? readSpilledEntry(line, replayFile, lineCount) : null;
+        if (eventLogEntry != null) {
+          batch.add(eventLogEntry);
+          if (batch.size() == batchSize) {
+            if (!write(batch)) {
+              return;
+            }
+            batch.clear();
+            writeReplayPosition(positionFile, lineCount);
+          }
+        } else if (batch.isEmpty()) {
+          // so that a quarantined line isn't moved to the corrupt file again
+          writeReplayPosition(positionFile, lineCount);
+        }
+      }
+      if (!batch.isEmpty() && !write(batch)) {
+        return;
+      }
+      Files.delete(replayFile.toPath());
+      Files.deleteIfExists(positionFile.toPath());
+
+    } catch (IOException e) {
+      logger.warn("Could not read spilled event log entries from " + replayFile, e);
+    }
+  }
+
+  /**
+   * @return the number of lines of the replay file that have been written (or skipped) already
+   */
+  protected long readReplayPosition(File positionFile) throws IOException {
+    if (!positionFile.exists()) {
+      return 0L;
+    }
+    String position = new String(Files.readAllBytes(positionFile.toPath()), StandardCharsets.UTF_8).trim();
+    try {
+      return Long.parseLong(position);
+    } catch (NumberFormatException e) {
+      logger.warn("Ignoring invalid replay position '" + position + "' in " + positionFile + ", replaying from the start");
+      return 0L;
+    }
+  }
+
+  /**
+   * Replaces the position file through a temporary file, so it never holds a partly written position.
+   */
+  protected void writeReplayPosition(File positionFile, long replayedLineCount) throws IOException {
+    File tempFile = new File(positionFile.getPath() + ".tmp");
+    Files.write(tempFile.toPath(), Long.toString(replayedLineCount).getBytes(StandardCharsets.UTF_8));
+    Files.move(tempFile.toPath(), positionFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * @return the entry of the given line, or null when the line can't be read, in which case it's moved to the corrupt file
+   */
+  protected EventLogEntryEntity readSpilledEntry(String line, File replayFile, long lineNumber) {
+    try {
+      return readSpilledEntry(line);
+    } catch (IOException e) {
+      logger.warn("Skipping unreadable event log entry at line " + lineNumber + " of " + replayFile, e);
+      quarantine(line);
+      return null;
+    }
+  }
+
+  protected void quarantine(String line) {
+    File corruptFile = new File(spillFile.getPath() + ".corrupt");
+    try (BufferedWriter writer = Files.newBufferedWriter(corruptFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      writer.write(line);
+      writer.newLine();
+    } catch (IOException e) {
+      logger.warn("Could not move unreadable event log entry to " + corruptFile, e);
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  protected EventLogEntryEntity readSpilledEntry(String line) throws IOException {
+    JsonNode json = objectMapper.readTree(line);
+    if (json == null || !json.isObject()) {
+      throw new IOException("Not a spilled event log entry: " + line);
+    }
+    EventLogEntryEntity eventLogEntry = new EventLogEntryEntityImpl();
+    eventLogEntry.setType(json.path("type").textValue());
+    eventLogEntry.setProcessDefinitionId(json.path("processDefinitionId").textValue());
+    eventLogEntry.setProcessInstanceId(json.path("processInstanceId").textValue());
+    eventLogEntry.setExecutionId(json.path("executionId").textValue());
+    eventLogEntry.setTaskId(json.path("taskId").textValue());
+    if (json.hasNonNull("timeStamp")) {
+      eventLogEntry.setTimeStamp(new Date(json.get("timeStamp").longValue()));
+    }
+    eventLogEntry.setUserId(json.path("userId").textValue());
+    if (json.hasNonNull("data")) {
+      eventLogEntry.setData(json.get("data").binaryValue());
+    }
+    return eventLogEntry;
+  }
+
+  // metrics ///////////////////////////////////////////////////////////////
+
+  /**
+   * The number of entries waiting in the buffer.
+   */
+  public int getBufferedCount() {
+    return buffer != null ? buffer.size() : 0;
+  }
+
+  /**
+   * How long (in milliseconds) the oldest buffered entry has been waiting to be written, 0 when the buffer is empty.
+   */
+  public long getLagInMillis() {
+    BufferedEntry oldest = buffer != null ? buffer.peek() : null;
+    return oldest != null ? Math.max(0L, System.currentTimeMillis() - oldest.bufferedAt) : 0L;
+  }
+
+  public long getWrittenCount() {
+    return writtenCount.get();
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  public long getSpilledCount() {
+    return spilledCount.get();
+  }
+
+  public long getFailedCount() {
+    return failedCount.get();
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  // getters and setters ///////////////////////////////////////////////////
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public AsyncEventLogWriter setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+    return this;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public AsyncEventLogWriter setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+    return this;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public AsyncEventLogWriter setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public long getIdleWaitTimeInMillis() {
+    return idleWaitTimeInMillis;
+  }
+
+  public AsyncEventLogWriter setIdleWaitTimeInMillis(long idleWaitTimeInMillis) {
+    this.idleWaitTimeInMillis = idleWaitTimeInMillis;
+    return this;
+  }
+
+  public long getShutdownTimeoutInMillis() {
+    return shutdownTimeoutInMillis;
+  }
+
+  public AsyncEventLogWriter setShutdownTimeoutInMillis(long shutdownTimeoutInMillis) {
+    this.shutdownTimeoutInMillis = shutdownTimeoutInMillis;
+    return this;
+  }
+
+  public EventLogOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public AsyncEventLogWriter setOverflowPolicy(EventLogOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+    return this;
+  }
+
+  public File getSpillFile() {
+    return spillFile;
+  }
+
+  public AsyncEventLogWriter setSpillFile(File spillFile) {
+    this.spillFile = spillFile;
+    return this;
+  }
+
+  protected static class BufferedEntry {
+
+    protected final EventLogEntryEntity eventLogEntry;
+    protected final long bufferedAt;
+
+    protected BufferedEntry(EventLogEntryEntity eventLogEntry, long bufferedAt) {
+      this.eventLogEntry = eventLogEntry;
+      this.bufferedAt = bufferedAt;
+    }
+
+  }
+
+}
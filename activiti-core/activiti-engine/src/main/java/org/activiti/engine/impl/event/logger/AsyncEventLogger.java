@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+import org.activiti.engine.runtime.Clock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Event logger that writes the event log entries with an {@link AsyncEventLogWriter}, after the transaction that produced them has been committed.
+ *
+ * Note that the {@link EventLoggerListener}s are notified when the entries have been handed to the writer, which can be before they are in the database.
+ */
+public class AsyncEventLogger extends EventLogger {
+
+  protected AsyncEventLogWriter eventLogWriter;
+
+  public AsyncEventLogger(Clock clock, ObjectMapper objectMapper, AsyncEventLogWriter eventLogWriter) {
+    super(clock, objectMapper);
+    this.eventLogWriter = eventLogWriter;
+  }
+
+  @Override
+  protected EventFlusher createEventFlusher() {
+    return new AsyncEventFlusher(eventLogWriter);
+  }
+
+  public AsyncEventLogWriter getEventLogWriter() {
+    return eventLogWriter;
+  }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+/**
+ * What the {@link AsyncEventLogWriter} does with a new event log entry when its buffer is full.
+ */
+public enum EventLogOverflowPolicy {
+
+  /**
+   * The committing thread waits until the writer has made room in the buffer.
+   */
+  BLOCK,
+
+  /**
+   * The oldest buffered entry is discarded to make room for the new one.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The new entry is appended to the spill file of the writer, which is written to the database once the buffer has been drained.
+   */
+  SPILL_TO_FILE
+
+}
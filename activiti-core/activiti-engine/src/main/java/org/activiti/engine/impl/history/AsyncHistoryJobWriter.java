@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Defers finished activity instances (recorded from the activity history level on) and variable updates (recorded at the
+ * full history level) into one async job per flush, which is executed by {@link AsyncHistoryJobHandler}.
+ *
+ * Both kinds of rows are immutable once they are flushed, so the order in which the jobs of a process instance are
+ * executed doesn't change the history they leave behind.
+ */
+public class AsyncHistoryJobWriter implements AsyncHistoryWriter {
+
+  /**
+   * The smallest size of the job handler configuration column over all databases (Oracle). Larger payloads are
+   * stored in a byte array.
+   */
+  protected static final int MAX_JOB_HANDLER_CONFIGURATION_LENGTH = 2000;
+
+  public boolean isDeferrable(Entity entity) {
+    if (entity.getClass() == HistoricActivityInstanceEntityImpl.class) {
+      // open activity instances are looked up and ended by later commands
+      return ((HistoricActivityInstanceEntity) entity).getEndTime() != null;
+    }
+    return entity.getClass() == HistoricDetailVariableInstanceUpdateEntityImpl.class;
+  }
+
+  public void write(CommandContext commandContext, List<Entity> entities) {
+    String configuration = AsyncHistoryJobHandler.createJobHandlerConfiguration(entities,
+        commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+    if (configuration.length() > MAX_JOB_HANDLER_CONFIGURATION_LENGTH) {
+      ByteArrayEntity byteArray = commandContext.getByteArrayEntityManager().create();
+      byteArray.setName(AsyncHistoryJobHandler.TYPE);
+      byteArray.setBytes(configuration.getBytes(StandardCharsets.UTF_8));
+      commandContext.getByteArrayEntityManager().insert(byteArray);
+      configuration = AsyncHistoryJobHandler.createJobHandlerConfiguration(byteArray.getId());
+    }
+
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRetries(commandContext.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    // not bound to the process instance: the history must be written, also when the process instance is gone by then
+    job.setExclusive(false);
+    job.setJobHandlerType(AsyncHistoryJobHandler.TYPE);
+    job.setJobHandlerConfiguration(configuration);
+    String tenantId = findTenantId(commandContext, entities);
+    if (tenantId != null) {
+      job.setTenantId(tenantId);
+    }
+    commandContext.getJobManager().scheduleAsyncJob(job);
+  }
+
+  protected String findTenantId(CommandContext commandContext, List<Entity> entities) {
+    for (Entity entity : entities) {
+      if (entity instanceof HistoricActivityInstanceEntity) {
+        String tenantId = ((HistoricActivityInstanceEntity) entity).getTenantId();
+        if (tenantId != null && !tenantId.isEmpty()) {
+          return tenantId;
+        }
+      }
+    }
+
+    // variable updates don't store a tenant, their execution has it (normally from the entity cache)
+    for (Entity entity : entities) {
+      if (entity instanceof HistoricDetailVariableInstanceUpdateEntity) {
+        String executionId = ((HistoricDetailVariableInstanceUpdateEntity) entity).getExecutionId();
+        ExecutionEntity execution = executionId != null ? commandContext.getExecutionEntityManager().findById(executionId) : null;
+        if (execution != null && execution.getTenantId() != null && !execution.getTenantId().isEmpty()) {
+          return execution.getTenantId();
+        }
+      }
+    }
+    return null;
+  }
+
+}
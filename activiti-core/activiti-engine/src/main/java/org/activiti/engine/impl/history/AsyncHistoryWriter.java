@@ -0,0 +1,48 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Takes history rows out of the flush of a command and writes them to the history tables later, when set with
+ * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setAsyncHistoryWriter(AsyncHistoryWriter)}
+ * and asynchronous history is enabled.
+ *
+ * Only rows that are inserted and never changed afterwards can be deferred: the history of the runtime is still
+ * read back and updated by later commands, so open activity, task, process and variable instances are always
+ * written in the transaction of the command.
+ */
+@Internal
+public interface AsyncHistoryWriter {
+
+  /**
+   * @return true if the inserted entity doesn't need to be written in the transaction of the command.
+   */
+  boolean isDeferrable(Entity entity);
+
+  /**
+   * Called during the flush of a command, before its inserts are executed, with the deferrable entities that were
+   * removed from the flush. Entities inserted here are flushed in the transaction of the command.
+   */
+  void write(CommandContext commandContext, List<Entity> entities);
+
+}
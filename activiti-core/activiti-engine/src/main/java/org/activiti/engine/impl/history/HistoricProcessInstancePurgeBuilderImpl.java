@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstancePurgeBuilder;
+import org.activiti.engine.impl.HistoryServiceImpl;
+
+/**
+ * Holds the criteria of a purge. Also used as the parameter of the statements selecting the process instances to purge.
+ */
+public class HistoricProcessInstancePurgeBuilderImpl implements HistoricProcessInstancePurgeBuilder {
+
+  protected HistoryServiceImpl historyService;
+
+  protected Date finishedBefore;
+  protected Date finishedAfter;
+  protected String retentionPeriod;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String tenantId;
+  protected Integer batchSize;
+
+  /**
+   * Creates criteria that can't be executed themselves, as used by the purge jobs.
+   */
+  public HistoricProcessInstancePurgeBuilderImpl() {
+  }
+
+  public HistoricProcessInstancePurgeBuilderImpl(HistoryServiceImpl historyService) {
+    this.historyService = historyService;
+  }
+
+  public HistoricProcessInstancePurgeBuilder finishedBefore(Date finishedBefore) {
+    this.finishedBefore = finishedBefore;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder finishedAfter(Date finishedAfter) {
+    this.finishedAfter = finishedAfter;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder retentionPeriod(String retentionPeriod) {
+    if (retentionPeriod != null) {
+      parseRetentionPeriod(retentionPeriod);
+    }
+    this.retentionPeriod = retentionPeriod;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder processDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder processDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder tenantId(String tenantId) {
+    this.tenantId = tenantId;
+    return this;
+  }
+
+  public HistoricProcessInstancePurgeBuilder batchSize(int batchSize) {
+    if (batchSize <= 0) {
+      throw new ActivitiIllegalArgumentException("batchSize must be positive");
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public long purge() {
+    return historyService.purgeHistoricProcessInstances(this);
+  }
+
+  public String schedule(String cycle) {
+    return historyService.schedulePurgeHistoricProcessInstances(this, cycle);
+  }
+
+  /**
+   * Returns the criteria of a purge running at the given time, where the retention period, if any, has become the finished before date.
+   */
+  public HistoricProcessInstancePurgeBuilderImpl resolveRetentionPeriod(Date currentTime) {
+    if (retentionPeriod == null) {
+      return this;
+    }
+
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(currentTime);
+    parseRetentionPeriod(retentionPeriod).negate().addTo(calendar);
+
+    HistoricProcessInstancePurgeBuilderImpl resolved = new HistoricProcessInstancePurgeBuilderImpl(historyService);
+    resolved.finishedBefore = finishedBefore != null && finishedBefore.before(calendar.getTime()) ? finishedBefore : calendar.getTime();
+    resolved.finishedAfter = finishedAfter;
+    resolved.processDefinitionId = processDefinitionId;
+    resolved.processDefinitionKey = processDefinitionKey;
+    resolved.tenantId = tenantId;
+    resolved.batchSize = batchSize;
+    return resolved;
+  }
+
+  protected Duration parseRetentionPeriod(String retentionPeriod) {
+    try {
+      return DatatypeFactory.newInstance().newDuration(retentionPeriod);
+    } catch (DatatypeConfigurationException | IllegalArgumentException e) {
+      throw new ActivitiIllegalArgumentException("retentionPeriod is not a valid ISO 8601 duration: " + retentionPeriod, e);
+    }
+  }
+
+  public Date getFinishedBefore() {
+    return finishedBefore;
+  }
+
+  public Date getFinishedAfter() {
+    return finishedAfter;
+  }
+
+  public String getRetentionPeriod() {
+    return retentionPeriod;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.interceptor;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
+
+/**
+ * Times every command and reports it to the {@link ProcessEngineMetrics}.
+ *
+ * Placed before the transaction and command context interceptors, so the flush and the commit are part of the measured time.
+ */
+public class MetricsCommandInterceptor extends AbstractCommandInterceptor {
+
+  protected ProcessEngineMetrics processEngineMetrics;
+
+  public MetricsCommandInterceptor(ProcessEngineMetrics processEngineMetrics) {
+    this.processEngineMetrics = processEngineMetrics;
+  }
+
+  public <T> T execute(CommandConfig config, Command<T> command) {
+    long start = System.nanoTime();
+    boolean successful = false;
+    try {
+      T result = next.execute(config, command);
+      successful = true;
+      return result;
+
+    } catch (ActivitiOptimisticLockingException e) {
+      processEngineMetrics.optimisticLockingFailure(command.getClass());
+      throw e;
+
+    } finally {
+      processEngineMetrics.commandExecuted(command.getClass(), System.nanoTime() - start, successful);
+    }
+  }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.util.json.JSONArray;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the history rows deferred by {@link org.activiti.engine.impl.history.AsyncHistoryJobWriter} to the history
+ * tables. Rows of process instances whose history has been deleted in the meantime are dropped.
+ *
+ * A job that runs out of retries is logged as an error and reported with {@link ProcessEngineMetrics#asyncHistoryFailed(int)},
+ * as its rows are missing from the history tables until the dead letter job is executed again.
+ */
+public class AsyncHistoryJobHandler implements JobHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncHistoryJobHandler.class);
+
+  public final static String TYPE = "async-history";
+
+  private static final String JOB_HANDLER_CFG_TIME = "time";
+  private static final String JOB_HANDLER_CFG_ROWS = "rows";
+  private static final String JOB_HANDLER_CFG_BYTE_ARRAY_ID = "byteArrayId";
+
+  private static final String ROW_TYPE = "t";
+  private static final String ROW_TYPE_ACTIVITY_INSTANCE = "a";
+  private static final String ROW_TYPE_VARIABLE_UPDATE = "v";
+
+  private static final String ROW_ID = "id";
+  private static final String ROW_PROCESS_INSTANCE_ID = "pi";
+  private static final String ROW_PROCESS_DEFINITION_ID = "pd";
+  private static final String ROW_EXECUTION_ID = "ex";
+  private static final String ROW_ACTIVITY_ID = "ac";
+  private static final String ROW_ACTIVITY_NAME = "an";
+  private static final String ROW_ACTIVITY_TYPE = "at";
+  private static final String ROW_ACTIVITY_INSTANCE_ID = "ai";
+  private static final String ROW_ASSIGNEE = "as";
+  private static final String ROW_TASK_ID = "tk";
+  private static final String ROW_CALLED_PROCESS_INSTANCE_ID = "cp";
+  private static final String ROW_TENANT_ID = "tn";
+  private static final String ROW_START_TIME = "st";
+  private static final String ROW_END_TIME = "et";
+  private static final String ROW_DURATION = "du";
+  private static final String ROW_DELETE_REASON = "dr";
+  private static final String ROW_TIME = "tm";
+  private static final String ROW_REVISION = "rv";
+  private static final String ROW_NAME = "nm";
+  private static final String ROW_VARIABLE_TYPE = "vt";
+  private static final String ROW_LONG_VALUE = "lv";
+  private static final String ROW_DOUBLE_VALUE = "dv";
+  private static final String ROW_TEXT_VALUE = "tv";
+  private static final String ROW_TEXT_VALUE2 = "t2";
+  private static final String ROW_BYTE_ARRAY_ID = "ba";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public static String createJobHandlerConfiguration(List<Entity> entities, Date time) {
+    JSONArray rows = new JSONArray();
+    for (Entity entity : entities) {
+      if (entity instanceof HistoricActivityInstanceEntityImpl) {
+        rows.put(toRow((HistoricActivityInstanceEntityImpl) entity));
+      } else if (entity instanceof HistoricDetailVariableInstanceUpdateEntityImpl) {
+        rows.put(toRow((HistoricDetailVariableInstanceUpdateEntityImpl) entity));
+      } else {
+        throw new ActivitiIllegalArgumentException("Entity type not supported by the asynchronous history: " + entity.getClass().getName());
+      }
+    }
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_TIME, time.getTime());
+    json.put(JOB_HANDLER_CFG_ROWS, rows);
+    return json.toString();
+  }
+
+  public static String createJobHandlerConfiguration(String byteArrayId) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_BYTE_ARRAY_ID, byteArrayId);
+    return json.toString();
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    // the rows are written in this transaction, instead of being deferred again
+    commandContext.getDbSqlSession().setAsyncHistoryEnabled(false);
+
+    JSONObject json = new JSONObject(configuration);
+    if (json.has(JOB_HANDLER_CFG_BYTE_ARRAY_ID)) {
+      ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+      ByteArrayEntity byteArray = byteArrayEntityManager.findById(json.getString(JOB_HANDLER_CFG_BYTE_ARRAY_ID));
+      json = new JSONObject(new String(byteArray.getBytes(), StandardCharsets.UTF_8));
+      byteArrayEntityManager.delete(byteArray);
+    }
+
+    Map<String, Boolean> historicProcessInstanceExists = new HashMap<String, Boolean>();
+    JSONArray rows = json.getJSONArray(JOB_HANDLER_CFG_ROWS);
+    int applied = 0;
+    for (int i = 0; i < rows.length(); i++) {
+      JSONObject row = rows.getJSONObject(i);
+      String processInstanceId = getString(row, ROW_PROCESS_INSTANCE_ID);
+      boolean exists = processInstanceId == null || historicProcessInstanceExists.computeIfAbsent(processInstanceId,
+          id -> commandContext.getHistoricProcessInstanceEntityManager().findById(id) != null);
+
+      if (ROW_TYPE_ACTIVITY_INSTANCE.equals(row.getString(ROW_TYPE))) {
+        if (exists) {
+          commandContext.getHistoricActivityInstanceEntityManager().insert(toHistoricActivityInstance(row), false);
+          applied++;
+        }
+      } else {
+        if (exists) {
+          commandContext.getHistoricDetailEntityManager().insert(toHistoricDetailVariableUpdate(row, commandContext), false);
+          applied++;
+        } else if (row.has(ROW_BYTE_ARRAY_ID)) {
+          commandContext.getByteArrayEntityManager().deleteByteArrayById(row.getString(ROW_BYTE_ARRAY_ID));
+        }
+      }
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    ProcessEngineMetrics metrics = processEngineConfiguration.getProcessEngineMetrics();
+    if (metrics != null) {
+      long lag = processEngineConfiguration.getClock().getCurrentTime().getTime() - json.getLong(JOB_HANDLER_CFG_TIME);
+      metrics.asyncHistoryApplied(applied, lag);
+    }
+  }
+
+  /**
+   * Called when a job of this type is moved to the dead letter jobs.
+   */
+  public static void deadLettered(Job deadLetterJob, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    int numberOfRows = countRows(deadLetterJob.getJobHandlerConfiguration(), processEngineConfiguration);
+    log.error("Asynchronous history job {} ran out of retries: its {} history rows are missing from the history tables until the dead letter job is executed again",
+        deadLetterJob.getId(), numberOfRows);
+
+    ProcessEngineMetrics metrics = processEngineConfiguration.getProcessEngineMetrics();
+    if (metrics != null) {
+      metrics.asyncHistoryFailed(numberOfRows);
+    }
+  }
+
+  protected static int countRows(String configuration, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    JSONObject json = new JSONObject(configuration);
+    if (json.has(JOB_HANDLER_CFG_BYTE_ARRAY_ID)) {
+      ByteArrayEntity byteArray = processEngineConfiguration.getByteArrayEntityManager().findById(json.getString(JOB_HANDLER_CFG_BYTE_ARRAY_ID));
+      if (byteArray == null) {
+        return 0;
+      }
+      json = new JSONObject(new String(byteArray.getBytes(), StandardCharsets.UTF_8));
+    }
+    return json.getJSONArray(JOB_HANDLER_CFG_ROWS).length();
+  }
+
+  protected static JSONObject toRow(HistoricActivityInstanceEntityImpl activityInstance) {
+    JSONObject row = new JSONObject();
+    row.put(ROW_TYPE, ROW_TYPE_ACTIVITY_INSTANCE);
+    row.put(ROW_ID, activityInstance.getId());
+    row.put(ROW_PROCESS_INSTANCE_ID, activityInstance.getProcessInstanceId());
+    row.put(ROW_PROCESS_DEFINITION_ID, activityInstance.getProcessDefinitionId());
+    row.put(ROW_EXECUTION_ID, activityInstance.getExecutionId());
+    row.put(ROW_ACTIVITY_ID, activityInstance.getActivityId());
+    row.put(ROW_ACTIVITY_NAME, activityInstance.getActivityName());
+    row.put(ROW_ACTIVITY_TYPE, activityInstance.getActivityType());
+    row.put(ROW_ASSIGNEE, activityInstance.getAssignee());
+    row.put(ROW_TASK_ID, activityInstance.getTaskId());
+    row.put(ROW_CALLED_PROCESS_INSTANCE_ID, activityInstance.getCalledProcessInstanceId());
+    row.put(ROW_TENANT_ID, activityInstance.getTenantId());
+    row.put(ROW_START_TIME, toMillis(activityInstance.getStartTime()));
+    row.put(ROW_END_TIME, toMillis(activityInstance.getEndTime()));
+    row.put(ROW_DURATION, activityInstance.getDurationInMillis());
+    row.put(ROW_DELETE_REASON, activityInstance.getDeleteReason());
+    return row;
+  }
+
+  protected static JSONObject toRow(HistoricDetailVariableInstanceUpdateEntityImpl variableUpdate) {
+    JSONObject row = new JSONObject();
+    row.put(ROW_TYPE, ROW_TYPE_VARIABLE_UPDATE);
+    row.put(ROW_ID, variableUpdate.getId());
+    row.put(ROW_PROCESS_INSTANCE_ID, variableUpdate.getProcessInstanceId());
+    row.put(ROW_EXECUTION_ID, variableUpdate.getExecutionId());
+    row.put(ROW_ACTIVITY_INSTANCE_ID, variableUpdate.getActivityInstanceId());
+    row.put(ROW_TASK_ID, variableUpdate.getTaskId());
+    row.put(ROW_TIME, toMillis(variableUpdate.getTime()));
+    row.put(ROW_REVISION, variableUpdate.getRevision());
+    row.put(ROW_NAME, variableUpdate.getName());
+    row.put(ROW_VARIABLE_TYPE, variableUpdate.getVariableTypeName());
+    row.put(ROW_LONG_VALUE, variableUpdate.getLongValue());
+    row.put(ROW_DOUBLE_VALUE, variableUpdate.getDoubleValue());
+    row.put(ROW_TEXT_VALUE, variableUpdate.getTextValue());
+    row.put(ROW_TEXT_VALUE2, variableUpdate.getTextValue2());
+    row.put(ROW_BYTE_ARRAY_ID, variableUpdate.getByteArrayRef() != null ? variableUpdate.getByteArrayRef().getId() : null);
+    return row;
+  }
+
+  protected HistoricActivityInstanceEntityImpl toHistoricActivityInstance(JSONObject row) {
+    HistoricActivityInstanceEntityImpl activityInstance = new HistoricActivityInstanceEntityImpl();
+    activityInstance.setId(row.getString(ROW_ID));
+    activityInstance.setProcessInstanceId(getString(row, ROW_PROCESS_INSTANCE_ID));
+    activityInstance.setProcessDefinitionId(getString(row, ROW_PROCESS_DEFINITION_ID));
+    activityInstance.setExecutionId(getString(row, ROW_EXECUTION_ID));
+    activityInstance.setActivityId(getString(row, ROW_ACTIVITY_ID));
+    activityInstance.setActivityName(getString(row, ROW_ACTIVITY_NAME));
+    activityInstance.setActivityType(getString(row, ROW_ACTIVITY_TYPE));
+    activityInstance.setAssignee(getString(row, ROW_ASSIGNEE));
+    activityInstance.setTaskId(getString(row, ROW_TASK_ID));
+    activityInstance.setCalledProcessInstanceId(getString(row, ROW_CALLED_PROCESS_INSTANCE_ID));
+    activityInstance.setTenantId(getString(row, ROW_TENANT_ID));
+    activityInstance.setStartTime(getDate(row, ROW_START_TIME));
+    activityInstance.setEndTime(getDate(row, ROW_END_TIME));
+    activityInstance.setDurationInMillis(row.has(ROW_DURATION) ? row.getLong(ROW_DURATION) : null);
+    activityInstance.setDeleteReason(getString(row, ROW_DELETE_REASON));
+    return activityInstance;
+  }
+
+  protected HistoricDetailVariableInstanceUpdateEntityImpl toHistoricDetailVariableUpdate(JSONObject row, CommandContext commandContext) {
+    HistoricDetailVariableInstanceUpdateEntityImpl variableUpdate = new HistoricDetailVariableInstanceUpdateEntityImpl();
+    variableUpdate.setId(row.getString(ROW_ID));
+    variableUpdate.setProcessInstanceId(getString(row, ROW_PROCESS_INSTANCE_ID));
+    variableUpdate.setExecutionId(getString(row, ROW_EXECUTION_ID));
+    variableUpdate.setActivityInstanceId(getString(row, ROW_ACTIVITY_INSTANCE_ID));
+    variableUpdate.setTaskId(getString(row, ROW_TASK_ID));
+    variableUpdate.setTime(getDate(row, ROW_TIME));
+    variableUpdate.setRevision(row.getInt(ROW_REVISION));
+    variableUpdate.setName(getString(row, ROW_NAME));
+    if (row.has(ROW_VARIABLE_TYPE)) {
+      variableUpdate.setVariableType(commandContext.getProcessEngineConfiguration().getVariableTypes().getVariableType(row.getString(ROW_VARIABLE_TYPE)));
+    }
+    variableUpdate.setLongValue(row.has(ROW_LONG_VALUE) ? row.getLong(ROW_LONG_VALUE) : null);
+    variableUpdate.setDoubleValue(row.has(ROW_DOUBLE_VALUE) ? row.getDouble(ROW_DOUBLE_VALUE) : null);
+    variableUpdate.setTextValue(getString(row, ROW_TEXT_VALUE));
+    variableUpdate.setTextValue2(getString(row, ROW_TEXT_VALUE2));
+    if (row.has(ROW_BYTE_ARRAY_ID)) {
+      variableUpdate.setByteArrayRef(new ByteArrayRef(row.getString(ROW_BYTE_ARRAY_ID)));
+    }
+    return variableUpdate;
+  }
+
+  protected static Long toMillis(Date date) {
+    return date != null ? date.getTime() : null;
+  }
+
+  protected static Date getDate(JSONObject row, String key) {
+    return row.has(key) ? new Date(row.getLong(key)) : null;
+  }
+
+  protected static String getString(JSONObject row, String key) {
+    return row.optString(key, null);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+
+import org.activiti.engine.impl.cmd.PurgeHistoricProcessInstancesCmd;
+import org.activiti.engine.impl.cmd.SchedulePurgeHistoricProcessInstancesCmd;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * Purges one batch of finished process instances matching the criteria in the job configuration, and schedules
+ * the async job of the next batch in the same transaction when the batch was full.
+ *
+ * The first batch is purged by the repeating timer job of the purge, which is rescheduled after every run.
+ * A failing batch is retried on its own, and the chain of that run stops when it ends up as a dead letter job.
+ */
+public class HistoricProcessInstancePurgeJobHandler implements JobHandler {
+
+  public final static String TYPE = "history-purge";
+
+  private static final String JOB_HANDLER_CFG_FINISHED_BEFORE = "finishedBefore";
+  private static final String JOB_HANDLER_CFG_FINISHED_AFTER = "finishedAfter";
+  private static final String JOB_HANDLER_CFG_RETENTION_PERIOD = "retentionPeriod";
+  private static final String JOB_HANDLER_CFG_PROCESS_DEFINITION_ID = "processDefinitionId";
+  private static final String JOB_HANDLER_CFG_PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  private static final String JOB_HANDLER_CFG_TENANT_ID = "tenantId";
+  private static final String JOB_HANDLER_CFG_BATCH_SIZE = "batchSize";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public static String createJobHandlerConfiguration(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize) {
+    JSONObject json = new JSONObject();
+    if (purgeCriteria.getFinishedBefore() != null) {
+      json.put(JOB_HANDLER_CFG_FINISHED_BEFORE, purgeCriteria.getFinishedBefore().getTime());
+    }
+    if (purgeCriteria.getFinishedAfter() != null) {
+      json.put(JOB_HANDLER_CFG_FINISHED_AFTER, purgeCriteria.getFinishedAfter().getTime());
+    }
+    if (purgeCriteria.getRetentionPeriod() != null) {
+      json.put(JOB_HANDLER_CFG_RETENTION_PERIOD, purgeCriteria.getRetentionPeriod());
+    }
+    if (purgeCriteria.getProcessDefinitionId() != null) {
+      json.put(JOB_HANDLER_CFG_PROCESS_DEFINITION_ID, purgeCriteria.getProcessDefinitionId());
+    }
+    if (purgeCriteria.getProcessDefinitionKey() != null) {
+      json.put(JOB_HANDLER_CFG_PROCESS_DEFINITION_KEY, purgeCriteria.getProcessDefinitionKey());
+    }
+    if (purgeCriteria.getTenantId() != null) {
+      json.put(JOB_HANDLER_CFG_TENANT_ID, purgeCriteria.getTenantId());
+    }
+    json.put(JOB_HANDLER_CFG_BATCH_SIZE, batchSize);
+    return json.toString();
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject json = new JSONObject(configuration);
+
+    HistoricProcessInstancePurgeBuilderImpl purgeCriteria = new HistoricProcessInstancePurgeBuilderImpl();
+    if (json.has(JOB_HANDLER_CFG_FINISHED_BEFORE)) {
+      purgeCriteria.finishedBefore(new Date(json.getLong(JOB_HANDLER_CFG_FINISHED_BEFORE)));
+    }
+    if (json.has(JOB_HANDLER_CFG_FINISHED_AFTER)) {
+      purgeCriteria.finishedAfter(new Date(json.getLong(JOB_HANDLER_CFG_FINISHED_AFTER)));
+    }
+    purgeCriteria.retentionPeriod(json.optString(JOB_HANDLER_CFG_RETENTION_PERIOD, null));
+    purgeCriteria.processDefinitionId(json.optString(JOB_HANDLER_CFG_PROCESS_DEFINITION_ID, null));
+    purgeCriteria.processDefinitionKey(json.optString(JOB_HANDLER_CFG_PROCESS_DEFINITION_KEY, null));
+    purgeCriteria.tenantId(json.optString(JOB_HANDLER_CFG_TENANT_ID, null));
+    int batchSize = json.getInt(JOB_HANDLER_CFG_BATCH_SIZE);
+
+    int purged = new PurgeHistoricProcessInstancesCmd(purgeCriteria, batchSize).execute(commandContext);
+    if (purged == batchSize) {
+      new SchedulePurgeHistoricProcessInstancesCmd(purgeCriteria, batchSize).execute(commandContext);
+    }
+  }
+
+}
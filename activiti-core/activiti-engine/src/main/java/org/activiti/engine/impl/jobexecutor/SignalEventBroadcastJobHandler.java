@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * Delivers a signal to one chunk of its subscriptions: the subscriptions whose id is in the (fromId, toId] range
+ * and that existed when the signal was broadcast.
+ *
+ * Each chunk is a separate job, so a failing chunk is retried (and eventually moved to the dead letter jobs)
+ * on its own, without rolling back the delivery to the other chunks.
+ */
+public class SignalEventBroadcastJobHandler implements JobHandler {
+
+  public final static String TYPE = "signal-broadcast";
+
+  private static final String JOB_HANDLER_CFG_SIGNAL_NAME = "signalName";
+  private static final String JOB_HANDLER_CFG_TENANT_ID = "tenantId";
+  private static final String JOB_HANDLER_CFG_FROM_ID = "fromId";
+  private static final String JOB_HANDLER_CFG_TO_ID = "toId";
+  private static final String JOB_HANDLER_CFG_CREATED_BEFORE = "createdBefore";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public static String createJobHandlerConfiguration(String signalName, String tenantId, String fromId, String toId, Date createdBefore) {
+    JSONObject json = new JSONObject();
+    json.put(JOB_HANDLER_CFG_SIGNAL_NAME, signalName);
+    if (tenantId != null) {
+      json.put(JOB_HANDLER_CFG_TENANT_ID, tenantId);
+    }
+    if (fromId != null) {
+      json.put(JOB_HANDLER_CFG_FROM_ID, fromId);
+    }
+    json.put(JOB_HANDLER_CFG_TO_ID, toId);
+    json.put(JOB_HANDLER_CFG_CREATED_BEFORE, createdBefore.getTime());
+    return json.toString();
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject json = new JSONObject(configuration);
+
+    EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
+    List<SignalEventSubscriptionEntity> signalEvents = eventSubscriptionEntityManager.findSignalEventSubscriptionsByEventNameAndIdRange(
+        json.getString(JOB_HANDLER_CFG_SIGNAL_NAME),
+        json.optString(JOB_HANDLER_CFG_TENANT_ID, null),
+        json.optString(JOB_HANDLER_CFG_FROM_ID, null),
+        json.getString(JOB_HANDLER_CFG_TO_ID),
+        new Date(json.getLong(JOB_HANDLER_CFG_CREATED_BEFORE)));
+
+    for (SignalEventSubscriptionEntity signalEventSubscriptionEntity : signalEvents) {
+      // Same as SignalEventReceivedCmd: only globally scoped signals are thrown
+      if (signalEventSubscriptionEntity.isGlobalScoped()) {
+        eventSubscriptionEntityManager.eventReceived(signalEventSubscriptionEntity, null, false);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.metrics;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Receives the measurements of a process engine, when set with
+ * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setProcessEngineMetrics(ProcessEngineMetrics)}.
+ *
+ * The methods are called on the threads doing the work, often inside a command, so implementations
+ * must be thread-safe and cheap. All methods do nothing by default.
+ */
+public interface ProcessEngineMetrics {
+
+  /**
+   * Called when a command passed the command interceptor chain, including the flush and the commit of its transaction.
+   *
+   * @param successful false if the command threw an exception
+   */
+  default void commandExecuted(Class<?> commandClass, long durationInNanos, boolean successful) {
+  }
+
+  /**
+   * Called when a command failed with an {@link org.activiti.engine.ActivitiOptimisticLockingException}.
+   */
+  default void optimisticLockingFailure(Class<?> commandClass) {
+  }
+
+  /**
+   * Called once per flushed entity type, after the flush of a command succeeded. Bulk deletes are not counted.
+   */
+  default void entitiesFlushed(Class<? extends Entity> entityClass, int inserts, int updates, int deletes) {
+  }
+
+  /**
+   * Called after every acquisition of async jobs, also when no job was acquired.
+   */
+  default void asyncJobsAcquired(int numberOfJobs) {
+  }
+
+  /**
+   * Called after every acquisition of timer jobs, also when no job was acquired.
+   */
+  default void timerJobsAcquired(int numberOfJobs) {
+  }
+
+  /**
+   * Called when the async executor starts executing a job.
+   *
+   * @param latencyInMillis the time between the due date of the job and now, or -1 when the job has no due date (as is the case for async continuations)
+   */
+  default void jobExecutionStarted(Job job, long latencyInMillis) {
+  }
+
+  /**
+   * Called when a job ran out of retries and is moved to the dead letter jobs.
+   */
+  default void jobMovedToDeadLetter(Job job) {
+  }
+
+  /**
+   * Called when a process definition is looked up in the process definition cache.
+   */
+  default void processDefinitionCacheAccessed(boolean hit) {
+  }
+
+  /**
+   * Called when a BPMN resource of a deployment has been converted and validated, possibly on a deployment parsing thread.
+   */
+  default void bpmnResourceParsed(String resourceName, long durationInNanos) {
+  }
+
+  /**
+   * Called after every batch of a purge of historic process instances that deleted at least one process instance.
+   *
+   * @param numberOfProcessInstances the number of purged root process instances
+   */
+  default void historicProcessInstancesPurged(int numberOfProcessInstances, long durationInNanos) {
+  }
+
+  /**
+   * Called when a job of the asynchronous history applied its history rows.
+   *
+   * @param numberOfRows the number of rows written to the history tables
+   * @param lagInMillis the time between the flush of the command that recorded the rows and now
+   */
+  default void asyncHistoryApplied(int numberOfRows, long lagInMillis) {
+  }
+
+  /**
+   * Called when a job of the asynchronous history ran out of retries and is moved to the dead letter jobs.
+   * Its rows are missing from the history tables until the dead letter job is executed again.
+   *
+   * @param numberOfRows the number of history rows of the job
+   */
+  default void asyncHistoryFailed(int numberOfRows) {
+  }
+
+}
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.cache;
 
+import org.activiti.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.activiti.engine.impl.persistence.entity.Entity;
 
 /**
@@ -35,10 +36,21 @@ public class CachedEntity {
    */
   protected Object originalPersistentState;
 
+  /**
+   * True if the {@link Entity} is a {@link DirtyTrackingEntity} which was cached with its state stored.
+   * No 'persistent state' is kept in that case, as the entity itself knows whether it has been updated.
+   */
+  protected boolean dirtyTracked;
+
   public CachedEntity(Entity entity, boolean storeState) {
     this.entity = entity;
     if (storeState) {
-      this.originalPersistentState = entity.getPersistentState();
+      if (entity instanceof DirtyTrackingEntity) {
+        ((DirtyTrackingEntity) entity).clearDirty(); // setters called while loading the entity shouldn't count
+        this.dirtyTracked = true;
+      } else {
+        this.originalPersistentState = entity.getPersistentState();
+      }
     }
   }
 
@@ -58,7 +70,14 @@ public class CachedEntity {
     this.originalPersistentState = originalPersistentState;
   }
 
+  public boolean isDirtyTracked() {
+    return dirtyTracked;
+  }
+
   public boolean hasChanged() {
+    if (dirtyTracked) {
+      return ((DirtyTrackingEntity) entity).isDirty();
+    }
     return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
   }
 
@@ -66,6 +66,19 @@ public interface EntityCache extends Session {
    */
   <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass);
 
+  /**
+   * Returns all {@link CachedEntity} instances which have the given value in the given {@link EntityCacheIndex}.
+   * The index is built the first time it is used, and kept up to date on every change to the cache afterwards.
+   * Returns an empty collection if no instances match.
+   */
+  <T extends Entity> Collection<CachedEntity> findInCacheAsCachedObjects(EntityCacheIndex<T> index, String value);
+
+  /**
+   * Updates the indexes for the given {@link Entity}, after one of its indexed values has changed.
+   * Does nothing if the entity is not cached.
+   */
+  void reindex(Entity entity);
+
   /**
    * Removes the {@link Entity} of the given type with the given id from the cache.
    */
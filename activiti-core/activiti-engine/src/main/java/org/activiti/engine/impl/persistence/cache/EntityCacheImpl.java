@@ -21,6 +21,7 @@ import static java.util.Collections.emptyList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +34,11 @@ public class EntityCacheImpl implements EntityCache {
 
   protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<Class<?>, Map<String,CachedEntity>>();
 
+  /**
+   * Secondary indexes, only created when used for the first time.
+   */
+  protected Map<EntityCacheIndex<?>, IndexEntries> indexes = new HashMap<EntityCacheIndex<?>, IndexEntries>();
+
   @Override
   public CachedEntity put(Entity entity, boolean storeState) {
     Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
@@ -42,6 +48,7 @@ public class EntityCacheImpl implements EntityCache {
     }
     CachedEntity cachedObject = new CachedEntity(entity, storeState);
     classCache.put(entity.getId(), cachedObject);
+    addToIndexes(cachedObject);
     return cachedObject;
   }
 
@@ -81,7 +88,69 @@ public class EntityCacheImpl implements EntityCache {
     if (classCache == null) {
       return;
     }
-    classCache.remove(entityId);
+    CachedEntity cachedObject = classCache.remove(entityId);
+    if (cachedObject != null) {
+      removeFromIndexes(cachedObject.getEntity());
+    }
+  }
+
+  @Override
+  public <T extends Entity> Collection<CachedEntity> findInCacheAsCachedObjects(EntityCacheIndex<T> index, String value) {
+    IndexEntries indexEntries = indexes.get(index);
+    if (indexEntries == null) {
+      indexEntries = createIndex(index);
+    }
+    Map<String, CachedEntity> matchingEntities = indexEntries.getEntities(value);
+    if (matchingEntities == null) {
+      return emptyList();
+    }
+    return new ArrayList<CachedEntity>(matchingEntities.values()); // copy, as the caller might change the cache while iterating
+  }
+
+  @Override
+  public void reindex(Entity entity) {
+    if (indexes.isEmpty()) {
+      return;
+    }
+    Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
+    if (classCache == null) {
+      return;
+    }
+    CachedEntity cachedObject = classCache.get(entity.getId());
+    if (cachedObject != null && cachedObject.getEntity() == entity) {
+      addToIndexes(cachedObject);
+    }
+  }
+
+  protected IndexEntries createIndex(EntityCacheIndex<?> index) {
+    IndexEntries indexEntries = new IndexEntries();
+    for (Map.Entry<Class<?>, Map<String, CachedEntity>> classCache : cachedObjects.entrySet()) {
+      if (index.getEntityClass().isAssignableFrom(classCache.getKey())) {
+        for (CachedEntity cachedObject : classCache.getValue().values()) {
+          indexEntries.add(cachedObject, index.getValue(cachedObject.getEntity()));
+        }
+      }
+    }
+    indexes.put(index, indexEntries);
+    return indexEntries;
+  }
+
+  protected void addToIndexes(CachedEntity cachedObject) {
+    Entity entity = cachedObject.getEntity();
+    for (Map.Entry<EntityCacheIndex<?>, IndexEntries> index : indexes.entrySet()) {
+      if (index.getKey().appliesTo(entity)) {
+        index.getValue().remove(entity.getId());
+        index.getValue().add(cachedObject, index.getKey().getValue(entity));
+      }
+    }
+  }
+
+  protected void removeFromIndexes(Entity entity) {
+    for (Map.Entry<EntityCacheIndex<?>, IndexEntries> index : indexes.entrySet()) {
+      if (index.getKey().appliesTo(entity)) {
+        index.getValue().remove(entity.getId());
+      }
+    }
   }
 
   @Override
@@ -122,6 +191,46 @@ public class EntityCacheImpl implements EntityCache {
 
   }
 
+  /**
+   * The entries of one {@link EntityCacheIndex}: { value, {entityId, cachedEntity} }.
+   * The reverse mapping is kept to be able to move an entity when its indexed value changes.
+   */
+  protected static class IndexEntries {
+
+    protected Map<String, Map<String, CachedEntity>> entitiesByValue = new HashMap<String, Map<String, CachedEntity>>();
+    protected Map<String, String> valuesByEntityId = new HashMap<String, String>();
+
+    public Map<String, CachedEntity> getEntities(String value) {
+      return entitiesByValue.get(value);
+    }
+
+    public void add(CachedEntity cachedObject, String value) {
+      if (value == null) {
+        return;
+      }
+      String entityId = cachedObject.getEntity().getId();
+      Map<String, CachedEntity> entities = entitiesByValue.get(value);
+      if (entities == null) {
+        entities = new LinkedHashMap<String, CachedEntity>();
+        entitiesByValue.put(value, entities);
+      }
+      entities.put(entityId, cachedObject);
+      valuesByEntityId.put(entityId, value);
+    }
+
+    public void remove(String entityId) {
+      String value = valuesByEntityId.remove(entityId);
+      if (value != null) {
+        Map<String, CachedEntity> entities = entitiesByValue.get(value);
+        entities.remove(entityId);
+        if (entities.isEmpty()) {
+          entitiesByValue.remove(value);
+        }
+      }
+    }
+
+  }
+
   @Override
   public void flush() {
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import java.util.function.Function;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Describes a secondary index of the {@link EntityCache}: all cached entities of a given type,
+ * grouped by the value of one of their properties.
+ *
+ * Setters of an indexed property must notify the cache of the current command when the value changes
+ * (see {@link EntityCache#reindex(Entity)}), as the cache has no other way of knowing.
+ */
+public class EntityCacheIndex<T extends Entity> {
+
+  public static final EntityCacheIndex<ExecutionEntity> EXECUTIONS_BY_PARENT_ID
+      = new EntityCacheIndex<ExecutionEntity>("executionsByParentId", ExecutionEntity.class, ExecutionEntity::getParentId);
+
+  public static final EntityCacheIndex<ExecutionEntity> EXECUTIONS_BY_PROCESS_INSTANCE_ID
+      = new EntityCacheIndex<ExecutionEntity>("executionsByProcessInstanceId", ExecutionEntity.class, ExecutionEntity::getProcessInstanceId);
+
+  public static final EntityCacheIndex<VariableInstanceEntity> VARIABLES_BY_EXECUTION_ID
+      = new EntityCacheIndex<VariableInstanceEntity>("variablesByExecutionId", VariableInstanceEntity.class, VariableInstanceEntity::getExecutionId);
+
+  public static final EntityCacheIndex<TaskEntity> TASKS_BY_EXECUTION_ID
+      = new EntityCacheIndex<TaskEntity>("tasksByExecutionId", TaskEntity.class, TaskEntity::getExecutionId);
+
+  protected String name;
+  protected Class<T> entityClass;
+  protected Function<T, String> valueProvider;
+
+  public EntityCacheIndex(String name, Class<T> entityClass, Function<T, String> valueProvider) {
+    this.name = name;
+    this.entityClass = entityClass;
+    this.valueProvider = valueProvider;
+  }
+
+  /**
+   * Returns true if the given entity belongs in this index.
+   */
+  public boolean appliesTo(Entity entity) {
+    return entityClass.isInstance(entity);
+  }
+
+  /**
+   * Returns the value under which the given entity is indexed, or null if it shouldn't be indexed.
+   */
+  public String getValue(Entity entity) {
+    return valueProvider.apply(entityClass.cast(entity));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Class<T> getEntityClass() {
+    return entityClass;
+  }
+
+  @Override
+  public String toString() {
+    return "EntityCacheIndex[" + name + "]";
+  }
+
+}
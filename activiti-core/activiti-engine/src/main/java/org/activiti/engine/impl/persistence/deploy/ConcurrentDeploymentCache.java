@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for concurrent use: reads don't take any lock, unlike the {@link DefaultDeploymentCache}
+ * for which every read reorders the entries under a global lock.
+ *
+ * The cache can be limited on its number of entries and/or on the total weight of its entries,
+ * as determined by a {@link DeploymentCacheWeigher}. When a limit is exceeded, the least recently
+ * used entries are evicted. Reads only record their access time, so finding the least recently used
+ * entry takes a scan of the cache: this cost is only paid when adding an entry to a full cache.
+ *
+ * Hits, misses and evictions are counted.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected final Map<String, CacheEntry<T>> cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+  protected final int limit;
+  protected final long maxWeight;
+  protected final DeploymentCacheWeigher<T> weigher;
+
+  protected final AtomicLong weight = new AtomicLong();
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+  protected final Object evictionLock = new Object();
+
+  /** Cache with no limit */
+  public ConcurrentDeploymentCache() {
+    this(-1);
+  }
+
+  /**
+   * Cache which has a limit on its number of entries.
+   */
+  public ConcurrentDeploymentCache(int limit) {
+    this(limit, -1, null);
+  }
+
+  /**
+   * Cache which has a limit on its number of entries and/or on the total weight of its entries.
+   * A limit that is zero or negative is not applied.
+   */
+  public ConcurrentDeploymentCache(int limit, long maxWeight, DeploymentCacheWeigher<T> weigher) {
+    if (maxWeight > 0 && weigher == null) {
+      throw new IllegalArgumentException("A weigher is needed when the weight of the cache is limited");
+    }
+    this.limit = limit;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  @Override
+  public T get(String id) {
+    CacheEntry<T> entry = cache.get(id);
+    if (entry == null) {
+      missCount.increment();
+      return null;
+    }
+    hitCount.increment();
+    entry.lastAccessTime = System.nanoTime();
+    return entry.value;
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  @Override
+  public void add(String id, T object) {
+    CacheEntry<T> entry = new CacheEntry<T>(object, weigher != null ? weigher.weigh(id, object) : 0);
+    weight.addAndGet(entry.weight);
+    CacheEntry<T> previous = cache.put(id, entry);
+    if (previous != null) {
+      weight.addAndGet(-previous.weight);
+    }
+    if (isLimitExceeded()) {
+      evict(id);
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    CacheEntry<T> entry = cache.remove(id);
+    if (entry != null) {
+      weight.addAndGet(-entry.weight);
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (String id : cache.keySet()) {
+      remove(id);
+    }
+  }
+
+  protected boolean isLimitExceeded() {
+    return (limit > 0 && cache.size() > limit) || (maxWeight > 0 && weight.get() > maxWeight);
+  }
+
+  /**
+   * Evicts the least recently used entries until the limits are respected again.
+   * The entry that was just added is only evicted when it exceeds the weight limit on its own.
+   */
+  protected void evict(String addedId) {
+    synchronized (evictionLock) {
+      while (isLimitExceeded()) {
+        Map.Entry<String, CacheEntry<T>> eldest = null;
+        for (Map.Entry<String, CacheEntry<T>> candidate : cache.entrySet()) {
+          if (!candidate.getKey().equals(addedId)
+              && (eldest == null || candidate.getValue().lastAccessTime - eldest.getValue().lastAccessTime < 0)) {
+            eldest = candidate;
+          }
+        }
+        String evictedId = eldest != null ? eldest.getKey() : addedId;
+        CacheEntry<T> evicted = eldest != null ? eldest.getValue() : cache.get(addedId);
+        if (evicted == null) {
+          return;
+        }
+
+        if (cache.remove(evictedId, evicted)) {
+          weight.addAndGet(-evicted.weight);
+          evictionCount.increment();
+          logger.trace("Cache limit is reached, {} is evicted", evictedId);
+        }
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  public long getWeight() {
+    return weight.get();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final T value;
+    protected final long weight;
+    protected volatile long lastAccessTime = System.nanoTime();
+
+    public CacheEntry(T value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+
+  }
+
+}
@@ -82,6 +82,7 @@ public class DefaultDeploymentCache<T> implements DeploymentCache<T> {
   }
 
   // For testing purposes only
+  @Override
   public int size() {
     return cache.size();
   }
@@ -33,4 +33,11 @@ public interface DeploymentCache<T> {
 
   void clear();
 
+  /**
+   * @return the number of cached elements, or -1 when the implementation doesn't know it
+   */
+  default int size() {
+    return -1;
+  }
+
 }
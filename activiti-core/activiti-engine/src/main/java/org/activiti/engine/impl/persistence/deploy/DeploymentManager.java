@@ -73,6 +73,10 @@ public class DeploymentManager {
 
     // first try the cache
     ProcessDefinitionCacheEntry cacheEntry = processDefinitionCache.get(processDefinitionId);
+    if (cacheEntry != null) {
+      // a miss is recorded by resolveProcessDefinition
+      recordProcessDefinitionCacheAccess(true);
+    }
     ProcessDefinition processDefinition = cacheEntry != null ? cacheEntry.getProcessDefinition() : null;
 
     if (processDefinition == null) {
@@ -122,6 +126,7 @@ public class DeploymentManager {
     String deploymentId = processDefinition.getDeploymentId();
 
     ProcessDefinitionCacheEntry cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
+    recordProcessDefinitionCacheAccess(cachedProcessDefinition != null);
 
     if (cachedProcessDefinition == null) {
         CommandContext commandContext = Context.getCommandContext();
@@ -130,6 +135,12 @@ public class DeploymentManager {
     return cachedProcessDefinition;
   }
 
+  protected void recordProcessDefinitionCacheAccess(boolean hit) {
+    if (processEngineConfiguration != null && processEngineConfiguration.getProcessEngineMetrics() != null) {
+      processEngineConfiguration.getProcessEngineMetrics().processDefinitionCacheAccessed(hit);
+    }
+  }
+
   protected ProcessDefinitionCacheEntry resolveProcessDefinitionInternal(CommandContext commandContext,ProcessDefinition processDefinition,String deploymentId, String processDefinitionId){
     DeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
     var deploymentOptions = Map.of(RESOURCE_NAMES, List.of(processDefinition.getResourceName()), IS_PROCESS_VALIDATION_ENABLED, false, IS_BPMN20_XSD_VALIDATION_ENABLED, false);
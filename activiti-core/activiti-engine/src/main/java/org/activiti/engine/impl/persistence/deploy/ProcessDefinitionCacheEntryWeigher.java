@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.Process;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the number of flow elements of its {@link BpmnModel},
+ * including the ones in sub processes, which is what most of the memory of an entry is spent on.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+  @Override
+  public long weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+    long weight = 1;
+    BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+    if (bpmnModel != null) {
+      for (Process process : bpmnModel.getProcesses()) {
+        weight += process.findFlowElementsOfType(FlowElement.class, true).size();
+      }
+    }
+    return weight;
+  }
+
+}
@@ -16,12 +16,6 @@
 
 package org.activiti.engine.impl.persistence.deploy;
 
-import static java.util.Collections.synchronizedMap;
-
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
@@ -29,8 +23,6 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -42,35 +34,23 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 public class ProcessDefinitionInfoCache {
 
-  private static final Logger logger = LoggerFactory.getLogger(ProcessDefinitionInfoCache.class);
-
-  protected Map<String, ProcessDefinitionInfoCacheObject> cache;
+  protected DeploymentCache<ProcessDefinitionInfoCacheObject> cache;
   protected CommandExecutor commandExecutor;
 
   /** Cache with no limit */
   public ProcessDefinitionInfoCache(CommandExecutor commandExecutor) {
-    this.commandExecutor = commandExecutor;
-    this.cache = synchronizedMap(new HashMap<String, ProcessDefinitionInfoCacheObject>());
+    this(commandExecutor, new DefaultDeploymentCache<ProcessDefinitionInfoCacheObject>());
   }
 
   /** Cache which has a hard limit: no more elements will be cached than the limit. */
   public ProcessDefinitionInfoCache(CommandExecutor commandExecutor, final int limit) {
-    this.commandExecutor = commandExecutor;
-    this.cache = synchronizedMap(new LinkedHashMap<String, ProcessDefinitionInfoCacheObject>(limit + 1, 0.75f, true) {
-          // +1 is needed, because the entry is inserted first, before it is removed
-          // 0.75 is the default (see javadocs)
-          // true will keep the 'access-order', which is needed to have a real LRU cache
-      private static final long serialVersionUID = 1L;
-
-      protected boolean removeEldestEntry(Map.Entry<String, ProcessDefinitionInfoCacheObject> eldest) {
-        boolean removeEldest = size() > limit;
-        if (removeEldest) {
-          logger.trace("Cache limit is reached, {} will be evicted",  eldest.getKey());
-        }
-        return removeEldest;
-      }
+    this(commandExecutor, new DefaultDeploymentCache<ProcessDefinitionInfoCacheObject>(limit));
+  }
 
-    });
+  /** Cache storing its elements in the given {@link DeploymentCache}. */
+  public ProcessDefinitionInfoCache(CommandExecutor commandExecutor, DeploymentCache<ProcessDefinitionInfoCacheObject> cache) {
+    this.commandExecutor = commandExecutor;
+    this.cache = cache;
   }
 
   public ProcessDefinitionInfoCacheObject get(final String processDefinitionId) {
@@ -93,7 +73,7 @@ public class ProcessDefinitionInfoCache {
   }
 
   public void add(String id, ProcessDefinitionInfoCacheObject obj) {
-    cache.put(id, obj);
+    cache.add(id, obj);
   }
 
   public void remove(String id) {
@@ -113,10 +93,8 @@ public class ProcessDefinitionInfoCache {
     ProcessDefinitionInfoEntityManager infoEntityManager = commandContext.getProcessDefinitionInfoEntityManager();
     ObjectMapper objectMapper = commandContext.getProcessEngineConfiguration().getObjectMapper();
 
-    ProcessDefinitionInfoCacheObject cacheObject = null;
-    if (cache.containsKey(processDefinitionId)) {
-      cacheObject = cache.get(processDefinitionId);
-    } else {
+    ProcessDefinitionInfoCacheObject cacheObject = cache.get(processDefinitionId);
+    if (cacheObject == null) {
       cacheObject = new ProcessDefinitionInfoCacheObject();
       cacheObject.setRevision(0);
       cacheObject.setInfoNode(objectMapper.createObjectNode());
@@ -16,7 +16,13 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Objects;
+
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.HasRevision;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.cache.EntityCacheIndex;
 
 /**
  * Abstract superclass for the common properties of all {@link Entity} implementations.
@@ -31,6 +37,7 @@ public abstract class AbstractEntity implements Entity, HasRevision {
   protected boolean isInserted;
   protected boolean isUpdated;
   protected boolean isDeleted;
+  protected boolean isDirty;
 
   @Override
   public String getId() {
@@ -78,4 +85,35 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     this.isDeleted = isDeleted;
   }
 
+  /**
+   * To be called by the setter of a property used by an {@link EntityCacheIndex}, after the new value has been set,
+   * so that the entity cache of the current command can move this entity to the right index entry.
+   */
+  protected void indexedValueChanged(String oldValue, String newValue) {
+    if (!Objects.equals(oldValue, newValue)) {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null) {
+        // Only an already opened cache can contain this entity
+        EntityCache entityCache = (EntityCache) commandContext.getSessions().get(EntityCache.class);
+        if (entityCache != null) {
+          entityCache.reindex(this);
+        }
+      }
+    }
+  }
+
+  // dirty tracking, only used by subclasses implementing DirtyTrackingEntity
+
+  public boolean isDirty() {
+    return isDirty;
+  }
+
+  public void markDirty() {
+    this.isDirty = true;
+  }
+
+  public void clearDirty() {
+    this.isDirty = false;
+  }
+
 }
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import org.activiti.engine.api.internal.Internal;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -31,6 +32,20 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   List<ByteArrayEntity> findAll();
 
+  /**
+   * Returns the {@link ByteArrayEntity} with the given id, without loading its bytes from the database when it isn't cached yet.
+   * Important: {@link ByteArrayEntity#getBytes()} returns null for such an entity, so only use this method to overwrite the bytes.
+   */
+  ByteArrayEntity findByIdWithoutBytes(String byteArrayEntityId);
+
+  /**
+   * Writes the bytes of the {@link ByteArrayEntity} with the given id to the output stream. When the entity isn't cached,
+   * they are copied from the result set while it is read, without loading them in memory. The output stream isn't closed.
+   *
+   * @return false when the byte array doesn't exist or has no bytes
+   */
+  boolean copyBytes(String byteArrayEntityId, OutputStream outputStream);
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the bytes in memory. So use this method
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -47,6 +48,16 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     return byteArrayDataManager.findAll();
   }
 
+  @Override
+  public ByteArrayEntity findByIdWithoutBytes(String byteArrayEntityId) {
+    return byteArrayDataManager.findByIdWithoutBytes(byteArrayEntityId);
+  }
+
+  @Override
+  public boolean copyBytes(String byteArrayEntityId, OutputStream outputStream) {
+    return byteArrayDataManager.copyBytes(byteArrayEntityId, outputStream);
+  }
+
   @Override
   public void deleteByteArrayById(String byteArrayEntityId) {
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
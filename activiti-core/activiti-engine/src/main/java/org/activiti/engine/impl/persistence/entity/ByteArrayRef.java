@@ -72,6 +72,11 @@ public class ByteArrayRef implements Serializable {
         id = entity.getId();
       }
     } else {
+      if (entity == null && bytes != null) {
+        // the current bytes are replaced, so there is no need to read them
+        entity = Context.getCommandContext().getByteArrayEntityManager().findByIdWithoutBytes(id);
+        name = entity.getName();
+      }
       ensureInitialized();
       entity.setBytes(bytes);
     }
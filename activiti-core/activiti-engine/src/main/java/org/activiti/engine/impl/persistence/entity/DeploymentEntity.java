@@ -67,4 +67,12 @@ public interface DeploymentEntity extends Deployment, Entity {
 
   void setProjectReleaseVersion(String projectReleaseVersion);
 
+  /**
+   * The digest of the names and checksums of all resources that were part of the deployment, used to filter duplicate deployments
+   * without loading the resources. Null for deployments deployed before the checksum was introduced.
+   */
+  String getChecksum();
+
+  void setChecksum(String checksum);
+
 }
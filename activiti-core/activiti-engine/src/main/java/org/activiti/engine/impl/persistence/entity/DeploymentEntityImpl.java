@@ -44,6 +44,7 @@ public class DeploymentEntityImpl extends AbstractEntityNoRevision implements De
   protected boolean isNew;
   protected Integer version;
   private String projectReleaseVersion;
+  protected String checksum;
 
     // Backwards compatibility
   protected String engineVersion;
@@ -190,6 +191,14 @@ public class DeploymentEntityImpl extends AbstractEntityNoRevision implements De
       this.projectReleaseVersion = projectReleaseVersion;
   }
 
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
   // common methods //////////////////////////////////////////////////////////
 
   @Override
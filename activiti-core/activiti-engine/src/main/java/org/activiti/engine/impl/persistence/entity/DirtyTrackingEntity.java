@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.entity;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * {@link Entity} that keeps track itself of changes to its persistent state.
+ *
+ * When such an entity is loaded, no copy of {@link #getPersistentState()} is kept to compare with at flush time.
+ * Instead, every setter that changes a value of the persistent state must call {@link #markDirty()},
+ * and only entities that are dirty will be updated.
+ *
+ * {@link AbstractEntity} provides the implementation: subclasses opt in by implementing this interface.
+ */
+@Internal
+public interface DirtyTrackingEntity extends Entity {
+
+  boolean isDirty();
+
+  void markDirty();
+
+  void clearDirty();
+
+}
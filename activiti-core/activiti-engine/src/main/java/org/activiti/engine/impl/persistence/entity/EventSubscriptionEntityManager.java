@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -85,6 +86,19 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(String eventName, String tenantId);
 
+  /**
+   * Returns at most maxResults ids of the signal event subscriptions with the given name, ordered by id,
+   * starting after the given id (or from the first one when it is null).
+   */
+  List<String> findSignalEventSubscriptionIdsByEventName(String eventName, String tenantId, String afterId, int maxResults);
+
+  /**
+   * Returns the signal event subscriptions with the given name whose id is in the range (fromId, toId],
+   * created at or before the given time. A null fromId means the range has no lower bound.
+   */
+  List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(String eventName, String tenantId,
+      String fromId, String toId, Date createdBefore);
+
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName);
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByNameAndExecution(String name, String executionId);
@@ -18,6 +18,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -200,6 +201,17 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventName(eventName, tenantId);
   }
 
+  @Override
+  public List<String> findSignalEventSubscriptionIdsByEventName(String eventName, String tenantId, String afterId, int maxResults) {
+    return eventSubscriptionDataManager.findSignalEventSubscriptionIdsByEventName(eventName, tenantId, afterId, maxResults);
+  }
+
+  @Override
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(String eventName, String tenantId,
+      String fromId, String toId, Date createdBefore) {
+    return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventNameAndIdRange(eventName, tenantId, fromId, toId, createdBefore);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName) {
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByProcessInstanceAndEventName(processInstanceId, eventName);
@@ -378,7 +378,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   public void setProcessInstance(ExecutionEntity processInstance) {
     this.processInstance = (ExecutionEntityImpl) processInstance;
     if (processInstance != null) {
+      String oldProcessInstanceId = this.processInstanceId;
       this.processInstanceId = this.processInstance.getId();
+      indexedValueChanged(oldProcessInstanceId, processInstanceId);
     }
   }
 
@@ -403,11 +405,13 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   public void setParent(ExecutionEntity parent) {
     this.parent = (ExecutionEntityImpl) parent;
 
+    String oldParentId = this.parentId;
     if (parent != null) {
       this.parentId = parent.getId();
     } else {
       this.parentId = null;
     }
+    indexedValueChanged(oldParentId, parentId);
   }
 
   // parent process instance id      /////////////////////////////////////////
@@ -665,7 +669,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setProcessInstanceId(String processInstanceId) {
+    String oldProcessInstanceId = this.processInstanceId;
     this.processInstanceId = processInstanceId;
+    indexedValueChanged(oldProcessInstanceId, processInstanceId);
   }
 
   public String getParentId() {
@@ -673,7 +679,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setParentId(String parentId) {
+    String oldParentId = this.parentId;
     this.parentId = parentId;
+    indexedValueChanged(oldParentId, parentId);
   }
 
   public String getActivityId() {
@@ -111,4 +111,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   void clearProcessInstanceLockTime(String processInstanceId);
 
+  /**
+   * Takes a database row lock on the given execution, which is held until the current transaction ends.
+   * Returns false if the execution doesn't exist in the database anymore, or if the transaction doesn't run with the
+   * read committed isolation level: with a snapshot of a higher level, the changes committed by the transactions that
+   * held the lock before wouldn't be seen.
+   */
+  boolean lockExecution(ExecutionEntity executionEntity);
+
 }
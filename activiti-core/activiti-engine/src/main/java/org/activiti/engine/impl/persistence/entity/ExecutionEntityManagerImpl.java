@@ -802,6 +802,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     executionDataManager.clearProcessInstanceLockTime(processInstanceId);
   }
 
+  @Override
+  public boolean lockExecution(ExecutionEntity executionEntity) {
+    return executionDataManager.lockExecution(executionEntity);
+  }
+
   @Override
   public String updateProcessInstanceBusinessKey(ExecutionEntity executionEntity, String businessKey) {
     if (executionEntity.isProcessInstanceType() && businessKey != null) {
@@ -80,6 +80,10 @@ public class HistoricDetailVariableInstanceUpdateEntityImpl extends HistoricDeta
     return byteArrayRef;
   }
 
+  public void setByteArrayRef(ByteArrayRef byteArrayRef) {
+    this.byteArrayRef = byteArrayRef;
+  }
+
   public void setBytes(byte[] bytes) {
     String byteArrayName = "hist.detail.var-" + name;
     if (byteArrayRef == null) {
@@ -22,6 +22,7 @@ import java.util.Map;
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
 
 /**
 
@@ -43,4 +44,12 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
   void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId);
 
+  /**
+   * Deletes one batch of at most batchSize finished root process instances matching the given criteria,
+   * together with their sub process instances and all their history.
+   *
+   * @return the number of deleted root process instances, so a smaller number than batchSize means nothing is left to purge
+   */
+  int purgeHistoricProcessInstances(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize);
+
 }
@@ -19,12 +19,14 @@ package org.activiti.engine.impl.persistence.entity;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceDataManager;
 
@@ -32,6 +34,11 @@ import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceD
  */
 public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityManager<HistoricProcessInstanceEntity> implements HistoricProcessInstanceEntityManager {
 
+  /**
+   * The maximum number of ids passed to one purge statement, as oracle doesn't allow more than 1000 expressions in a list.
+   */
+  protected static final int MAX_PURGED_IDS_PER_STATEMENT = 1000;
+
   protected HistoricProcessInstanceDataManager historicProcessInstanceDataManager;
 
   public HistoricProcessInstanceEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, HistoricProcessInstanceDataManager historicProcessInstanceDataManager) {
@@ -82,6 +89,47 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     }
   }
 
+  @Override
+  public int purgeHistoricProcessInstances(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int batchSize) {
+    if (!getHistoryManager().isHistoryEnabled()) {
+      return 0;
+    }
+
+    List<String> rootProcessInstanceIds = historicProcessInstanceDataManager.findFinishedRootHistoricProcessInstanceIds(purgeCriteria, batchSize);
+    if (rootProcessInstanceIds.isEmpty()) {
+      return 0;
+    }
+
+    List<String> processInstanceIds = new ArrayList<String>(rootProcessInstanceIds);
+    List<String> superProcessInstanceIds = rootProcessInstanceIds;
+    while (!superProcessInstanceIds.isEmpty()) {
+      List<String> subProcessInstanceIds = new ArrayList<String>();
+      for (List<String> ids : partition(superProcessInstanceIds)) {
+        subProcessInstanceIds.addAll(historicProcessInstanceDataManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(ids));
+      }
+      processInstanceIds.addAll(subProcessInstanceIds);
+      superProcessInstanceIds = subProcessInstanceIds;
+    }
+
+    for (List<String> ids : partition(processInstanceIds)) {
+      // subtasks aren't linked to the process instance, so they are deleted one by one (at the flush) like before
+      for (String subTaskId : historicProcessInstanceDataManager.findHistoricSubTaskInstanceIdsByProcessInstanceIds(ids)) {
+        getHistoricTaskInstanceEntityManager().delete(subTaskId);
+      }
+      historicProcessInstanceDataManager.purgeHistoricProcessInstances(ids);
+    }
+
+    return rootProcessInstanceIds.size();
+  }
+
+  protected List<List<String>> partition(List<String> ids) {
+    List<List<String>> partitions = new ArrayList<List<String>>();
+    for (int i = 0; i < ids.size(); i += MAX_PURGED_IDS_PER_STATEMENT) {
+      partitions.add(ids.subList(i, Math.min(i + MAX_PURGED_IDS_PER_STATEMENT, ids.size())));
+    }
+    return partitions;
+  }
+
   @Override
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (getHistoryManager().isHistoryEnabled()) {
@@ -44,4 +44,11 @@ public interface ResourceEntity extends Entity {
 
   boolean isGenerated();
 
+  /**
+   * The digest of the bytes, as calculated when the resource was deployed. Null for generated resources and for resources deployed before the checksum was introduced.
+   */
+  String getChecksum();
+
+  void setChecksum(String checksum);
+
 }
@@ -31,6 +31,7 @@ public class ResourceEntityImpl extends AbstractEntityNoRevision implements Reso
   protected byte[] bytes;
   protected String deploymentId;
   protected boolean generated;
+  protected String checksum;
 
   public ResourceEntityImpl() {
 
@@ -75,6 +76,14 @@ public class ResourceEntityImpl extends AbstractEntityNoRevision implements Reso
     return generated;
   }
 
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
   // common methods //////////////////////////////////////////////////////////
 
   @Override
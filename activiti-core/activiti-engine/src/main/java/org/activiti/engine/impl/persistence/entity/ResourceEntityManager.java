@@ -28,6 +28,12 @@ public interface ResourceEntityManager extends EntityManager<ResourceEntity> {
 
   List<ResourceEntity> findResourcesByDeploymentId(String deploymentId);
 
+  /**
+   * Returns the resources of the given deployment without loading their bytes, for comparing their names and checksums.
+   * Important: {@link ResourceEntity#getBytes()} returns null for these resources.
+   */
+  List<ResourceEntity> findResourcesWithoutBytesByDeploymentId(String deploymentId);
+
   ResourceEntity findResourceByDeploymentIdAndResourceName(String deploymentId, String resourceName);
 
   void deleteResourcesByDeploymentId(String deploymentId);
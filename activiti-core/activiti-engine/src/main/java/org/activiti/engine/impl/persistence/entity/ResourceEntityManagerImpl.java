@@ -56,6 +56,11 @@ public class ResourceEntityManagerImpl extends AbstractEntityManager<ResourceEnt
     return resourceDataManager.findResourcesByDeploymentId(deploymentId);
   }
 
+  @Override
+  public List<ResourceEntity> findResourcesWithoutBytesByDeploymentId(String deploymentId) {
+    return resourceDataManager.findResourcesWithoutBytesByDeploymentId(deploymentId);
+  }
+
   public ResourceDataManager getResourceDataManager() {
     return resourceDataManager;
   }
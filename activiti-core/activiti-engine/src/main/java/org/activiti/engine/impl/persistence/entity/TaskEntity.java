@@ -62,6 +62,10 @@ public interface TaskEntity extends VariableScope, Task, DelegateTask, Entity, H
 
   Map<String, VariableInstanceEntity> getVariableInstanceEntities();
 
+  List<VariableInstanceEntity> getQueryVariables();
+
+  void setQueryVariables(List<VariableInstanceEntity> queryVariables);
+
   void forceUpdate();
 
   boolean isDeleted();
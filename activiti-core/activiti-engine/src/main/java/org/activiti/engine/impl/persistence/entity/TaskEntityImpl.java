@@ -484,7 +484,9 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   public void setExecutionId(String executionId) {
+    String oldExecutionId = this.executionId;
     this.executionId = executionId;
+    indexedValueChanged(oldExecutionId, executionId);
   }
 
   public ExecutionEntity getProcessInstance() {
@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.activiti.engine.impl.db.BulkDeleteable;
 import org.activiti.engine.impl.variable.ValueFields;
@@ -30,7 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 
 
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, DirtyTrackingEntity, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -80,13 +81,16 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setExecution(ExecutionEntity execution) {
+    String oldExecutionId = this.executionId;
     this.executionId = execution.getId();
     this.processInstanceId = execution.getProcessInstanceId();
     forceUpdate();
+    indexedValueChanged(oldExecutionId, executionId);
   }
 
   public void forceUpdate() {
     forcedUpdate = true;
+    markDirty();
   }
 
   public void setProcessInstanceId(String processInstanceId) {
@@ -94,7 +98,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setExecutionId(String executionId) {
+    String oldExecutionId = this.executionId;
     this.executionId = executionId;
+    indexedValueChanged(oldExecutionId, executionId);
   }
 
   // byte array value ///////////////////////////////////////////////////////////
@@ -108,7 +114,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   @Override
   public void setBytes(byte[] bytes) {
     ensureByteArrayRefInitialized();
+    String byteArrayId = byteArrayRef.getId();
     byteArrayRef.setValue("var-" + name, bytes);
+    markDirtyIfChanged(byteArrayId, byteArrayRef.getId());
   }
 
   public ByteArrayRef getByteArrayRef() {
@@ -188,6 +196,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setLongValue(Long longValue) {
+    markDirtyIfChanged(this.longValue, longValue);
     this.longValue = longValue;
   }
 
@@ -196,6 +205,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setDoubleValue(Double doubleValue) {
+    markDirtyIfChanged(this.doubleValue, doubleValue);
     this.doubleValue = doubleValue;
   }
 
@@ -204,6 +214,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setTextValue(String textValue) {
+    markDirtyIfChanged(this.textValue, textValue);
     this.textValue = textValue;
   }
 
@@ -212,6 +223,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   }
 
   public void setTextValue2(String textValue2) {
+    markDirtyIfChanged(this.textValue2, textValue2);
     this.textValue2 = textValue2;
   }
 
@@ -223,6 +235,15 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     this.cachedValue = cachedValue;
   }
 
+  /**
+   * Only values that are part of the {@link #getPersistentState()} make this entity dirty.
+   */
+  protected void markDirtyIfChanged(Object oldValue, Object newValue) {
+    if (!Objects.equals(oldValue, newValue)) {
+      markDirty();
+    }
+  }
+
   // misc methods ///////////////////////////////////////////////////////////////
 
   @Override
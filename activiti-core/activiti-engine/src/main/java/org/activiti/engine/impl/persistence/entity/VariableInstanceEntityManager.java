@@ -39,6 +39,10 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Collection<String> taskIds, Collection<String> names);
+
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -93,6 +93,16 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByExecutionIds(executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Collection<String> taskIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByTaskIdsAndNames(taskIds, names);
+  }
+
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByExecutionIdsAndNames(executionIds, names);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     return variableInstanceDataManager.findVariableInstanceByExecutionAndName(executionId, variableName);
@@ -26,6 +26,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
@@ -139,7 +140,16 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
         }
 
         // Cache entities
-        if (cachedObjects != null && cachedEntityMatcher != null) {
+        if (cachedEntityMatcher instanceof IndexedCachedEntityMatcher) {
+          // The index contains the entities of the managed class and its subclasses
+          for (CachedEntity cachedObject : findInCacheByIndex((IndexedCachedEntityMatcher<EntityImpl>) cachedEntityMatcher, parameter)) {
+            EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
+            if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedEntity, parameter)) {
+              entityMap.put(cachedEntity.getId(), cachedEntity); // will overwite db version with newer version
+            }
+          }
+
+        } else if (cachedObjects != null && cachedEntityMatcher != null) {
           for (CachedEntity cachedObject : cachedObjects) {
             EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
             if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedEntity, parameter)) {
@@ -148,7 +158,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
           }
         }
 
-        if (getManagedEntitySubClasses() != null && cachedEntityMatcher != null) {
+        if (getManagedEntitySubClasses() != null && cachedEntityMatcher != null && !(cachedEntityMatcher instanceof IndexedCachedEntityMatcher)) {
           for (Class<? extends EntityImpl> entitySubClass : getManagedEntitySubClasses()) {
             Collection<CachedEntity> subclassCachedObjects = getEntityCache().findInCacheAsCachedObjects(entitySubClass);
             if (subclassCachedObjects != null) {
@@ -186,6 +196,17 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
 
     DbSqlSession dbSqlSession = getDbSqlSession();
 
+    if (entityMatcher instanceof IndexedCachedEntityMatcher) {
+      List<EntityImpl> result = new ArrayList<EntityImpl>();
+      for (CachedEntity cachedObject : findInCacheByIndex((IndexedCachedEntityMatcher<EntityImpl>) entityMatcher, parameter)) {
+        EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
+        if (entityMatcher.isRetained(null, cachedObjects, cachedEntity, parameter) && !dbSqlSession.isEntityToBeDeleted(cachedEntity)) {
+          result.add(cachedEntity);
+        }
+      }
+      return result;
+    }
+
     List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects.size());
     if (cachedObjects != null && entityMatcher != null) {
       for (CachedEntity cachedObject : cachedObjects) {
@@ -213,5 +234,12 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     return result;
   }
 
+  protected Collection<CachedEntity> findInCacheByIndex(IndexedCachedEntityMatcher<EntityImpl> entityMatcher, Object parameter) {
+    String indexValue = entityMatcher.getIndexValue(parameter);
+    if (indexValue == null) {
+      return new ArrayList<CachedEntity>(0);
+    }
+    return getEntityCache().findInCacheAsCachedObjects(entityMatcher.getIndex(), indexValue);
+  }
 
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
@@ -44,6 +45,11 @@ public interface EventSubscriptionDataManager extends DataManager<EventSubscript
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(final String eventName, final String tenantId);
 
+  List<String> findSignalEventSubscriptionIdsByEventName(final String eventName, final String tenantId, final String afterId, final int maxResults);
+
+  List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(final String eventName, final String tenantId,
+      final String fromId, final String toId, final Date createdBefore);
+
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName);
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByNameAndExecution(final String name, final String executionId);
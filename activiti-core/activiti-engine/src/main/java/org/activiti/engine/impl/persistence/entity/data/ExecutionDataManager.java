@@ -75,4 +75,6 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   void clearProcessInstanceLockTime(String processInstanceId);
 
+  boolean lockExecution(ExecutionEntity executionEntity);
+
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 
@@ -45,4 +46,16 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
 
   long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+  List<String> findFinishedRootHistoricProcessInstanceIds(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int maxResults);
+
+  List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds);
+
+  List<String> findHistoricSubTaskInstanceIdsByProcessInstanceIds(List<String> processInstanceIds);
+
+  /**
+   * Deletes the given historic process instances with all their history and byte arrays, by executing the delete
+   * statements immediately instead of at the flush. Doesn't delete sub process instances and subtasks.
+   */
+  void purgeHistoricProcessInstances(List<String> processInstanceIds);
+
 }
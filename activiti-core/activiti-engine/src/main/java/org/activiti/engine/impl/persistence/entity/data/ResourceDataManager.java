@@ -31,4 +31,6 @@ public interface ResourceDataManager extends DataManager<ResourceEntity> {
 
   List<ResourceEntity> findResourcesByDeploymentId(String deploymentId);
 
+  List<ResourceEntity> findResourcesWithoutBytesByDeploymentId(String deploymentId);
+
 }
@@ -16,7 +16,14 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.activiti.engine.ActivitiException;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
@@ -49,6 +56,53 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     return getDbSqlSession().selectList("selectByteArrays");
   }
 
+  @Override
+  public ByteArrayEntity findByIdWithoutBytes(String byteArrayEntityId) {
+    ByteArrayEntity cachedEntity = getEntityCache().findInCache(getManagedEntityClass(), byteArrayEntityId);
+    if (cachedEntity != null) {
+      return cachedEntity;
+    }
+    return (ByteArrayEntity) getDbSqlSession().selectOne("selectByteArrayWithoutBytes", byteArrayEntityId);
+  }
+
+  @Override
+  public boolean copyBytes(String byteArrayEntityId, OutputStream outputStream) {
+    ByteArrayEntity cachedEntity = getEntityCache().findInCache(getManagedEntityClass(), byteArrayEntityId);
+    if (cachedEntity != null) {
+      // it may have been changed in this transaction
+      return copyBytes(cachedEntity.getBytes(), outputStream);
+    }
+
+    // the stream of the column is only readable while its row is handled
+    AtomicBoolean copied = new AtomicBoolean();
+    getDbSqlSession().getSqlSession().select("selectByteArrayContent", byteArrayEntityId, resultContext -> {
+      @SuppressWarnings("unchecked")
+      Map<String, InputStream> row = (Map<String, InputStream>) resultContext.getResultObject();
+      InputStream bytes = row != null ? row.get("bytes") : null;
+      if (bytes != null) {
+        try (InputStream in = bytes) {
+          in.transferTo(outputStream);
+        } catch (IOException e) {
+          throw new ActivitiException("Couldn't copy the bytes of byte array " + byteArrayEntityId, e);
+        }
+        copied.set(true);
+      }
+    });
+    return copied.get();
+  }
+
+  protected boolean copyBytes(byte[] bytes, OutputStream outputStream) {
+    if (bytes == null) {
+      return false;
+    }
+    try {
+      outputStream.write(bytes);
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't copy the bytes of a byte array", e);
+    }
+    return true;
+  }
+
   @Override
   public void deleteByteArrayNoRevisionCheck(String byteArrayEntityId) {
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
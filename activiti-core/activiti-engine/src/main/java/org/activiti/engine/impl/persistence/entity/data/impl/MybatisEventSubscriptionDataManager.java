@@ -17,6 +17,7 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,7 @@ import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.CompensateEventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.CompensateEventSubscriptionEntityImpl;
@@ -153,6 +155,34 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return toSignalEventSubscriptionEntityList(result);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findSignalEventSubscriptionIdsByEventName(final String eventName, final String tenantId, final String afterId, final int maxResults) {
+    final Map<String, String> params = new HashMap<String, String>();
+    params.put("eventName", eventName);
+    params.put("afterId", afterId);
+    if (tenantId != null && !tenantId.equals(ProcessEngineConfiguration.NO_TENANT_ID)) {
+      params.put("tenantId", tenantId);
+    }
+    return getDbSqlSession().selectList("selectSignalEventSubscriptionIdsByEventName", new ListQueryParameterObject(params, 0, maxResults), false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(final String eventName, final String tenantId,
+      final String fromId, final String toId, final Date createdBefore) {
+    final Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    params.put("fromId", fromId);
+    params.put("toId", toId);
+    params.put("createdBefore", createdBefore);
+    if (tenantId != null && !tenantId.equals(ProcessEngineConfiguration.NO_TENANT_ID)) {
+      params.put("tenantId", tenantId);
+    }
+    List<EventSubscriptionEntity> result = getDbSqlSession().selectList("selectSignalEventSubscriptionsByEventNameAndIdRange", params);
+    return toSignalEventSubscriptionEntityList(result);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName) {
     final String query = "selectSignalEventSubscriptionsByProcessInstanceAndEventName";
@@ -18,12 +18,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.impl.ExecutionQueryImpl;
 import org.activiti.engine.impl.Page;
@@ -345,4 +348,24 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     getDbSqlSession().update("clearProcessInstanceLockTime", params);
   }
 
+  @Override
+  public boolean lockExecution(ExecutionEntity executionEntity) {
+    if (getDbSqlSession().isEntityInserted(executionEntity)) {
+      return true; // not visible to other transactions yet
+    }
+    if (!isReadCommitted()) {
+      // e.g. the repeatable read default of MySQL and MariaDB
+      return false;
+    }
+    return getDbSqlSession().update("lockExecution", executionEntity.getId()) == 1;
+  }
+
+  protected boolean isReadCommitted() {
+    try {
+      return getDbSqlSession().getSqlSession().getConnection().getTransactionIsolation() == Connection.TRANSACTION_READ_COMMITTED;
+    } catch (SQLException e) {
+      throw new ActivitiException("Could not get the transaction isolation level", e);
+    }
+  }
+
 }
@@ -18,15 +18,26 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
+import org.activiti.engine.impl.history.HistoricProcessInstancePurgeBuilderImpl;
+import org.activiti.engine.impl.persistence.entity.AttachmentEntityImpl;
+import org.activiti.engine.impl.persistence.entity.CommentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntityImpl;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceDataManager;
 
@@ -127,4 +138,40 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
     return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountByNativeQuery", parameterMap);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findFinishedRootHistoricProcessInstanceIds(HistoricProcessInstancePurgeBuilderImpl purgeCriteria, int maxResults) {
+    return getDbSqlSession().selectList("selectFinishedRootHistoricProcessInstanceIds", new ListQueryParameterObject(purgeCriteria, 0, maxResults), false);
+  }
+
+  @Override
+  public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds) {
+    return getDbSqlSession().getSqlSession().selectList("selectHistoricProcessInstanceIdsBySuperProcessInstanceIds", superProcessInstanceIds);
+  }
+
+  @Override
+  public List<String> findHistoricSubTaskInstanceIdsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbSqlSession().getSqlSession().selectList("selectHistoricSubTaskInstanceIdsByProcessInstanceIds", processInstanceIds);
+  }
+
+  @Override
+  public void purgeHistoricProcessInstances(List<String> processInstanceIds) {
+    // Bulk deletes, executed at the flush in the delete order of the entity they are registered for.
+    // Within an entity, they run in the order of registration: the byte arrays first, as they are found through the rows referencing them.
+    // The rows found through the tasks (identity links, comments and attachments) come before the tasks in the delete order.
+    List<String> ids = new ArrayList<String>(processInstanceIds);
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    dbSqlSession.delete("purgeAttachmentByteArrays", ids, AttachmentEntityImpl.class);
+    dbSqlSession.delete("purgeAttachments", ids, AttachmentEntityImpl.class);
+    dbSqlSession.delete("purgeComments", ids, CommentEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricIdentityLinks", ids, HistoricIdentityLinkEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricActivityInstances", ids, HistoricActivityInstanceEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricProcessInstances", ids, HistoricProcessInstanceEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricTaskInstances", ids, HistoricTaskInstanceEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricVariableInstanceByteArrays", ids, HistoricVariableInstanceEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricVariableInstances", ids, HistoricVariableInstanceEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricDetailByteArrays", ids, HistoricDetailEntityImpl.class);
+    dbSqlSession.delete("purgeHistoricDetails", ids, HistoricDetailEntityImpl.class);
+  }
+
 }
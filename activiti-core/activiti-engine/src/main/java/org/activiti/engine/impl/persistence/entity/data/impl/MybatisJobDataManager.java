@@ -57,6 +57,9 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
   @Override
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsToExecute(Page page) {
+    if (getProcessEngineConfiguration().isAsyncExecutorSkipLockedJobAcquisition()) {
+      return getDbSqlSession().selectList("selectJobsToExecuteSkipLocked", null, page);
+    }
     return getDbSqlSession().selectList("selectJobsToExecute", null, page);
   }
 
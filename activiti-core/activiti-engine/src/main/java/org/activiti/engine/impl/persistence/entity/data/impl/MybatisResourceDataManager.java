@@ -64,4 +64,10 @@ public class MybatisResourceDataManager extends AbstractDataManager<ResourceEnti
     return getDbSqlSession().selectList("selectResourcesByDeploymentId", deploymentId);
   }
 
+  @Override
+  public List<ResourceEntity> findResourcesWithoutBytesByDeploymentId(String deploymentId) {
+    // not put in the entity cache, so that resources fetched later on in the same command still get their bytes
+    return getDbSqlSession().getSqlSession().selectList("selectResourcesWithoutBytesByDeploymentId", deploymentId);
+  }
+
 }
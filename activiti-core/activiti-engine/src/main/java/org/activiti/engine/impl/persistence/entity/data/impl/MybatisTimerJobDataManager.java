@@ -70,6 +70,9 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
     Date now = getClock().getCurrentTime();
+    if (getProcessEngineConfiguration().isAsyncExecutorSkipLockedJobAcquisition()) {
+      return getDbSqlSession().selectList("selectTimerJobsToExecuteSkipLocked", now, page);
+    }
     return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
   }
 
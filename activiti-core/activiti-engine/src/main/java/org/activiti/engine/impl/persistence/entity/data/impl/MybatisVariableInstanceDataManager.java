@@ -76,6 +76,24 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Collection<String> taskIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("taskIds", taskIds);
+    params.put("names", names);
+    return getDbSqlSession().selectList("selectVariableInstancesByTaskIdsAndNames", params);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("executionIds", executionIds);
+    params.put("names", names);
+    return getDbSqlSession().selectList("selectVariableInstancesByExecutionIdsAndNames", params);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
@@ -17,16 +17,28 @@
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheIndex;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionByProcessInstanceMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionByProcessInstanceMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
     return entity.getProcessInstanceId() != null && entity.getProcessInstanceId().equals((String) parameter);
   }
 
+  @Override
+  public EntityCacheIndex<ExecutionEntity> getIndex() {
+    return EntityCacheIndex.EXECUTIONS_BY_PROCESS_INSTANCE_ID;
+  }
+
+  @Override
+  public String getIndexValue(Object parameter) {
+    return (String) parameter;
+  }
+
 }
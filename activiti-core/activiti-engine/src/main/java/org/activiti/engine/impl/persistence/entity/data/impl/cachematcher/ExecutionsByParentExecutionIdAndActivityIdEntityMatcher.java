@@ -20,12 +20,14 @@ import java.util.Collection;
 import java.util.Map;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheIndex;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
   @Override
   public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -37,4 +39,15 @@ public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends Cac
         && executionEntity.getActivityId() != null && activityIds.contains(executionEntity.getActivityId());
   }
 
+  @Override
+  public EntityCacheIndex<ExecutionEntity> getIndex() {
+    return EntityCacheIndex.EXECUTIONS_BY_PARENT_ID;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexValue(Object parameter) {
+    return (String) ((Map<String, Object>) parameter).get("parentExecutionId");
+  }
+
 }
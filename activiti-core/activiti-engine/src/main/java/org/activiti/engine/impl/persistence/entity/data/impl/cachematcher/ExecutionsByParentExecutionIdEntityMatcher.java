@@ -17,12 +17,14 @@
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheIndex;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -30,4 +32,14 @@ public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatc
     return entity.getParentId() != null && entity.getParentId().equals((String) parameter);
   }
 
+  @Override
+  public EntityCacheIndex<ExecutionEntity> getIndex() {
+    return EntityCacheIndex.EXECUTIONS_BY_PARENT_ID;
+  }
+
+  @Override
+  public String getIndexValue(Object parameter) {
+    return (String) parameter;
+  }
+
 }
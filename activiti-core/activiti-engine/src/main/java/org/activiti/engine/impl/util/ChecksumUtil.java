@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.persistence.entity.ResourceEntity;
+
+/**
+ * Calculates the checksums that are stored with deployments and their resources, so duplicate deployments can be detected without
+ * comparing the bytes of the resources.
+ */
+public class ChecksumUtil {
+
+  public static final String ALGORITHM = "SHA-256";
+
+  /**
+   * Returns the hex encoded digest of the given bytes, or null when there are no bytes.
+   */
+  public static String checksum(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    return HexFormat.of().formatHex(createMessageDigest().digest(bytes));
+  }
+
+  /**
+   * Returns the hex encoded digest of the names and checksums of the given resources. The resources are taken in the order of their
+   * names, so the result doesn't depend on the order in which they were added to the deployment.
+   */
+  public static String checksum(Collection<ResourceEntity> resources) {
+    MessageDigest messageDigest = createMessageDigest();
+    resources.stream()
+        .sorted(Comparator.comparing(ResourceEntity::getName))
+        .forEach(resource -> {
+          messageDigest.update(resource.getName().getBytes(UTF_8));
+          messageDigest.update((byte) 0);
+          if (resource.getChecksum() != null) {
+            messageDigest.update(resource.getChecksum().getBytes(UTF_8));
+          }
+          messageDigest.update((byte) 0);
+        });
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  protected static MessageDigest createMessageDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new ActivitiException("couldn't create " + ALGORITHM + " message digest", e);
+    }
+  }
+
+}
@@ -55,4 +55,8 @@ public class BigDecimalType implements VariableType {
                        .map(BigDecimal.class::isAssignableFrom)
                        .orElse(true);
     }
+
+    public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -57,4 +57,8 @@ public class BooleanType implements VariableType {
     }
     return Boolean.class.isAssignableFrom(value.getClass()) || boolean.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
@@ -45,4 +45,8 @@ public class ByteArrayType implements VariableType {
     }
     return byte[].class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
@@ -46,6 +46,10 @@ public class CustomObjectType implements VariableType {
     return this.theClass.isAssignableFrom(value.getClass());
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public boolean isCachable() {
     return true;
   }
@@ -38,6 +38,10 @@ public class DateType implements VariableType {
     return Date.class.isAssignableFrom(value.getClass());
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.engine.ActivitiException;
 
@@ -34,6 +35,12 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   private final List<VariableType> typesList = new ArrayList<VariableType>();
   private final Map<String, VariableType> typesMap = new HashMap<String, VariableType>();
 
+  /**
+   * The type found for a value class, for the classes for which all types that were asked to store the value
+   * answered based on the class only. Cleared whenever the types change.
+   */
+  private final Map<Class<?>, VariableType> typesByValueClass = new ConcurrentHashMap<Class<?>, VariableType>();
+
   public DefaultVariableTypes addType(VariableType type) {
     return addType(type, typesList.size());
   }
@@ -41,6 +48,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   public DefaultVariableTypes addType(VariableType type, int index) {
     typesList.add(index, type);
     typesMap.put(type.getTypeName(), type);
+    typesByValueClass.clear();
     return this;
   }
 
@@ -51,6 +59,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     for (VariableType type : typesList) {
       typesMap.put(type.getTypeName(), type);
     }
+    typesByValueClass.clear();
   }
 
   public VariableType getVariableType(String typeName) {
@@ -58,6 +67,30 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   }
 
   public VariableType findVariableType(Object value) {
+    if (value == null) {
+      return findVariableTypeInList(value);
+    }
+
+    Class<?> valueClass = value.getClass();
+    VariableType cachedType = typesByValueClass.get(valueClass);
+    if (cachedType != null) {
+      return cachedType;
+    }
+
+    boolean determinedByClass = true;
+    for (VariableType type : typesList) {
+      determinedByClass = determinedByClass && type.isAbleToStoreDeterminedByClass(valueClass);
+      if (type.isAbleToStore(value)) {
+        if (determinedByClass) {
+          typesByValueClass.put(valueClass, type);
+        }
+        return type;
+      }
+    }
+    throw new ActivitiException("couldn't find a variable type that is able to serialize " + value);
+  }
+
+  protected VariableType findVariableTypeInList(Object value) {
     for (VariableType type : typesList) {
       if (type.isAbleToStore(value)) {
         return type;
@@ -82,6 +115,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   public VariableTypes removeType(VariableType type) {
     typesList.remove(type);
     typesMap.remove(type.getTypeName());
+    typesByValueClass.clear();
     return this;
   }
 }
@@ -45,4 +45,8 @@ public class DoubleType implements VariableType {
     }
     return Double.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
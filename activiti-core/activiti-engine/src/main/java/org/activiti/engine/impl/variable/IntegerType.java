@@ -54,4 +54,8 @@ public class IntegerType implements VariableType {
     }
     return Integer.class.isAssignableFrom(value.getClass()) || int.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
@@ -86,6 +86,10 @@ public class JPAEntityListVariableType implements VariableType, CacheableVariabl
     return canStore;
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return !List.class.isAssignableFrom(valueClass);
+  }
+
   @Override
   public void setValue(Object value, ValueFields valueFields) {
     EntityManagerSession entityManagerSession = Context.getCommandContext().getSession(EntityManagerSession.class);
@@ -52,6 +52,10 @@ public class JPAEntityVariableType implements VariableType, CacheableVariable {
     return mappings.isJPAEntity(value);
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public void setValue(Object value, ValueFields valueFields) {
     EntityManagerSession entityManagerSession = Context.getCommandContext().getSession(EntityManagerSession.class);
     if (entityManagerSession == null) {
@@ -38,6 +38,10 @@ public class JodaDateTimeType implements VariableType {
     return DateTime.class.isAssignableFrom(value.getClass());
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
@@ -38,6 +38,10 @@ public class JodaDateType implements VariableType {
     return LocalDate.class.isAssignableFrom(value.getClass());
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
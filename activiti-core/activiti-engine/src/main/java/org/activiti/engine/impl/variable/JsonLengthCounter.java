@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures the JSON of a variable value against a length limit without building the JSON: the value is written
+ * to this writer, which only counts the characters and aborts the writing once the limit is passed. This way
+ * choosing between {@link JsonType} and {@link LongJsonType} costs at most the limit in characters, and a large
+ * value is only serialized completely once, by the type that stores it.
+ */
+class JsonLengthCounter extends Writer {
+
+  private final int limit;
+  private int length;
+
+  JsonLengthCounter(int limit) {
+    this.limit = limit;
+  }
+
+  /**
+   * @return whether the JSON of the given value has more than limit characters
+   */
+  static boolean isLongerThan(ObjectMapper objectMapper, Object value, int limit) throws IOException {
+    JsonLengthCounter counter = new JsonLengthCounter(limit);
+    try {
+      objectMapper.writeValue(counter, value);
+    } catch (IOException e) {
+      // Jackson may have wrapped the exception thrown when the limit was passed
+      if (!counter.isLimitExceeded()) {
+        throw e;
+      }
+    }
+    return counter.isLimitExceeded();
+  }
+
+  boolean isLimitExceeded() {
+    return length > limit;
+  }
+
+  @Override
+  public void write(char[] buffer, int offset, int count) throws IOException {
+    count(count);
+  }
+
+  @Override
+  public void write(String string, int offset, int count) throws IOException {
+    count(count);
+  }
+
+  @Override
+  public void write(int character) throws IOException {
+    count(1);
+  }
+
+  private void count(int count) throws IOException {
+    length += count;
+    if (isLimitExceeded()) {
+      throw new IOException("JSON is longer than " + limit + " characters");
+    }
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+}
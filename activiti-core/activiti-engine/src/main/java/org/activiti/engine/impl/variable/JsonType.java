@@ -17,6 +17,8 @@
 
 package org.activiti.engine.impl.variable;
 
+import java.io.IOException;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -81,8 +83,8 @@ public class JsonType implements VariableType {
 
     if (JsonNode.class.isAssignableFrom(value.getClass()) || (objectMapper.canSerialize(value.getClass()) && serializePOJOsInVariablesToJson)) {
       try {
-        return objectMapper.writeValueAsString(value).length() <= maxLength;
-      } catch (JsonProcessingException e) {
+        return !JsonLengthCounter.isLongerThan(objectMapper, value, maxLength);
+      } catch (IOException e) {
         logger.error("Error writing json variable of type " + value.getClass(), e);
       }
     }
@@ -90,4 +92,8 @@ public class JsonType implements VariableType {
     return false;
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return !JsonNode.class.isAssignableFrom(valueClass) && !(objectMapper.canSerialize(valueClass) && serializePOJOsInVariablesToJson);
+  }
+
 }
@@ -35,6 +35,10 @@ public class LocalDateTimeType implements VariableType {
         return LocalDateTime.class.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
@@ -37,6 +37,10 @@ public class LocalDateType implements VariableType {
         return LocalDate.class.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
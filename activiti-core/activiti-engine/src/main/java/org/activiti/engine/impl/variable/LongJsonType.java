@@ -20,7 +20,7 @@ package org.activiti.engine.impl.variable;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import org.activiti.engine.ActivitiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,8 +57,8 @@ public class LongJsonType extends SerializableType {
         (objectMapper.canSerialize(value.getClass()) &&
             serializePOJOsInVariablesToJson)) {
       try {
-        return objectMapper.writeValueAsString(value).length() >= minLength;
-      } catch (JsonProcessingException e) {
+        return JsonLengthCounter.isLongerThan(objectMapper, value, minLength - 1);
+      } catch (IOException e) {
         logger.error("Error writing json variable of type " + value.getClass(), e);
       }
     }
@@ -66,20 +66,20 @@ public class LongJsonType extends SerializableType {
     return false;
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return !JsonNode.class.isAssignableFrom(valueClass) && !(objectMapper.canSerialize(valueClass) && serializePOJOsInVariablesToJson);
+  }
+
   public byte[] serialize(Object value, ValueFields valueFields) {
     if (value == null) {
       return null;
     }
-    String json = null;
+    valueFields.setTextValue2(value.getClass().getName());
     try {
-      json = objectMapper.writeValueAsString(value);
+      // straight to UTF-8 bytes, without the intermediate string
+      return objectMapper.writeValueAsBytes(value);
     } catch (JsonProcessingException e) {
       logger.error("Error writing long json variable " + valueFields.getName(), e);
-    }
-    try {
-      valueFields.setTextValue2(value.getClass().getName());
-      return json.getBytes(StandardCharsets.UTF_8);
-    } catch (Exception e) {
       throw new ActivitiException("Error getting bytes from json variable", e);
     }
   }
@@ -41,4 +41,8 @@ public class LongStringType extends SerializableType {
     }
     return false;
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return !String.class.equals(valueClass);
+  }
 }
@@ -50,4 +50,8 @@ public class LongType implements VariableType {
     }
     return Long.class.isAssignableFrom(value.getClass()) || long.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
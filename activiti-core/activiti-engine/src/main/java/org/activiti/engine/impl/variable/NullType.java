@@ -39,6 +39,10 @@ public class NullType implements VariableType {
     return (value == null);
   }
 
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
+
   public void setValue(Object value, ValueFields valueFields) {
   }
 }
@@ -54,4 +54,8 @@ public class ShortType implements VariableType {
     }
     return Short.class.isAssignableFrom(value.getClass()) || short.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
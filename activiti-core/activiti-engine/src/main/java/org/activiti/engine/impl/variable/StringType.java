@@ -53,4 +53,8 @@ public class StringType implements VariableType {
     }
     return false;
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return !String.class.equals(valueClass);
+  }
 }
@@ -54,4 +54,8 @@ public class UUIDType implements VariableType {
     }
     return UUID.class.isAssignableFrom(value.getClass());
   }
+
+  public boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return true;
+  }
 }
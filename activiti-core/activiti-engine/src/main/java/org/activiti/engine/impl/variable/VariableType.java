@@ -49,6 +49,14 @@ public interface VariableType {
    */
   boolean isAbleToStore(Object value);
 
+  /**
+   * @return whether {@link #isAbleToStore(Object)} gives the same answer for all values of the specified class, which allows
+   *         the type that is found for a value class to be cached. Types answering false (the default) are asked about every value.
+   */
+  default boolean isAbleToStoreDeterminedByClass(Class<?> valueClass) {
+    return false;
+  }
+
   /**
    * Stores the specified value in the supplied {@link ValueFields}.
    */
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.query;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * One page of results of a {@link KeysetPageableQuery}.
+ *
+ */
+@Internal
+public interface KeysetPage<U> {
+
+  /** The results of this page. */
+  List<U> getContent();
+
+  /**
+   * The token to pass to {@link KeysetPageableQuery#listPageAfter(String, int)} to get the next page,
+   * or null if this is the last page.
+   */
+  String getContinuationToken();
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.query;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A query that can be paged with a keyset (seek) cursor instead of an offset: every page continues right after the
+ * last result of the previous page, so the database doesn't need to skip the results of all the previous pages.
+ *
+ * The query can be ordered by the id, or by one other property of which the value can't be null (like the create
+ * time). The id is always used as the last order column, so results with the same value are paged in a stable order.
+ *
+ */
+@Internal
+public interface KeysetPageableQuery<U> {
+
+  /**
+   * Executes the query and returns at most maxResults results, continuing after the page the given token was
+   * returned with.
+   *
+   * @param continuationToken
+   *          the token of the previous page, or null to get the first page.
+   * @throws ActivitiIllegalArgumentException
+   *           when the query is ordered by a property that doesn't support keyset paging, or when the token is
+   *           invalid or was created for a different order.
+   */
+  KeysetPage<U> listPageAfter(String continuationToken, int maxResults);
+
+}
@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.query.KeysetPageableQuery;
 import org.activiti.engine.query.Query;
 
 /**
@@ -30,7 +31,7 @@ import org.activiti.engine.query.Query;
  *
  */
 @Internal
-public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, ProcessInstance> {
+public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, ProcessInstance>, KeysetPageableQuery<ProcessInstance> {
 
   /** Select the process instance with the given id */
   ProcessInstanceQuery processInstanceId(String processInstanceId);
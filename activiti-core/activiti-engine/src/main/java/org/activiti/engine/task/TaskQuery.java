@@ -17,7 +17,9 @@
 package org.activiti.engine.task;
 
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.query.KeysetPageableQuery;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,7 +27,7 @@ import java.util.List;
  *
  */
 @Internal
-public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
+public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task>, KeysetPageableQuery<Task> {
 
   /** Only select tasks which don't have an assignee. */
   TaskQuery taskUnassigned();
@@ -57,4 +59,16 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
    * Only selects tasks which are active (ie. not suspended)
    */
   TaskQuery active();
+
+  /**
+   * Loads the variables included with {@link #includeTaskLocalVariables()} and {@link #includeProcessVariables()} in a second step: the page of tasks is selected first, and the
+   * variables of those tasks and their process instances are then fetched with one query per variable scope. This avoids joining every task with all of its variables, so
+   * {@link #limitTaskVariables(Integer)} does not apply.
+   */
+  TaskQuery fetchVariablesSeparately();
+
+  /**
+   * Only include the variables with the given names when including task local or process variables.
+   */
+  TaskQuery limitTaskVariableNames(Collection<String> variableNames);
 }
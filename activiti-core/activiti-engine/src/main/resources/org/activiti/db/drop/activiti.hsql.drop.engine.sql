@@ -18,6 +18,7 @@ drop table if exists ACT_RU_INTEGRATION cascade;
 
 drop index if exists ACT_IDX_EXEC_BUSKEY;
 drop index if exists ACT_IDX_TASK_CREATE;
+drop index if exists ACT_IDX_DEPLOYMENT_NAME;
 drop index if exists ACT_IDX_IDENT_LNK_USER;
 drop index if exists ACT_IDX_IDENT_LNK_GROUP;
 drop index if exists ACT_IDX_VARIABLE_TASK_ID;
@@ -0,0 +1,5 @@
+update ACT_GE_PROPERTY set VALUE_ = '8.2.0' where NAME_ = 'schema.version';
+
+alter table ACT_RE_DEPLOYMENT add CHECKSUM_ NVARCHAR2(255);
+alter table ACT_GE_BYTEARRAY add CHECKSUM_ NVARCHAR2(255);
+create index ACT_IDX_DEPLOYMENT_NAME on ACT_RE_DEPLOYMENT(NAME_);
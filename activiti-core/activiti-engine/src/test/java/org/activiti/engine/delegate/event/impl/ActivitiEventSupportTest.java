@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.junit.Test;
+
+public class ActivitiEventSupportTest {
+
+    private ActivitiEventSupport eventSupport = new ActivitiEventSupport();
+
+    @Test
+    public void hasListeners_should_returnFalse_whenNoListenerIsRegistered() {
+        assertThat(eventSupport.hasListeners(ActivitiEventType.SEQUENCEFLOW_TAKEN)).isFalse();
+    }
+
+    @Test
+    public void hasListeners_should_onlyReturnTrueForRegisteredTypes_whenListenerIsTyped() {
+        //given
+        eventSupport.addEventListener(new RecordingListener(), ActivitiEventType.TASK_CREATED);
+
+        //then
+        assertThat(eventSupport.hasListeners(ActivitiEventType.TASK_CREATED)).isTrue();
+        assertThat(eventSupport.hasListeners(ActivitiEventType.SEQUENCEFLOW_TAKEN)).isFalse();
+    }
+
+    @Test
+    public void hasListeners_should_returnFalse_whenListenerIsRemoved() {
+        //given
+        RecordingListener listener = new RecordingListener();
+        eventSupport.addEventListener(listener);
+        eventSupport.addEventListener(listener, ActivitiEventType.TASK_CREATED);
+
+        //when
+        eventSupport.removeEventListener(listener);
+
+        //then
+        assertThat(eventSupport.hasListeners(ActivitiEventType.TASK_CREATED)).isFalse();
+    }
+
+    @Test
+    public void dispatchEvent_should_notifyGlobalListenersBeforeTypedListeners() {
+        //given
+        List<String> calls = new ArrayList<>();
+        eventSupport.addEventListener(new RecordingListener(calls, "typed"), ActivitiEventType.TASK_CREATED);
+        eventSupport.addEventListener(new RecordingListener(calls, "global"));
+
+        //when
+        eventSupport.dispatchEvent(new ActivitiEventImpl(ActivitiEventType.TASK_CREATED));
+        eventSupport.dispatchEvent(new ActivitiEventImpl(ActivitiEventType.TASK_COMPLETED));
+
+        //then
+        assertThat(calls).containsExactly("global", "typed", "global");
+    }
+
+    @Test
+    public void dispatchEvent_should_notNotifyListener_whenRegisteredForNullType() {
+        //given
+        List<String> calls = new ArrayList<>();
+        eventSupport.addEventListener(new RecordingListener(calls, "typed"), (ActivitiEventType) null);
+
+        //when
+        eventSupport.dispatchEvent(new ActivitiEventImpl(ActivitiEventType.TASK_CREATED));
+
+        //then
+        assertThat(calls).isEmpty();
+    }
+
+    private static class RecordingListener implements ActivitiEventListener {
+
+        private final List<String> calls;
+        private final String name;
+
+        RecordingListener() {
+            this(new ArrayList<>(), "listener");
+        }
+
+        RecordingListener(List<String> calls, String name) {
+            this.calls = calls;
+            this.name = name;
+        }
+
+        @Override
+        public void onEvent(ActivitiEvent event) {
+            calls.add(name);
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return true;
+        }
+    }
+}
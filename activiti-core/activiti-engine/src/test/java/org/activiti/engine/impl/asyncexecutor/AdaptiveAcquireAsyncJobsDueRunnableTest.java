@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveAcquireAsyncJobsDueRunnableTest {
+
+    private DefaultAsyncJobExecutor asyncExecutor;
+
+    private CommandExecutor commandExecutor;
+
+    private AdaptiveAcquireAsyncJobsDueRunnable runnable;
+
+    @Before
+    public void setUp() {
+        asyncExecutor = mock(DefaultAsyncJobExecutor.class);
+        commandExecutor = mock(CommandExecutor.class);
+        given(asyncExecutor.getMinAsyncJobAcquireWaitTimeInMillis()).willReturn(100);
+        given(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis()).willReturn(1000);
+        given(asyncExecutor.executeAsyncJob(any())).willReturn(true);
+        runnable = new AdaptiveAcquireAsyncJobsDueRunnable(asyncExecutor);
+    }
+
+    @Test
+    public void acquireAndExecuteJobs_should_notQueryJobs_whenExecutorIsFull() {
+        given(asyncExecutor.getRemainingCapacity()).willReturn(0);
+
+        runnable.acquireAndExecuteJobs(commandExecutor);
+
+        verify(commandExecutor, never()).execute(any(AcquireJobsCmd.class));
+        assertThat(runnable.getMillisToWait()).isEqualTo(100);
+    }
+
+    @Test
+    public void acquireAndExecuteJobs_should_acquireAgainImmediately_whenAllCapacityIsUsed() {
+        given(asyncExecutor.getRemainingCapacity()).willReturn(2);
+        givenAcquiredJobs(2);
+
+        runnable.acquireAndExecuteJobs(commandExecutor);
+
+        assertThat(runnable.getMillisToWait()).isZero();
+    }
+
+    @Test
+    public void acquireAndExecuteJobs_should_backOffExponentially_whenNoJobsAreFound() {
+        given(asyncExecutor.getRemainingCapacity()).willReturn(10);
+        givenAcquiredJobs(0);
+
+        long[] waitTimes = new long[6];
+        for (int i = 0; i < waitTimes.length; i++) {
+            runnable.acquireAndExecuteJobs(commandExecutor);
+            waitTimes[i] = runnable.getMillisToWait();
+        }
+
+        assertThat(waitTimes).containsExactly(100, 200, 400, 800, 1000, 1000);
+    }
+
+    @Test
+    public void wakeUp_should_resetBackOff() {
+        given(asyncExecutor.getRemainingCapacity()).willReturn(10);
+        givenAcquiredJobs(0);
+        runnable.acquireAndExecuteJobs(commandExecutor);
+        runnable.acquireAndExecuteJobs(commandExecutor);
+
+        runnable.wakeUp();
+        runnable.acquireAndExecuteJobs(commandExecutor);
+
+        assertThat(runnable.getMillisToWait()).isEqualTo(100);
+    }
+
+    private void givenAcquiredJobs(int numberOfJobs) {
+        AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
+        for (int i = 0; i < numberOfJobs; i++) {
+            JobEntityImpl job = new JobEntityImpl();
+            job.setId("job" + i);
+            acquiredJobs.addJob(job);
+        }
+        given(commandExecutor.execute(any(AcquireJobsCmd.class))).willReturn(acquiredJobs);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class BoundedVirtualThreadExecutorServiceTest {
+
+    private final BoundedVirtualThreadExecutorService executorService = new BoundedVirtualThreadExecutorService("test-", 2);
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void execute_should_runTaskOnVirtualThread() throws Exception {
+        CompletableFuture<Boolean> isVirtual = new CompletableFuture<Boolean>();
+
+        executorService.execute(() -> isVirtual.complete(Thread.currentThread().isVirtual()));
+
+        assertThat(isVirtual.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void execute_should_rejectTask_whenMaxConcurrencyIsReached() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        executorService.execute(() -> await(blocked));
+        executorService.execute(() -> await(blocked));
+        assertThat(executorService.getAvailablePermits()).isZero();
+
+        assertThatExceptionOfType(RejectedExecutionException.class)
+            .isThrownBy(() -> executorService.execute(() -> {}));
+
+        blocked.countDown();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.getAvailablePermits()).isEqualTo(2);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
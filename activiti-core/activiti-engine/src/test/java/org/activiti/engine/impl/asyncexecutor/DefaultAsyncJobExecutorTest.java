@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.Test;
+
+public class DefaultAsyncJobExecutorTest {
+
+    @Test
+    public void applyConfig_should_leaveConnectionsForAcquisition_whenVirtualThreadMaxConcurrencyIsNotSet() {
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+
+        asyncExecutor.applyConfig(configuration(10, -1));
+
+        assertThat(asyncExecutor.getVirtualThreadMaxConcurrency()).isEqualTo(10 - DefaultAsyncJobExecutor.VIRTUAL_THREAD_RESERVED_CONNECTIONS);
+    }
+
+    @Test
+    public void applyConfig_should_allowOneJob_whenConnectionPoolIsSmall() {
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+
+        asyncExecutor.applyConfig(configuration(2, -1));
+
+        assertThat(asyncExecutor.getVirtualThreadMaxConcurrency()).isEqualTo(1);
+    }
+
+    @Test
+    public void applyConfig_should_useConfiguredVirtualThreadMaxConcurrency() {
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+
+        asyncExecutor.applyConfig(configuration(10, 10));
+
+        assertThat(asyncExecutor.getVirtualThreadMaxConcurrency()).isEqualTo(10);
+    }
+
+    private StandaloneInMemProcessEngineConfiguration configuration(int poolMaximumActiveConnections, int virtualThreadMaxConcurrency) {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:activiti", "sa", "");
+        dataSource.setPoolMaximumActiveConnections(poolMaximumActiveConnections);
+        StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setDataSource(dataSource);
+        processEngineConfiguration.setAsyncExecutorUseVirtualThreads(true);
+        processEngineConfiguration.setAsyncExecutorVirtualThreadMaxConcurrency(virtualThreadMaxConcurrency);
+        return processEngineConfiguration;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.runtime.Clock;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SignalEventBroadcastCmdTest {
+
+    @Mock
+    private CommandContext commandContext;
+
+    @Mock
+    private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    @Mock
+    private EventSubscriptionEntityManager eventSubscriptionEntityManager;
+
+    @Mock
+    private Clock clock;
+
+    private final List<String> chunkBoundaries = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        given(commandContext.getProcessEngineConfiguration()).willReturn(processEngineConfiguration);
+        given(commandContext.getEventSubscriptionEntityManager()).willReturn(eventSubscriptionEntityManager);
+        given(processEngineConfiguration.getClock()).willReturn(clock);
+        given(clock.getCurrentTime()).willReturn(new Date());
+    }
+
+    @Test
+    public void execute_shouldUseHighestIdOfPageAsChunkBoundary_WhenIdsAreNotReturnedInOrder() {
+        //given
+        given(eventSubscriptionEntityManager.findSignalEventSubscriptionIdsByEventName("signal", null, null, 3))
+            .willReturn(asList("13", "11", "12"));
+        given(eventSubscriptionEntityManager.findSignalEventSubscriptionIdsByEventName("signal", null, "13", 3))
+            .willReturn(asList("16", "14", "15"));
+        given(eventSubscriptionEntityManager.findSignalEventSubscriptionIdsByEventName("signal", null, "16", 3))
+            .willReturn(emptyList());
+
+        //when
+        List<String> jobIds = new RecordingSignalEventBroadcastCmd("signal", 3).execute(commandContext);
+
+        //then
+        assertThat(jobIds).hasSize(2);
+        assertThat(chunkBoundaries).containsExactly("null-13", "13-16");
+    }
+
+    @Test
+    public void execute_shouldStopAfterPartialPage() {
+        //given
+        given(eventSubscriptionEntityManager.findSignalEventSubscriptionIdsByEventName("signal", null, null, 3))
+            .willReturn(asList("12", "11"));
+
+        //when
+        List<String> jobIds = new RecordingSignalEventBroadcastCmd("signal", 3).execute(commandContext);
+
+        //then
+        assertThat(jobIds).hasSize(1);
+        assertThat(chunkBoundaries).containsExactly("null-12");
+    }
+
+    private class RecordingSignalEventBroadcastCmd extends SignalEventBroadcastCmd {
+
+        RecordingSignalEventBroadcastCmd(String eventName, int chunkSize) {
+            super(eventName, null, chunkSize);
+        }
+
+        @Override
+        protected String scheduleChunk(CommandContext commandContext, String fromId, String toId, Date createdBefore) {
+            chunkBoundaries.add(fromId + "-" + toId);
+            return "job" + chunkBoundaries.size();
+        }
+    }
+}
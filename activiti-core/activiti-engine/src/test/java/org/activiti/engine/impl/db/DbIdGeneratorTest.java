@@ -0,0 +1,167 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.junit.Test;
+
+public class DbIdGeneratorTest {
+
+    private BlockCommandExecutor commandExecutor;
+
+    @Test
+    public void getNextId_should_returnConsecutiveIds_acrossBlocks() {
+        DbIdGenerator idGenerator = idGenerator(3, false);
+
+        List<String> ids = new ArrayList<String>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+
+        assertThat(ids).containsExactly("1", "2", "3", "4", "5", "6", "7");
+        assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void getNextId_should_returnUniqueIds_whenCalledConcurrently() throws Exception {
+        DbIdGenerator idGenerator = idGenerator(10, true);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(ids).hasSize(8000);
+    }
+
+    @Test
+    public void getNextId_should_prefetchNextBlock_whenHalfOfBlockIsUsed() {
+        DbIdGenerator idGenerator = idGenerator(10, true);
+
+        for (int i = 0; i < 6; i++) {
+            idGenerator.getNextId();
+        }
+        idGenerator.prefetchedBlock.get().join();
+
+        assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+        for (int i = 0; i < 4; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(idGenerator.getNextId()).isEqualTo("11");
+        assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getNextId_should_prefetchOnConfiguredExecutor() {
+        DbIdGenerator idGenerator = idGenerator(10, true);
+        List<Runnable> prefetches = new ArrayList<Runnable>();
+        idGenerator.setPrefetchExecutor(prefetches::add);
+
+        for (int i = 0; i < 6; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(prefetches).hasSize(1);
+        assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(1);
+
+        prefetches.get(0).run();
+        assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getNextId_should_useOverriddenGetNewBlock() {
+        DbIdGenerator idGenerator = new DbIdGenerator() {
+            @Override
+            protected synchronized void getNewBlock() {
+                nextId = 100;
+                lastId = 102;
+            }
+        };
+
+        assertThat(idGenerator.getNextId()).isEqualTo("100");
+        assertThat(idGenerator.getNextId()).isEqualTo("101");
+    }
+
+    private DbIdGenerator idGenerator(int idBlockSize, boolean prefetchEnabled) {
+        commandExecutor = new BlockCommandExecutor(idBlockSize);
+        DbIdGenerator idGenerator = new DbIdGenerator();
+        idGenerator.setIdBlockSize(idBlockSize);
+        idGenerator.setPrefetchEnabled(prefetchEnabled);
+        idGenerator.setCommandExecutor(commandExecutor);
+        return idGenerator;
+    }
+
+    /**
+     * Hands out id blocks like {@link GetNextIdBlockCmd}, from an in-memory value instead of the property table.
+     */
+    private static class BlockCommandExecutor implements CommandExecutor {
+
+        private final int idBlockSize;
+        private final AtomicLong nextDbId = new AtomicLong(1);
+        private final AtomicInteger fetchedBlocks = new AtomicInteger();
+
+        private BlockCommandExecutor(int idBlockSize) {
+            this.idBlockSize = idBlockSize;
+        }
+
+        @Override
+        public CommandConfig getDefaultConfig() {
+            return new CommandConfig();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(CommandConfig config, Command<T> command) {
+            assertThat(command).isInstanceOf(GetNextIdBlockCmd.class);
+            long nextId = nextDbId.getAndAdd(idBlockSize);
+            fetchedBlocks.incrementAndGet();
+            return (T) new IdBlock(nextId, nextId + idBlockSize - 1);
+        }
+
+        @Override
+        public <T> T execute(Command<T> command) {
+            return execute(getDefaultConfig(), command);
+        }
+    }
+}
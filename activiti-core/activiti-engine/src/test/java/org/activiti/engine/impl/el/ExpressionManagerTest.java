@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import jakarta.el.ELResolver;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import org.activiti.core.el.ActivitiElContext;
+import org.activiti.engine.delegate.VariableScope;
+import org.junit.Test;
+
+public class ExpressionManagerTest {
+
+    private final ExpressionManager expressionManager = new ExpressionManager(false);
+
+    @Test
+    public void createElContext_should_shareResolversAndFunctions_betweenVariableScopes() {
+        ActivitiElContext firstContext = expressionManager.createElContext(mock(VariableScope.class));
+        ActivitiElContext secondContext = expressionManager.createElContext(mock(VariableScope.class));
+
+        assertThat(firstContext.getELResolver()).isNotSameAs(secondContext.getELResolver());
+        assertThat(firstContext.getFunctionMapper()).isSameAs(secondContext.getFunctionMapper());
+        assertThat(expressionManager.getSharedElResolver()).isSameAs(expressionManager.getSharedElResolver());
+        assertThat(firstContext.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+    }
+
+    @Test
+    public void setFunction_should_notChangeFunctionsOfOtherContexts() throws Exception {
+        ActivitiElContext firstContext = expressionManager.createElContext(mock(VariableScope.class));
+        ActivitiElContext secondContext = expressionManager.createElContext(mock(VariableScope.class));
+        Method method = ExpressionManagerTest.class.getMethod("customFunction");
+
+        firstContext.setFunction("test", "custom", method);
+
+        assertThat(firstContext.getFunctionMapper().resolveFunction("test", "custom")).isEqualTo(method);
+        assertThat(firstContext.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+        assertThat(secondContext.getFunctionMapper().resolveFunction("test", "custom")).isNull();
+    }
+
+    @Test
+    public void setCustomELResolvers_should_rebuildSharedResolver() {
+        ELResolver sharedElResolver = expressionManager.getSharedElResolver();
+
+        expressionManager.setCustomELResolvers(Collections.singletonList(mock(ELResolver.class)));
+
+        assertThat(expressionManager.getSharedElResolver()).isNotSameAs(sharedElResolver);
+    }
+
+    @Test
+    public void setBeans_should_rebuildSharedResolver() {
+        ELResolver sharedElResolver = expressionManager.getSharedElResolver();
+
+        expressionManager.setBeans(Map.of("bean", "value"));
+
+        assertThat(expressionManager.getSharedElResolver()).isNotSameAs(sharedElResolver);
+    }
+
+    @Test
+    public void setCustomFunctionProviders_should_rebuildFunctionMapper() throws Exception {
+        Method method = ExpressionManagerTest.class.getMethod("customFunction");
+        expressionManager.createElContext(mock(VariableScope.class));
+
+        expressionManager.setCustomFunctionProviders(Collections.singletonList(elContext -> elContext.setFunction("test", "custom", method)));
+
+        assertThat(expressionManager.createElContext(mock(VariableScope.class)).getFunctionMapper().resolveFunction("test", "custom"))
+            .isEqualTo(method);
+    }
+
+    public static String customFunction() {
+        return "custom";
+    }
+}
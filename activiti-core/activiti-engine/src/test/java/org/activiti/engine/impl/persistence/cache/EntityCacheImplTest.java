@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.junit.Test;
+
+public class EntityCacheImplTest {
+
+    private final EntityCacheImpl entityCache = new EntityCacheImpl();
+
+    @Test
+    public void findInCacheAsCachedObjects_should_returnEntitiesWithIndexedValue_whenCachedBeforeIndexIsUsed() {
+        entityCache.put(execution("child1", "parent"), true);
+        entityCache.put(execution("child2", "parent"), true);
+        entityCache.put(execution("other", "otherParent"), true);
+
+        Collection<CachedEntity> children = entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent");
+
+        assertThat(children)
+            .extracting(cachedEntity -> cachedEntity.getEntity().getId())
+            .containsExactlyInAnyOrder("child1", "child2");
+    }
+
+    @Test
+    public void findInCacheAsCachedObjects_should_returnEntitiesWithIndexedValue_whenCachedAfterIndexIsUsed() {
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).isEmpty();
+
+        entityCache.put(execution("child1", "parent"), true);
+        entityCache.put(execution("root", null), true);
+
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent"))
+            .extracting(cachedEntity -> cachedEntity.getEntity().getId())
+            .containsExactly("child1");
+    }
+
+    @Test
+    public void findInCacheAsCachedObjects_should_notReturnOtherEntityTypes() {
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setId("parent");
+        entityCache.put(task, true);
+
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).isEmpty();
+    }
+
+    @Test
+    public void reindex_should_moveEntity_whenIndexedValueChanged() {
+        ExecutionEntityImpl child = execution("child", "parent");
+        entityCache.put(child, true);
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).hasSize(1);
+
+        child.setParentId("newParent");
+        entityCache.reindex(child);
+
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).isEmpty();
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "newParent")).hasSize(1);
+    }
+
+    @Test
+    public void cacheRemove_should_removeEntityFromIndex() {
+        entityCache.put(execution("child", "parent"), true);
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).hasSize(1);
+
+        entityCache.cacheRemove(ExecutionEntityImpl.class, "child");
+
+        assertThat(entityCache.findInCacheAsCachedObjects(EntityCacheIndex.EXECUTIONS_BY_PARENT_ID, "parent")).isEmpty();
+    }
+
+    private ExecutionEntityImpl execution(String id, String parentId) {
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setId(id);
+        execution.setParentId(parentId);
+        return execution;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ConcurrentDeploymentCacheTest {
+
+    @Test
+    public void get_should_countHitsAndMisses() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>();
+        cache.add("a", "valueA");
+
+        assertThat(cache.get("a")).isEqualTo("valueA");
+        assertThat(cache.get("b")).isNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void add_should_evictLeastRecentlyUsedEntry_whenLimitIsExceeded() throws Exception {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(2);
+        cache.add("a", "valueA");
+        Thread.sleep(1);
+        cache.add("b", "valueB");
+        Thread.sleep(1);
+        cache.get("a");
+
+        cache.add("c", "valueC");
+
+        assertThat(cache.contains("a")).isTrue();
+        assertThat(cache.contains("b")).isFalse();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void add_should_evictEntries_whenWeightLimitIsExceeded() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 10, (id, value) -> value.length());
+        cache.add("a", "12345");
+        cache.add("b", "1234");
+
+        cache.add("c", "123");
+
+        assertThat(cache.contains("a")).isFalse();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getWeight()).isEqualTo(7);
+    }
+
+    @Test
+    public void add_should_notKeepEntry_whenItExceedsWeightLimitOnItsOwn() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 3, (id, value) -> value.length());
+        cache.add("a", "1");
+
+        cache.add("b", "12345");
+
+        assertThat(cache.contains("b")).isFalse();
+        assertThat(cache.getWeight()).isZero();
+    }
+
+    @Test
+    public void remove_should_releaseWeight() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 10, (id, value) -> value.length());
+        cache.add("a", "12345");
+        cache.add("a", "123");
+        assertThat(cache.getWeight()).isEqualTo(3);
+
+        cache.remove("a");
+
+        assertThat(cache.getWeight()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+}
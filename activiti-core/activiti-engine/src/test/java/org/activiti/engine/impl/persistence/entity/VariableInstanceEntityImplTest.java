@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
+import org.junit.Test;
+
+public class VariableInstanceEntityImplTest {
+
+    @Test
+    public void hasChanged_should_returnFalse_whenNothingIsSetAfterLoading() {
+        VariableInstanceEntityImpl variable = loadedVariable();
+
+        CachedEntity cachedEntity = new CachedEntity(variable, true);
+
+        assertThat(cachedEntity.isDirtyTracked()).isTrue();
+        assertThat(cachedEntity.hasChanged()).isFalse();
+    }
+
+    @Test
+    public void hasChanged_should_returnFalse_whenSameValueIsSet() {
+        VariableInstanceEntityImpl variable = loadedVariable();
+        CachedEntity cachedEntity = new CachedEntity(variable, true);
+
+        variable.setTextValue("value");
+        variable.setLongValue(null);
+
+        assertThat(cachedEntity.hasChanged()).isFalse();
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenValueIsChanged() {
+        VariableInstanceEntityImpl variable = loadedVariable();
+        CachedEntity cachedEntity = new CachedEntity(variable, true);
+
+        variable.setTextValue("changed");
+
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenUpdateIsForced() {
+        VariableInstanceEntityImpl variable = loadedVariable();
+        CachedEntity cachedEntity = new CachedEntity(variable, true);
+
+        variable.forceUpdate();
+
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenStateIsNotStored() {
+        VariableInstanceEntityImpl variable = loadedVariable();
+
+        CachedEntity cachedEntity = new CachedEntity(variable, false);
+
+        assertThat(cachedEntity.isDirtyTracked()).isFalse();
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    private VariableInstanceEntityImpl loadedVariable() {
+        VariableInstanceEntityImpl variable = new VariableInstanceEntityImpl();
+        variable.setId("variableId");
+        variable.setName("name");
+        variable.setTextValue("value");
+        return variable;
+    }
+}
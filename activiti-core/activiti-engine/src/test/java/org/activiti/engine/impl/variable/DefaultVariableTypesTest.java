@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+public class DefaultVariableTypesTest {
+
+    private DefaultVariableTypes variableTypes = new DefaultVariableTypes();
+
+    @Test
+    public void findVariableType_should_askTheTypesOnlyOnce_when_theClassDeterminesTheType() {
+        //given
+        VariableType stringType = spy(new StringType(10));
+        VariableType dateType = spy(new DateType());
+        variableTypes.addType(new NullType()).addType(stringType).addType(dateType);
+
+        //when
+        variableTypes.findVariableType(new Date());
+        VariableType type = variableTypes.findVariableType(new Date());
+
+        //then
+        assertThat(type).isSameAs(dateType);
+        verify(stringType, times(1)).isAbleToStore(any());
+        verify(dateType, times(1)).isAbleToStore(any());
+    }
+
+    @Test
+    public void findVariableType_should_askTheTypesForEveryValue_when_theValueDeterminesTheType() {
+        //given
+        VariableType stringType = spy(new StringType(3));
+        VariableType longStringType = spy(new LongStringType(4));
+        variableTypes.addType(stringType).addType(longStringType);
+
+        //when
+        VariableType shortStringType = variableTypes.findVariableType("abc");
+        VariableType longerStringType = variableTypes.findVariableType("abcd");
+
+        //then
+        assertThat(shortStringType).isSameAs(stringType);
+        assertThat(longerStringType).isSameAs(longStringType);
+        verify(stringType, times(2)).isAbleToStore(any());
+    }
+
+    @Test
+    public void findVariableType_should_notCache_when_aTypeBeforeTheFoundTypeDependsOnTheValue() {
+        //given
+        VariableType customType = mock(VariableType.class);
+        VariableType dateType = new DateType();
+        variableTypes.addType(customType).addType(dateType);
+
+        //when
+        variableTypes.findVariableType(new Date());
+        variableTypes.findVariableType(new Date());
+
+        //then
+        verify(customType, times(2)).isAbleToStore(any());
+    }
+
+    @Test
+    public void findVariableType_should_forgetTheCachedTypes_when_aTypeIsAdded() {
+        //given
+        variableTypes.addType(new DateType());
+        variableTypes.findVariableType(new Date());
+        VariableType customDateType = spy(new DateType());
+
+        //when
+        variableTypes.addType(customDateType, 0);
+
+        //then
+        assertThat(variableTypes.findVariableType(new Date())).isSameAs(customDateType);
+    }
+}
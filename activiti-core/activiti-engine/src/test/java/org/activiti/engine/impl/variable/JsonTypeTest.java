@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.Test;
+
+public class JsonTypeTest {
+
+    private static final int MAX_LENGTH = 20;
+
+    private static ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonTypeConverter jsonTypeConverter = new JsonTypeConverter(objectMapper, "@class");
+
+    private JsonType jsonType = new JsonType(MAX_LENGTH, objectMapper, false, jsonTypeConverter);
+
+    private LongJsonType longJsonType = new LongJsonType(MAX_LENGTH + 1, objectMapper, false, jsonTypeConverter);
+
+    @Test
+    public void isAbleToStore_should_chooseJsonType_when_theJsonHasTheMaximumLength() {
+        // {"name":"123456789"} has 20 characters
+        ObjectNode jsonNode = objectMapper.createObjectNode().put("name", "123456789");
+
+        assertThat(jsonType.isAbleToStore(jsonNode)).isTrue();
+        assertThat(longJsonType.isAbleToStore(jsonNode)).isFalse();
+    }
+
+    @Test
+    public void isAbleToStore_should_chooseLongJsonType_when_theJsonIsLongerThanTheMaximumLength() {
+        ObjectNode jsonNode = objectMapper.createObjectNode().put("name", "1234567890");
+
+        assertThat(jsonType.isAbleToStore(jsonNode)).isFalse();
+        assertThat(longJsonType.isAbleToStore(jsonNode)).isTrue();
+    }
+
+    @Test
+    public void isAbleToStore_should_chooseLongJsonType_when_theJsonIsMuchLongerThanTheBufferOfTheGenerator() {
+        ObjectNode jsonNode = objectMapper.createObjectNode();
+        for (int i = 0; i < 10000; i++) {
+            jsonNode.put("field" + i, "value" + i);
+        }
+
+        assertThat(jsonType.isAbleToStore(jsonNode)).isFalse();
+        assertThat(longJsonType.isAbleToStore(jsonNode)).isTrue();
+    }
+
+    @Test
+    public void serialize_should_returnTheUtf8BytesOfTheJson() throws Exception {
+        ObjectNode jsonNode = objectMapper.createObjectNode().put("name", "\u00e9t\u00e9 \u4f60\u597d, a long value");
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+
+        byte[] bytes = longJsonType.serialize(jsonNode, valueFields);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(jsonNode));
+        assertThat(longJsonType.deserialize(bytes, valueFields)).isEqualTo(jsonNode);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.event.logger.AsyncEventLogWriter;
+import org.activiti.engine.impl.event.logger.AsyncEventLogger;
+import org.activiti.engine.impl.event.logger.EventLogOverflowPolicy;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+
+/**
+ * @see DatabaseEventLoggerTest
+ */
+public class AsyncEventLoggerTest extends PluggableActivitiTestCase {
+
+  public void testStandaloneTaskEventsAreWrittenAfterCommit() {
+    AsyncEventLogWriter eventLogWriter = new AsyncEventLogWriter().setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+    AsyncEventLogger eventLogger = new AsyncEventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper(), eventLogWriter);
+    eventLogWriter.start();
+    runtimeService.addEventListener(eventLogger);
+    try {
+      Task task = taskService.newTask();
+      task.setAssignee("kermit");
+      taskService.saveTask(task);
+      taskService.setAssignee(task.getId(), "gonzo");
+      taskService.deleteTask(task.getId(), true);
+    } finally {
+      runtimeService.removeEventListener(eventLogger);
+      eventLogWriter.shutdown();
+    }
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("TASK_CREATED", "TASK_ASSIGNED", "TASK_ASSIGNED");
+    assertThat(eventLogWriter.getWrittenCount()).isEqualTo(3);
+    assertThat(eventLogWriter.getBufferedCount()).isEqualTo(0);
+    deleteEventLogEntries();
+  }
+
+  public void testOldestEntryIsDroppedWhenBufferIsFull() {
+    BlockingEventLogWriter eventLogWriter = new BlockingEventLogWriter();
+    eventLogWriter.setOverflowPolicy(EventLogOverflowPolicy.DROP_OLDEST);
+    overflowBuffer(eventLogWriter);
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1", "entry3");
+    assertThat(eventLogWriter.getDroppedCount()).isEqualTo(1);
+    deleteEventLogEntries();
+  }
+
+  public void testEntryIsSpilledToFileWhenBufferIsFull() throws Exception {
+    File spillFile = File.createTempFile("event-log", ".spill");
+    spillFile.delete();
+    BlockingEventLogWriter eventLogWriter = new BlockingEventLogWriter();
+    eventLogWriter.setOverflowPolicy(EventLogOverflowPolicy.SPILL_TO_FILE).setSpillFile(spillFile);
+    overflowBuffer(eventLogWriter);
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1", "entry2", "entry3");
+    assertThat(eventLogWriter.getSpilledCount()).isEqualTo(1);
+    assertThat(spillFile).doesNotExist();
+    deleteEventLogEntries();
+  }
+
+  public void testFailedBatchIsSpilledToFile() throws Exception {
+    File spillFile = File.createTempFile("event-log", ".spill");
+    spillFile.delete();
+    ReplayingEventLogWriter eventLogWriter = new ReplayingEventLogWriter(spillFile);
+    eventLogWriter.setIdleWaitTimeInMillis(50L);
+    eventLogWriter.failingType = "entry1";
+    eventLogWriter.start();
+    try {
+      eventLogWriter.add(List.of(createEntry("entry1")));
+    } finally {
+      eventLogWriter.shutdown();
+    }
+
+    assertThat(managementService.getEventLogEntries(null, null)).isEmpty();
+    assertThat(eventLogWriter.getSpilledCount()).isEqualTo(1);
+
+    eventLogWriter.failingType = null;
+    eventLogWriter.replay();
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1");
+    assertThat(new File(spillFile.getPath() + ".replay")).doesNotExist();
+    deleteEventLogEntries();
+  }
+
+  public void testFailedReplayContinuesAfterLastWrittenBatch() throws Exception {
+    File spillFile = File.createTempFile("event-log", ".spill");
+    spillFile.delete();
+    ReplayingEventLogWriter eventLogWriter = new ReplayingEventLogWriter(spillFile);
+    eventLogWriter.spill(createEntry("entry1"), createEntry("entry2"), createEntry("entry3"));
+
+    eventLogWriter.failingType = "entry3";
+    eventLogWriter.replay();
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1", "entry2");
+    assertThat(eventLogWriter.getFailedCount()).isEqualTo(1);
+    assertThat(new File(spillFile.getPath() + ".replay")).exists();
+
+    // a new writer, like after a restart of the engine, continues from the stored position
+    new ReplayingEventLogWriter(spillFile).replay();
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1", "entry2", "entry3");
+    assertThat(new File(spillFile.getPath() + ".replay")).doesNotExist();
+    assertThat(new File(spillFile.getPath() + ".position")).doesNotExist();
+    deleteEventLogEntries();
+  }
+
+  public void testUnreadableSpilledEntriesAreMovedToCorruptFile() throws Exception {
+    File spillFile = File.createTempFile("event-log", ".spill");
+    spillFile.delete();
+    File corruptFile = new File(spillFile.getPath() + ".corrupt");
+    ReplayingEventLogWriter eventLogWriter = new ReplayingEventLogWriter(spillFile);
+    eventLogWriter.spill(createEntry("entry1"));
+    Files.write(spillFile.toPath(), List.of("{\"type\":\"entr", "42"), StandardOpenOption.APPEND);
+    eventLogWriter.spill(createEntry("entry2"));
+
+    eventLogWriter.replay();
+    eventLogWriter.replay();
+
+    assertThat(types(managementService.getEventLogEntries(null, null))).containsExactly("entry1", "entry2");
+    assertThat(new File(spillFile.getPath() + ".replay")).doesNotExist();
+    assertThat(Files.readAllLines(corruptFile.toPath())).containsExactly("{\"type\":\"entr", "42");
+    corruptFile.delete();
+    deleteEventLogEntries();
+  }
+
+  /**
+   * Adds three entries to a buffer of one while the writer is busy writing the first one.
+   */
+  protected void overflowBuffer(BlockingEventLogWriter eventLogWriter) {
+    eventLogWriter.setBufferSize(1).setBatchSize(1).setIdleWaitTimeInMillis(50L).setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+    eventLogWriter.start();
+    try {
+      eventLogWriter.add(List.of(createEntry("entry1")));
+      while (eventLogWriter.getBufferedCount() > 0) {
+        Thread.onSpinWait();
+      }
+      eventLogWriter.add(List.of(createEntry("entry2"), createEntry("entry3")));
+    } finally {
+      eventLogWriter.latch.countDown();
+      eventLogWriter.shutdown();
+    }
+  }
+
+  protected EventLogEntryEntity createEntry(String type) {
+    EventLogEntryEntity eventLogEntry = new EventLogEntryEntityImpl();
+    eventLogEntry.setType(type);
+    eventLogEntry.setTimeStamp(new Date());
+    eventLogEntry.setData(type.getBytes());
+    return eventLogEntry;
+  }
+
+  protected List<String> types(List<EventLogEntry> eventLogEntries) {
+    return eventLogEntries.stream().map(EventLogEntry::getType).collect(Collectors.toList());
+  }
+
+  protected void deleteEventLogEntries() {
+    for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+      managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+    }
+  }
+
+  /**
+   * Keeps the writer thread busy with its first batch until the latch is released.
+   */
+  protected static class BlockingEventLogWriter extends AsyncEventLogWriter {
+
+    protected CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    protected boolean write(List<EventLogEntryEntity> batch) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.write(batch);
+    }
+
+  }
+
+  /**
+   * Replays the spill file on the calling thread, in batches of two, failing every batch with an entry of the failing type.
+   */
+  protected class ReplayingEventLogWriter extends AsyncEventLogWriter {
+
+    protected String failingType;
+
+    protected ReplayingEventLogWriter(File spillFile) {
+      setSpillFile(spillFile).setBatchSize(2).setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+    }
+
+    protected void spill(EventLogEntryEntity... eventLogEntries) {
+      for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+        spill(eventLogEntry);
+      }
+    }
+
+    protected void replay() {
+      writeSpilledEntries();
+    }
+
+    @Override
+    protected boolean write(List<EventLogEntryEntity> batch) {
+      if (batch.stream().anyMatch(eventLogEntry -> eventLogEntry.getType().equals(failingType))) {
+        failedCount.addAndGet(batch.size());
+        return false;
+      }
+      return super.write(batch);
+    }
+
+  }
+
+}
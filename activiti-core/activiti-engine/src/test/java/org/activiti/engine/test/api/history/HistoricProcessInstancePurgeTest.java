@@ -0,0 +1,245 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * @see org.activiti.engine.history.HistoricProcessInstancePurgeBuilder
+ */
+public class HistoricProcessInstancePurgeTest extends PluggableActivitiTestCase {
+
+  private static final long HOUR = 60 * 60 * 1000L;
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getClock().reset();
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPurgeFinishedBefore() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      return;
+    }
+    long byteArrayCount = getByteArrayCount();
+    Date now = new Date();
+
+    String oldProcessInstanceId = runToEndWithHistory(new Date(now.getTime() - 3 * HOUR));
+    String otherOldProcessInstanceId = runToEndWithHistory(new Date(now.getTime() - 2 * HOUR));
+    String recentProcessInstanceId = runToEndWithHistory(now);
+    assertThat(getByteArrayCount()).isGreaterThan(byteArrayCount);
+
+    long purged = historyService.createHistoricProcessInstancePurge()
+        .finishedBefore(new Date(now.getTime() - HOUR))
+        .purge();
+
+    assertThat(purged).isEqualTo(2);
+    assertThat(historyService.createHistoricProcessInstanceQuery().list()).extracting("id").containsExactly(recentProcessInstanceId);
+    for (String processInstanceId : new String[] { oldProcessInstanceId, otherOldProcessInstanceId }) {
+      assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(0);
+      assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(0);
+      assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(0);
+      assertThat(historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId)).isEmpty();
+      assertThat(taskService.getProcessInstanceComments(processInstanceId)).isEmpty();
+      assertThat(taskService.getProcessInstanceAttachments(processInstanceId)).isEmpty();
+    }
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(2);
+
+    assertThat(historyService.createHistoricProcessInstancePurge().purge()).isEqualTo(1);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(0);
+    assertThat(getByteArrayCount()).isEqualTo(byteArrayCount);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRunningProcessInstancesAreNotPurged() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    assertThat(historyService.createHistoricProcessInstancePurge().purge()).isEqualTo(0);
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+  }
+
+  @Deployment(resources = {
+      "org/activiti/engine/test/bpmn/callactivity/CallActivity.testCallSimpleSubProcess.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/callactivity/simpleSubProcess.bpmn20.xml",
+      "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testPurgeByProcessDefinitionKeyIncludesSubProcessInstances() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("callSimpleSubProcess");
+    completeTasks(processInstance.getId());
+    String subProcessInstanceId = historyService.createHistoricProcessInstanceQuery().superProcessInstanceId(processInstance.getId()).singleResult().getId();
+    completeTasks(subProcessInstanceId);
+    completeTasks(processInstance.getId());
+    String otherProcessInstanceId = runToEnd("oneTaskProcess");
+
+    long purged = historyService.createHistoricProcessInstancePurge()
+        .processDefinitionKey("simpleSubProcess")
+        .purge();
+    assertThat(purged).as("sub process instances are only purged with their root").isEqualTo(0);
+
+    purged = historyService.createHistoricProcessInstancePurge()
+        .processDefinitionKey("callSimpleSubProcess")
+        .purge();
+
+    assertThat(purged).isEqualTo(1);
+    assertThat(historyService.createHistoricProcessInstanceQuery().list()).extracting("id").containsExactly(otherProcessInstanceId);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(subProcessInstanceId).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(subProcessInstanceId).count()).isEqualTo(0);
+  }
+
+  public void testPurgeByTenantInBatches() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    String tenantDeploymentId = repositoryService.createDeployment()
+        .addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+        .tenantId("acme")
+        .deploy()
+        .getId();
+    String deploymentId = repositoryService.createDeployment()
+        .addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+        .deploy()
+        .getId();
+    try {
+      for (int i = 0; i < 5; i++) {
+        completeTasks(runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "acme").getId());
+      }
+      String otherProcessInstanceId = runToEnd("oneTaskProcess");
+
+      long purged = historyService.createHistoricProcessInstancePurge()
+          .tenantId("acme")
+          .batchSize(2)
+          .purge();
+
+      assertThat(purged).isEqualTo(5);
+      assertThat(historyService.createHistoricProcessInstanceQuery().list()).extracting("id").containsExactly(otherProcessInstanceId);
+
+    } finally {
+      repositoryService.deleteDeployment(tenantDeploymentId, true);
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testScheduledPurgeRepeatsWithRetentionPeriod() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    // the start of the repeat is stored in seconds
+    Date start = new Date(System.currentTimeMillis() / 1000 * 1000);
+    processEngineConfiguration.getClock().setCurrentTime(start);
+    for (int i = 0; i < 5; i++) {
+      runToEnd("oneTaskProcess");
+    }
+    ProcessInstance runningProcessInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    String timerJobId = historyService.createHistoricProcessInstancePurge()
+        .retentionPeriod("PT1H")
+        .batchSize(2)
+        .schedule("R/PT2H");
+    Job timerJob = managementService.createTimerJobQuery().jobId(timerJobId).singleResult();
+    assertThat(timerJob.getDuedate()).isEqualTo(new Date(start.getTime() + 2 * HOUR));
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(6);
+
+    // finished within the retention period when the timer fires
+    processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 2 * HOUR - 1000));
+    String recentProcessInstanceId = runToEnd("oneTaskProcess");
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 2 * HOUR + 1000));
+    waitForJobExecutorToProcessAllJobsAndExecutableTimerJobs(10000L, 200L);
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().list()).extracting("id")
+        .containsExactlyInAnyOrder(runningProcessInstance.getId(), recentProcessInstanceId);
+    assertThat(managementService.createDeadLetterJobQuery().count()).isEqualTo(0);
+    // the purge is rescheduled for the next cycle
+    Job nextTimerJob = managementService.createTimerJobQuery().singleResult();
+    assertThat(nextTimerJob.getDuedate()).isEqualTo(new Date(start.getTime() + 4 * HOUR));
+
+    managementService.deleteTimerJob(nextTimerJob.getId());
+  }
+
+  public void testInvalidRetentionPeriodIsRejected() {
+    assertThatThrownBy(() -> historyService.createHistoricProcessInstancePurge().retentionPeriod("90 days"))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+  }
+
+  public void testInvalidBatchSizeIsRejected() {
+    assertThatThrownBy(() -> historyService.createHistoricProcessInstancePurge().batchSize(0))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+  }
+
+  protected String runToEnd(String processDefinitionKey) {
+    String processInstanceId = runtimeService.startProcessInstanceByKey(processDefinitionKey).getId();
+    completeTasks(processInstanceId);
+    return processInstanceId;
+  }
+
+  /**
+   * Runs a process instance to its end at the given time, leaving a serialized variable, a subtask, an identity link,
+   * a comment and an attachment with content in its history.
+   */
+  protected String runToEndWithHistory(Date endTime) {
+    processEngineConfiguration.getClock().setCurrentTime(endTime);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Collections.<String, Object>singletonMap("serialized", new ArrayList<String>(Collections.singletonList("value"))));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    Task subTask = taskService.newTask();
+    subTask.setParentTaskId(task.getId());
+    taskService.saveTask(subTask);
+    taskService.setVariableLocal(subTask.getId(), "subTaskVariable", "value");
+    taskService.complete(subTask.getId());
+
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.addComment(task.getId(), processInstance.getId(), "a comment");
+    taskService.createAttachment("text", task.getId(), processInstance.getId(), "attachment", null, new ByteArrayInputStream("content".getBytes()));
+    taskService.setVariableLocal(task.getId(), "taskVariable", new ArrayList<String>(Collections.singletonList("value")));
+    taskService.complete(task.getId());
+    return processInstance.getId();
+  }
+
+  protected void completeTasks(String processInstanceId) {
+    for (Task task : taskService.createTaskQuery().processInstanceId(processInstanceId).list()) {
+      taskService.complete(task.getId());
+    }
+  }
+
+  protected long getByteArrayCount() {
+    return managementService.getTableCount().get(processEngineConfiguration.getDatabaseTablePrefix() + "ACT_GE_BYTEARRAY");
+  }
+
+}
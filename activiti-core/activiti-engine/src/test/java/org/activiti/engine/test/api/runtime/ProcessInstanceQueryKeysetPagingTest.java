@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * @see ProcessInstanceQueryTest
+ */
+public class ProcessInstanceQueryKeysetPagingTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPagesOfProcessInstances() {
+    List<String> processInstanceIds = startProcessInstances(7);
+
+    List<String> pagedIds = new ArrayList<>();
+    KeysetPage<ProcessInstance> page = runtimeService.createProcessInstanceQuery().orderByProcessInstanceId().desc().listPageAfter(null, 3);
+    page.getContent().forEach(processInstance -> pagedIds.add(processInstance.getId()));
+    while (page.getContinuationToken() != null) {
+      page = runtimeService.createProcessInstanceQuery().orderByProcessInstanceId().desc().listPageAfter(page.getContinuationToken(), 3);
+      page.getContent().forEach(processInstance -> pagedIds.add(processInstance.getId()));
+    }
+
+    assertThat(pagedIds).containsExactlyInAnyOrderElementsOf(processInstanceIds);
+    assertThat(pagedIds).isSortedAccordingTo((id1, id2) -> id2.compareTo(id1));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPagesOfHistoricProcessInstances() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    List<String> processInstanceIds = startProcessInstances(7);
+
+    List<HistoricProcessInstance> pagedInstances = new ArrayList<>();
+    KeysetPage<HistoricProcessInstance> page = historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().asc().listPageAfter(null, 2);
+    pagedInstances.addAll(page.getContent());
+    while (page.getContinuationToken() != null) {
+      page = historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().asc().listPageAfter(page.getContinuationToken(), 2);
+      pagedInstances.addAll(page.getContent());
+    }
+
+    assertThat(pagedInstances).extracting(HistoricProcessInstance::getId).containsExactlyInAnyOrderElementsOf(processInstanceIds);
+    assertThat(pagedInstances).isSortedAccordingTo((instance1, instance2) -> instance1.getStartTime().equals(instance2.getStartTime())
+        ? instance1.getId().compareTo(instance2.getId())
+        : instance1.getStartTime().compareTo(instance2.getStartTime()));
+  }
+
+  public void testOrderByProcessDefinitionKeyIsRejected() {
+    assertThatThrownBy(() -> runtimeService.createProcessInstanceQuery().orderByProcessDefinitionKey().asc().listPageAfter(null, 2))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+  }
+
+  protected List<String> startProcessInstances(int numberOfInstances) {
+    List<String> processInstanceIds = new ArrayList<>();
+    Date now = new Date();
+    for (int i = 0; i < numberOfInstances; i++) {
+      // every start time is shared by two instances
+      processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+    }
+    processEngineConfiguration.getClock().reset();
+    return processInstanceIds;
+  }
+
+}
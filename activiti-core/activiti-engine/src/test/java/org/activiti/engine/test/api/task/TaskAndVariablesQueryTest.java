@@ -294,6 +294,61 @@ public class TaskAndVariablesQueryTest extends PluggableActivitiTestCase {
         assertThat(task.getProcessVariables().get("anotherProcessVar")).isEqualTo(123);
     }
 
+    @Deployment(resources = "org/activiti/engine/test/api/task/TaskAndVariablesQueryTest.testQuery.bpmn20.xml")
+    public void testQueryWithVariablesFetchedSeparately() {
+        Map<String, Object> startMap = new HashMap<String, Object>();
+        startMap.put("processVar", true);
+        startMap.put("binaryVariable", "This is a binary process variable".getBytes());
+        runtimeService.startProcessInstanceByKey("oneTaskProcess", startMap);
+        Task task = taskService.createTaskQuery().taskAssignee(KERMIT).singleResult();
+        taskService.setVariableLocal(task.getId(), "localVar", "test");
+
+        task = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().fetchVariablesSeparately().taskAssignee(KERMIT).singleResult();
+        assertThat(task.getTaskLocalVariables()).containsOnlyKeys("localVar");
+        assertThat(task.getProcessVariables()).containsOnlyKeys("processVar", "binaryVariable");
+        assertThat(new String((byte[]) task.getProcessVariables().get("binaryVariable"))).isEqualTo("This is a binary process variable");
+
+        task = taskService.createTaskQuery().includeProcessVariables().fetchVariablesSeparately().taskAssignee(KERMIT).singleResult();
+        assertThat(task.getTaskLocalVariables()).isEmpty();
+        assertThat(task.getProcessVariables()).containsOnlyKeys("processVar", "binaryVariable");
+
+        task = taskService.createTaskQuery().includeTaskLocalVariables().fetchVariablesSeparately().taskAssignee(GONZO).singleResult();
+        assertThat(task.getTaskLocalVariables()).containsOnlyKeys("testVar", "testVar2", "testVarBinary");
+        assertThat(task.getProcessVariables()).isEmpty();
+    }
+
+    public void testQueryWithPagingAndVariablesFetchedSeparately() {
+        List<Task> tasks = taskService.createTaskQuery().includeProcessVariables().includeTaskLocalVariables().fetchVariablesSeparately()
+            .orderByTaskPriority().asc().listPage(1, 2);
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks.get(1).getTaskLocalVariables()).containsOnlyKeys("testVar", "testVar2", "testVarBinary");
+
+        tasks = taskService.createTaskQuery().includeProcessVariables().includeTaskLocalVariables().fetchVariablesSeparately()
+            .orderByTaskPriority().asc().listPage(4, 2);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Deployment(resources = "org/activiti/engine/test/api/task/TaskAndVariablesQueryTest.testQuery.bpmn20.xml")
+    public void testQueryWithLimitedVariableNames() {
+        Map<String, Object> startMap = new HashMap<String, Object>();
+        startMap.put("processVar", true);
+        startMap.put("anotherProcessVar", 123);
+        runtimeService.startProcessInstanceByKey("oneTaskProcess", startMap);
+
+        Task task = taskService.createTaskQuery().includeProcessVariables().limitTaskVariableNames(asList("anotherProcessVar"))
+            .taskAssignee(KERMIT).singleResult();
+        assertThat(task.getProcessVariables()).containsOnlyKeys("anotherProcessVar");
+
+        task = taskService.createTaskQuery().includeProcessVariables().fetchVariablesSeparately().limitTaskVariableNames(asList("anotherProcessVar"))
+            .taskAssignee(KERMIT).singleResult();
+        assertThat(task.getProcessVariables()).containsOnlyKeys("anotherProcessVar");
+
+        task = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().limitTaskVariableNames(asList("testVar", "processVar"))
+            .taskAssignee(GONZO).singleResult();
+        assertThat(task.getTaskLocalVariables()).containsOnlyKeys("testVar");
+        assertThat(task.getProcessVariables()).isEmpty();
+    }
+
     /**
      * Generates some test tasks. - 2 tasks where kermit is a candidate and 1 task where gonzo is assignee
      */
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricTaskInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.query.KeysetPageableQuery;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskInfo;
+
+/**
+ * @see TaskQueryTest
+ */
+public class TaskQueryKeysetPagingTest extends PluggableActivitiTestCase {
+
+  private List<String> taskIds = new ArrayList<>();
+
+  @Override
+  public void setUp() throws Exception {
+    Date now = new Date();
+    for (int i = 0; i < 11; i++) {
+      // every create time is shared by two tasks, to check the order of tasks with the same value
+      processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      Task task = taskService.newTask();
+      task.setName("task" + i);
+      task.setPriority(i % 3);
+      taskService.saveTask(task);
+      taskIds.add(task.getId());
+    }
+    processEngineConfiguration.getClock().reset();
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    taskService.deleteTasks(taskIds, true);
+  }
+
+  public void testPagesOrderedById() {
+    List<Task> tasks = readAllPages(() -> taskService.createTaskQuery(), 3);
+
+    assertThat(ids(tasks)).containsExactlyElementsOf(ids(taskService.createTaskQuery().orderByTaskId().asc().list()));
+  }
+
+  public void testPagesOrderedByCreateTime() {
+    List<Task> tasks = readAllPages(() -> taskService.createTaskQuery().orderByTaskCreateTime().asc(), 3);
+
+    assertThat(ids(tasks)).containsExactlyElementsOf(ids(sorted(tasks, Comparator.comparing(Task::getCreateTime).thenComparing(Task::getId))));
+    assertThat(tasks).extracting(Task::getId).containsExactlyInAnyOrderElementsOf(taskIds);
+  }
+
+  public void testPagesOrderedByPriorityDescending() {
+    List<Task> tasks = readAllPages(() -> taskService.createTaskQuery().orderByTaskPriority().desc(), 4);
+
+    assertThat(ids(tasks)).containsExactlyElementsOf(ids(sorted(tasks,
+        Comparator.comparing(Task::getPriority).thenComparing(Task::getId).reversed())));
+    assertThat(tasks).extracting(Task::getId).containsExactlyInAnyOrderElementsOf(taskIds);
+  }
+
+  public void testPagesOfHistoricTasks() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      return;
+    }
+
+    List<HistoricTaskInstance> tasks = readAllPages(() -> historyService.createHistoricTaskInstanceQuery().orderByHistoricTaskInstanceStartTime().desc(), 5);
+
+    assertThat(ids(tasks)).containsExactlyElementsOf(ids(sorted(tasks,
+        Comparator.comparing(HistoricTaskInstance::getCreateTime).thenComparing(HistoricTaskInstance::getId).reversed())));
+    assertThat(tasks).extracting(HistoricTaskInstance::getId).containsExactlyInAnyOrderElementsOf(taskIds);
+  }
+
+  public void testLastPageHasNoContinuationToken() {
+    KeysetPage<Task> page = taskService.createTaskQuery().listPageAfter(null, 11);
+
+    assertThat(page.getContent()).hasSize(11);
+    assertThat(page.getContinuationToken()).isNull();
+  }
+
+  public void testPageDoesNotChangeTheCountOfTheQuery() {
+    KeysetPage<Task> page = taskService.createTaskQuery().listPageAfter(null, 4);
+
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(11);
+    assertThat(taskService.createTaskQuery().listPageAfter(page.getContinuationToken(), 4).getContent()).hasSize(4);
+  }
+
+  public void testContinuationTokenOfDifferentOrderIsRejected() {
+    String continuationToken = taskService.createTaskQuery().orderByTaskCreateTime().asc().listPageAfter(null, 2).getContinuationToken();
+
+    assertThatThrownBy(() -> taskService.createTaskQuery().orderByTaskCreateTime().desc().listPageAfter(continuationToken, 2))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+    assertThatThrownBy(() -> taskService.createTaskQuery().listPageAfter("not a token", 2))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+  }
+
+  public void testOrderByNullablePropertyIsRejected() {
+    assertThatThrownBy(() -> taskService.createTaskQuery().orderByTaskDueDate().asc().listPageAfter(null, 2))
+        .isInstanceOf(ActivitiIllegalArgumentException.class)
+        .hasMessageContaining("RES.DUE_DATE_");
+    assertThatThrownBy(() -> taskService.createTaskQuery().orderByTaskCreateTime().asc().orderByTaskId().asc().listPageAfter(null, 2))
+        .isInstanceOf(ActivitiIllegalArgumentException.class);
+  }
+
+  protected <T> List<T> readAllPages(Supplier<? extends KeysetPageableQuery<T>> query, int pageSize) {
+    List<T> results = new ArrayList<>();
+    String continuationToken = null;
+    do {
+      KeysetPage<T> page = query.get().listPageAfter(continuationToken, pageSize);
+      assertThat(page.getContent()).hasSizeLessThanOrEqualTo(pageSize);
+      results.addAll(page.getContent());
+      continuationToken = page.getContinuationToken();
+    } while (continuationToken != null);
+    return results;
+  }
+
+  protected <T extends TaskInfo> List<T> sorted(List<T> tasks, Comparator<? super T> comparator) {
+    List<T> sortedTasks = new ArrayList<>(tasks);
+    sortedTasks.sort(comparator);
+    return sortedTasks;
+  }
+
+  protected List<String> ids(List<? extends TaskInfo> tasks) {
+    return tasks.stream().map(TaskInfo::getId).collect(Collectors.toList());
+  }
+
+}
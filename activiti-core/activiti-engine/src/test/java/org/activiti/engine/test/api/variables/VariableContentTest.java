@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.cmd.GetExecutionVariableContentCmd;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class VariableContentTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testWriteByteArrayVariableContent() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.setVariable(processInstance.getId(), "bytes", "content".getBytes(StandardCharsets.UTF_8));
+
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    assertThat(runtimeService.writeVariableContent(processInstance.getId(), "bytes", content)).isTrue();
+    assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("content");
+
+    // the variable is found in the process instance scope of the task
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    ByteArrayOutputStream taskContent = new ByteArrayOutputStream();
+    assertThat(taskService.writeVariableContent(task.getId(), "bytes", taskContent)).isTrue();
+    assertThat(taskContent.toString(StandardCharsets.UTF_8)).isEqualTo("content");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testWriteLongJsonVariableContent() throws IOException {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ObjectMapper objectMapper = new ObjectMapper();
+    ObjectNode json = objectMapper.createObjectNode().put("name", new String(new char[5000]).replace('\0', 'x'));
+    runtimeService.setVariable(processInstance.getId(), "longJson", json);
+
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    runtimeService.writeVariableContent(processInstance.getId(), "longJson", content);
+    assertThat(objectMapper.readTree(content.toByteArray())).isEqualTo(json);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testVariableWithoutContent() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.setVariable(processInstance.getId(), "string", "short");
+
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    assertThat(runtimeService.writeVariableContent(processInstance.getId(), "string", content)).isFalse();
+    assertThat(runtimeService.writeVariableContent(processInstance.getId(), "unknown", content)).isFalse();
+    assertThat(content.size()).isZero();
+    assertThatThrownBy(() -> runtimeService.writeVariableContent("unknown", "string", content))
+        .isInstanceOf(ActivitiObjectNotFoundException.class);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testOverwriteByteArrayVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.setVariable(processInstance.getId(), "bytes", "first".getBytes(StandardCharsets.UTF_8));
+    String byteArrayId = getByteArrayId(processInstance.getId(), "bytes");
+
+    runtimeService.setVariable(processInstance.getId(), "bytes", "second".getBytes(StandardCharsets.UTF_8));
+
+    // the bytes are updated in place, without reading the previous ones first
+    assertThat(getByteArrayId(processInstance.getId(), "bytes")).isEqualTo(byteArrayId);
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    runtimeService.writeVariableContent(processInstance.getId(), "bytes", content);
+    assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("second");
+    assertThat(new String((byte[]) runtimeService.getVariable(processInstance.getId(), "bytes"), StandardCharsets.UTF_8)).isEqualTo("second");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testWriteContentChangedInSameTransaction() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.setVariable(processInstance.getId(), "bytes", "first".getBytes(StandardCharsets.UTF_8));
+
+    // the changed bytes aren't flushed yet, so they are written from the entity cache
+    String content = managementService.executeCommand(commandContext -> {
+      commandContext.getExecutionEntityManager().findById(processInstance.getId()).setVariable("bytes", "second".getBytes(StandardCharsets.UTF_8));
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      new GetExecutionVariableContentCmd(processInstance.getId(), "bytes", out).execute(commandContext);
+      return out.toString(StandardCharsets.UTF_8);
+    });
+    assertThat(content).isEqualTo("second");
+  }
+
+  protected String getByteArrayId(String executionId, String variableName) {
+    return ((VariableInstanceEntity) runtimeService.getVariableInstance(executionId, variableName)).getByteArrayRef().getId();
+  }
+
+}
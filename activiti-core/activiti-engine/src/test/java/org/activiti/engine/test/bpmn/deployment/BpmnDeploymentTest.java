@@ -21,6 +21,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.InputStream;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 import org.activiti.bpmn.model.BpmnModel;
@@ -32,7 +34,10 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
+import org.activiti.engine.impl.persistence.entity.ResourceEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.ChecksumUtil;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
 import org.activiti.engine.repository.ProcessDefinition;
@@ -248,6 +253,73 @@ public class BpmnDeploymentTest extends PluggableActivitiTestCase {
     }
   }
 
+  public void testDeploymentAndResourceChecksumsAreStored() {
+    String bpmnResourceName = "org/activiti/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String deploymentId = repositoryService.createDeployment().addClasspathResource(bpmnResourceName).name("checksums").deploy().getId();
+
+    DeploymentEntity deployment = (DeploymentEntity) repositoryService.createDeploymentQuery().deploymentId(deploymentId).singleResult();
+    assertThat(deployment.getChecksum()).hasSize(64);
+
+    List<ResourceEntity> resources = processEngineConfiguration.getCommandExecutor()
+        .execute(commandContext -> commandContext.getResourceEntityManager().findResourcesWithoutBytesByDeploymentId(deploymentId));
+    assertThat(resources).hasSize(1);
+    assertThat(resources.get(0).getBytes()).isNull();
+    byte[] bytes = IoUtil.readInputStream(repositoryService.getResourceAsStream(deploymentId, bpmnResourceName), bpmnResourceName);
+    assertThat(resources.get(0).getChecksum()).isEqualTo(ChecksumUtil.checksum(bytes));
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
+  public void testDeploySubsetOfResourcesTwice() {
+    String bpmnResourceName = "org/activiti/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    String otherBpmnResourceName = "org/activiti/engine/test/bpmn/deployment/BpmnDeploymentTest.testProcessDiagramResource.bpmn20.xml";
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).addClasspathResource(otherBpmnResourceName).name("subset").deploy();
+
+    // all resources are part of the previous deployment already
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("subset").deploy();
+    assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(1);
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addString(bpmnResourceName, changedResource(bpmnResourceName)).name("subset").deploy();
+    assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(2);
+
+    for (org.activiti.engine.repository.Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId());
+    }
+  }
+
+  public void testDeploySameFileTwiceWithoutStoredChecksums() {
+    String bpmnResourceName = "org/activiti/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    // as if deployed before the checksums were introduced
+    clearChecksums();
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(1);
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addString(bpmnResourceName, changedResource(bpmnResourceName)).name("twice").deploy();
+    assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(2);
+
+    for (org.activiti.engine.repository.Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId());
+    }
+  }
+
+  protected String changedResource(String resourceName) {
+    return IoUtil.readFileAsString(resourceName) + System.lineSeparator();
+  }
+
+  protected void clearChecksums() {
+    processEngineConfiguration.getCommandExecutor().execute(commandContext -> {
+      try (Statement statement = commandContext.getDbSqlSession().getSqlSession().getConnection().createStatement()) {
+        statement.executeUpdate("update ACT_RE_DEPLOYMENT set CHECKSUM_ = null");
+        statement.executeUpdate("update ACT_GE_BYTEARRAY set CHECKSUM_ = null");
+      } catch (SQLException e) {
+        throw new ActivitiException("couldn't clear the checksums", e);
+      }
+      return null;
+    });
+  }
+
   public void testProcessDefinitionShouldHasStartFormKey() {
       BpmnModel bpmnModel = createOneTaskAndStartEventWithFormKeyProcess();
 
@@ -18,14 +18,20 @@
 package org.activiti.engine.test.bpmn.deployment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.bpmn.deployer.ParsedDeployment;
 import org.activiti.engine.impl.bpmn.deployer.ParsedDeploymentBuilder;
 import org.activiti.engine.impl.bpmn.deployer.ParsedDeploymentBuilderFactory;
 import org.activiti.engine.impl.bpmn.deployer.ResourceNameUtil;
+import org.activiti.engine.impl.bpmn.parser.BpmnParser;
+import org.activiti.engine.impl.cmd.DeploymentSettings;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntityImpl;
@@ -56,10 +62,12 @@ public class ParsedDeploymentTest extends PluggableActivitiTestCase {
   @Override
   public void setUp() {
     Context.setCommandContext(processEngineConfiguration.getCommandContextFactory().createCommandContext(null));
+    Context.setProcessEngineConfiguration(processEngineConfiguration);
   }
 
   @Override
   public void tearDown() {
+    Context.removeProcessEngineConfiguration();
     Context.removeCommandContext();
   }
 
@@ -91,6 +99,42 @@ public class ParsedDeploymentTest extends PluggableActivitiTestCase {
     assertThat(parsedDeployment.getResourceForProcessDefinition(en2).getName()).isEqualTo(EN_XML_NAME);
   }
 
+  public void testCreateWithParallelParsing() throws UnsupportedEncodingException {
+    DeploymentEntity entity = assembleUnpersistedDeploymentEntity();
+    for (int i = 0; i < 10; i++) {
+      entity.addResource(buildResource("process" + i + "." + ResourceNameUtil.BPMN_RESOURCE_SUFFIXES[0],
+          aseembleXmlResourceString("<process id='process" + i + "' />")));
+    }
+
+    BpmnParser bpmnParser = processEngineConfiguration.getParsedDeploymentBuilderFactory().getBpmnParser();
+    ParsedDeployment parsedDeployment = new ParsedDeploymentBuilder(entity, bpmnParser, null, 4).build();
+
+    assertThat(parsedDeployment.getAllProcessDefinitions()).hasSize(14);
+    // the process definitions keep the order of the resources, as when parsing them one by one
+    assertThat(parsedDeployment.getAllProcessDefinitions()).extracting(ProcessDefinitionEntity::getKey)
+        .containsExactlyElementsOf(new ParsedDeploymentBuilder(entity, bpmnParser, null, 1).build()
+            .getAllProcessDefinitions().stream().map(ProcessDefinitionEntity::getKey).collect(Collectors.toList()));
+    for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+      assertThat(parsedDeployment.getProcessModelForProcessDefinition(processDefinition).getId()).isEqualTo(processDefinition.getKey());
+    }
+  }
+
+  public void testValidationErrorOfParallelParsing() throws UnsupportedEncodingException {
+    DeploymentEntity entity = assembleUnpersistedDeploymentEntity();
+    // a service task without an implementation is not valid
+    entity.addResource(buildResource("invalid." + ResourceNameUtil.BPMN_RESOURCE_SUFFIXES[0],
+        aseembleXmlResourceString("<process id='invalid' isExecutable='true'><serviceTask id='service' /></process>")));
+
+    HashMap<String, Object> deploymentSettings = new HashMap<String, Object>();
+    deploymentSettings.put(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED, true);
+    ParsedDeploymentBuilder builder = new ParsedDeploymentBuilder(entity,
+        processEngineConfiguration.getParsedDeploymentBuilderFactory().getBpmnParser(), deploymentSettings, 4);
+
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(ActivitiException.class)
+        .hasMessageContaining("Errors while parsing");
+  }
+
   private ProcessDefinitionEntity getProcessDefinitionEntityFromList(List<ProcessDefinitionEntity> list, String idString) {
     for (ProcessDefinitionEntity possible : list) {
       if (possible.getKey().equals(idString)) {
@@ -677,4 +677,63 @@ public class SignalEventTest extends PluggableActivitiTestCase {
     assertThat(taskService.createTaskQuery().taskName("Task C").count()).isEqualTo(taskCCount);
   }
 
+  @Deployment
+  public void testSignalBroadcastInChunks() {
+    int chunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(3);
+    try {
+      for (int i = 0; i < 7; i++) {
+        runtimeService.startProcessInstanceByKey("processWaitingForBroadcast", singletonMap("accepted", true));
+      }
+
+      List<String> jobIds = runtimeService.signalEventReceivedInChunks("Broadcast Signal");
+
+      assertThat(jobIds).hasSize(3);
+      assertThat(managementService.createJobQuery().count()).isEqualTo(3);
+      assertThat(taskService.createTaskQuery().count()).isEqualTo(0);
+
+      for (String jobId : jobIds) {
+        managementService.executeJob(jobId);
+      }
+      assertThat(taskService.createTaskQuery().taskName("Task after signal").count()).isEqualTo(7);
+      assertThat(managementService.createJobQuery().count()).isEqualTo(0);
+      assertThat(createEventSubscriptionQuery().eventType("signal").count()).isEqualTo(0);
+
+    } finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(chunkSize);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/signal/SignalEventTest.testSignalBroadcastInChunks.bpmn20.xml")
+  public void testSignalBroadcastInChunksIsolatesFailingChunk() {
+    int chunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(3);
+    try {
+      for (int i = 0; i < 7; i++) {
+        // the fifth instance can't evaluate the gateway conditions, which makes the second chunk fail
+        Map<String, Object> variables = i == 4 ? new HashMap<>() : singletonMap("accepted", true);
+        runtimeService.startProcessInstanceByKey("processWaitingForBroadcast", variables);
+      }
+
+      List<String> jobIds = runtimeService.signalEventReceivedInChunks("Broadcast Signal");
+      assertThat(jobIds).hasSize(3);
+
+      managementService.executeJob(jobIds.get(0));
+      assertThatExceptionOfType(ActivitiException.class).isThrownBy(() -> managementService.executeJob(jobIds.get(1)));
+      managementService.executeJob(jobIds.get(2));
+
+      // the first and last chunks are delivered, the second one is still waiting to be retried
+      assertThat(taskService.createTaskQuery().taskName("Task after signal").count()).isEqualTo(4);
+      assertThat(createEventSubscriptionQuery().eventType("signal").count()).isEqualTo(3);
+      assertThat(managementService.createJobQuery().jobId(jobIds.get(0)).count()).isEqualTo(0);
+      assertThat(managementService.createJobQuery().jobId(jobIds.get(2)).count()).isEqualTo(0);
+      assertThat(managementService.createTimerJobQuery().jobId(jobIds.get(1)).withException().count()).isEqualTo(1);
+
+      managementService.deleteTimerJob(jobIds.get(1));
+
+    } finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(chunkSize);
+    }
+  }
+
 }
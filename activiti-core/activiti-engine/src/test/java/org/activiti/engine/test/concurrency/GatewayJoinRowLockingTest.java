@@ -0,0 +1,217 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.ManualTask;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Joins a wide fan-out of non exclusive async branches with the row locking join enabled,
+ * and counts the failed (and thus retried) branch jobs, also compared to the forced update join.
+ */
+public class GatewayJoinRowLockingTest extends PluggableActivitiTestCase {
+
+  private static final Logger log = LoggerFactory.getLogger(GatewayJoinRowLockingTest.class);
+
+  protected FailedJobCounter failedJobCounter = new FailedJobCounter();
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setEnableGatewayJoinRowLocking(true);
+    processEngineConfiguration.getEventDispatcher().addEventListener(failedJobCounter, ActivitiEventType.JOB_EXECUTION_FAILURE);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getEventDispatcher().removeEventListener(failedJobCounter);
+    processEngineConfiguration.setEnableGatewayJoinRowLocking(false);
+    super.tearDown();
+  }
+
+  public void testJoinOf50ConcurrentBranchesIsNotRetried() {
+    assertThat(joinConcurrentBranches(50)).isEqualTo(0);
+  }
+
+  public void testJoinOf200ConcurrentBranchesIsNotRetried() {
+    assertThat(joinConcurrentBranches(200)).isEqualTo(0);
+  }
+
+  public void testRetriesPerJoinComparedToForcedUpdate() {
+    double rowLockingRetriesPerJoin = retriesPerJoin(3, 50);
+
+    // with the forced update, a branch job can fail more often than the default number of retries
+    int numberOfRetries = processEngineConfiguration.getAsyncExecutorNumberOfRetries();
+    processEngineConfiguration.setEnableGatewayJoinRowLocking(false);
+    processEngineConfiguration.setAsyncExecutorNumberOfRetries(1000);
+    double forcedUpdateRetriesPerJoin;
+    try {
+      forcedUpdateRetriesPerJoin = retriesPerJoin(3, 50);
+    } finally {
+      processEngineConfiguration.setAsyncExecutorNumberOfRetries(numberOfRetries);
+    }
+
+    log.info("Retried branch jobs per join of 50 branches: {} with the row lock, {} with the forced update", rowLockingRetriesPerJoin, forcedUpdateRetriesPerJoin);
+    assertThat(rowLockingRetriesPerJoin).isEqualTo(0.0);
+    assertThat(forcedUpdateRetriesPerJoin).isGreaterThanOrEqualTo(rowLockingRetriesPerJoin);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testNoRowLockWithoutReadCommittedIsolation() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    boolean locked = managementService.executeCommand(commandContext -> {
+      Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+      try {
+        int isolation = connection.getTransactionIsolation();
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        try {
+          ExecutionEntityManager executionEntityManager = commandContext.getExecutionEntityManager();
+          return executionEntityManager.lockExecution(executionEntityManager.findById(processInstanceId));
+        } finally {
+          connection.setTransactionIsolation(isolation);
+        }
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    assertThat(locked).isFalse();
+  }
+
+  /**
+   * Returns the average number of branch jobs that had to be retried per join.
+   */
+  protected double retriesPerJoin(int numberOfJoins, int numberOfBranches) {
+    failedJobCounter.reset();
+    for (int i = 0; i < numberOfJoins; i++) {
+      joinConcurrentBranches(numberOfBranches);
+    }
+    return (double) failedJobCounter.getCount() / numberOfJoins;
+  }
+
+  /**
+   * Returns the number of branch jobs that had to be retried.
+   */
+  protected int joinConcurrentBranches(int numberOfBranches) {
+    String deploymentId = repositoryService.createDeployment()
+        .addBpmnModel("wideJoin.bpmn20.xml", createWideJoinProcess(numberOfBranches))
+        .deploy()
+        .getId();
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("wideJoin");
+      assertThat(managementService.createJobQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(numberOfBranches);
+
+      // failed branch jobs are retried through timer jobs, so wait for the join itself
+      waitForJobExecutorOnCondition(60000L, 200L,
+          () -> taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count() == 1);
+      assertThat(managementService.createDeadLetterJobQuery().count()).isEqualTo(0);
+      // the process instance and the execution waiting in the user task
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(2);
+      return failedJobCounter.getCount();
+
+    } finally {
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+  }
+
+  protected BpmnModel createWideJoinProcess(int numberOfBranches) {
+    Process process = new Process();
+    process.setId("wideJoin");
+
+    addFlowElement(process, new StartEvent(), "start");
+    addFlowElement(process, new ParallelGateway(), "fork");
+    addSequenceFlow(process, "start", "fork");
+
+    addFlowElement(process, new ParallelGateway(), "join");
+    for (int i = 0; i < numberOfBranches; i++) {
+      ManualTask branch = new ManualTask();
+      branch.setAsynchronous(true);
+      branch.setNotExclusive(true);
+      addFlowElement(process, branch, "branch" + i);
+      addSequenceFlow(process, "fork", "branch" + i);
+      addSequenceFlow(process, "branch" + i, "join");
+    }
+
+    addFlowElement(process, new UserTask(), "afterJoin");
+    addSequenceFlow(process, "join", "afterJoin");
+    addFlowElement(process, new EndEvent(), "end");
+    addSequenceFlow(process, "afterJoin", "end");
+
+    BpmnModel bpmnModel = new BpmnModel();
+    bpmnModel.addProcess(process);
+    return bpmnModel;
+  }
+
+  protected void addFlowElement(Process process, FlowNode flowNode, String id) {
+    flowNode.setId(id);
+    process.addFlowElement(flowNode);
+  }
+
+  protected void addSequenceFlow(Process process, String sourceRef, String targetRef) {
+    SequenceFlow sequenceFlow = new SequenceFlow(sourceRef, targetRef);
+    sequenceFlow.setId(sourceRef + "-" + targetRef);
+    process.addFlowElement(sequenceFlow);
+  }
+
+  public static class FailedJobCounter implements ActivitiEventListener {
+
+    protected AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+      count.incrementAndGet();
+    }
+
+    @Override
+    public boolean isFailOnException() {
+      return false;
+    }
+
+    public int getCount() {
+      return count.get();
+    }
+
+    public void reset() {
+      count.set(0);
+    }
+
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class BatchedFlushTest extends ResourceActivitiTestCase {
+
+  public BatchedFlushTest() {
+    super("org/activiti/engine/test/db/BatchedFlushTest.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testParallelTasks() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("batchedFlush");
+
+    List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+    assertThat(tasks).hasSize(3);
+
+    for (Task task : tasks) {
+      taskService.setVariable(task.getId(), "var", "value");
+      taskService.setVariable(task.getId(), "var", "changed");
+      taskService.complete(task.getId());
+    }
+
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).finished().count()).isEqualTo(3);
+  }
+
+  public void testOptimisticLockingOnBatchedUpdate() {
+    Task firstTask = taskService.newTask();
+    taskService.saveTask(firstTask);
+    Task secondTask = taskService.newTask();
+    taskService.saveTask(secondTask);
+
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+      .isThrownBy(() -> managementService.executeCommand(commandContext -> {
+        TaskEntity first = commandContext.getTaskEntityManager().findById(firstTask.getId());
+        TaskEntity second = commandContext.getTaskEntityManager().findById(secondTask.getId());
+        first.setDescription("first modification");
+        second.setDescription("second modification");
+        second.setRevision(second.getRevision() + 1); // simulates a concurrent update
+        return null;
+      }));
+
+    // The whole batch is rolled back
+    assertThat(taskService.createTaskQuery().taskId(firstTask.getId()).singleResult().getDescription()).isNull();
+
+    taskService.deleteTask(firstTask.getId(), true);
+    taskService.deleteTask(secondTask.getId(), true);
+  }
+
+}
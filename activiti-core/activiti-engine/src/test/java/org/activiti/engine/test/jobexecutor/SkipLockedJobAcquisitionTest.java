@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.test.Deployment;
+
+public class SkipLockedJobAcquisitionTest extends ResourceActivitiTestCase {
+
+  public SkipLockedJobAcquisitionTest() {
+    super("org/activiti/engine/test/jobexecutor/SkipLockedJobAcquisitionTest.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testAcquireJobs() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("skipLocked");
+    }
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+
+    Set<String> concurrentlyAcquired = new HashSet<String>();
+    Collection<JobEntity> acquired = managementService.executeCommand(commandContext -> {
+      Collection<JobEntity> jobs = new AcquireJobsCmd(asyncExecutor).execute(commandContext).getJobs();
+
+      // The rows of the jobs acquired above are still locked: another executor must skip them
+      concurrentlyAcquired.addAll(ids(inOtherTransaction(() ->
+          managementService.executeCommand(new AcquireJobsCmd(asyncExecutor)).getJobs())));
+      return jobs;
+    });
+
+    assertThat(acquired).hasSize(2);
+    assertThat(concurrentlyAcquired).hasSize(1).doesNotContainAnyElementsOf(ids(acquired));
+    assertThat(managementService.executeCommand(new AcquireJobsCmd(asyncExecutor)).getJobs()).isEmpty();
+  }
+
+  @Deployment
+  public void testAcquireTimerJobs() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("skipLockedTimer");
+    }
+    processEngineConfiguration.getClock().setCurrentTime(new Date(System.currentTimeMillis() + 2 * 60 * 60 * 1000));
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+
+    Set<String> concurrentlyAcquired = new HashSet<String>();
+    Collection<TimerJobEntity> acquired = managementService.executeCommand(commandContext -> {
+      Collection<TimerJobEntity> jobs = new AcquireTimerJobsCmd(asyncExecutor).execute(commandContext).getJobs();
+
+      concurrentlyAcquired.addAll(ids(inOtherTransaction(() ->
+          managementService.executeCommand(new AcquireTimerJobsCmd(asyncExecutor)).getJobs())));
+      return jobs;
+    });
+
+    assertThat(acquired).hasSize(2);
+    assertThat(concurrentlyAcquired).hasSize(1).doesNotContainAnyElementsOf(ids(acquired));
+    processEngineConfiguration.getClock().reset();
+  }
+
+  protected <T> T inOtherTransaction(Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier).join();
+  }
+
+  protected Set<String> ids(Collection<? extends Job> jobs) {
+    Set<String> ids = new HashSet<String>();
+    for (Job job : jobs) {
+      ids.add(job.getId());
+    }
+    return ids;
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+public class VirtualThreadAsyncExecutorTest extends ResourceActivitiTestCase {
+
+  public VirtualThreadAsyncExecutorTest() {
+    super("org/activiti/engine/test/jobexecutor/VirtualThreadAsyncExecutorTest.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testAsyncJobs() {
+    DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngineConfiguration.getAsyncExecutor();
+    assertThat(asyncExecutor.isUseVirtualThreads()).isTrue();
+    assertThat(asyncExecutor.getVirtualThreadMaxConcurrency()).isEqualTo(2);
+
+    // More jobs than can run at the same time: the rejected ones are unacquired and acquired again later
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey("virtualThreads");
+    }
+    assertThat(managementService.createJobQuery().count()).isEqualTo(10);
+
+    waitForJobExecutorToProcessAllJobs(20000L, 200L);
+
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(10);
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.standalone.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.runtime.ProcessInstance;
+
+public class ConcurrentDeploymentCacheLimitTest extends ResourceActivitiTestCase {
+
+  public ConcurrentDeploymentCacheLimitTest() {
+    super("org/activiti/standalone/deploy/concurrent.deployment.cache.test.activiti.cfg.xml");
+  }
+
+  public void testConcurrentDeploymentCacheLimit() {
+    assertThat(processEngineConfiguration.getProcessDefinitionCache()).isInstanceOf(ConcurrentDeploymentCache.class);
+    ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration.getProcessDefinitionCache();
+
+    String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/activiti/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+    for (int i = 1; i <= 5; i++) {
+      repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+    }
+    assertThat(processDefinitionCache.size()).isEqualTo(3);
+    assertThat(processDefinitionCache.getEvictionCount()).isEqualTo(2);
+    assertThat(processDefinitionCache.getWeight()).isEqualTo(18);
+
+    // The evicted process definition is loaded again
+    long missCount = processDefinitionCache.getMissCount();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess1");
+    assertThat(processDefinitionCache.getMissCount()).isGreaterThan(missCount);
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    assertThat(processDefinitionCache.size()).isEqualTo(3);
+
+    ProcessDefinitionInfoCacheObject infoCacheObject = processEngineConfiguration.getDeploymentManager()
+        .getProcessDefinitionInfoCache().get(processInstance.getProcessDefinitionId());
+    assertThat(infoCacheObject.getInfoNode()).isNotNull();
+
+    // Cleanup
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.activiti.core.el.juel.ExpressionFactoryImpl;
+import org.activiti.core.el.juel.tree.TreeCache;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+public class ExpressionCachePrewarmTest extends ResourceActivitiTestCase {
+
+  public ExpressionCachePrewarmTest() {
+    super("org/activiti/standalone/el/expression.cache.prewarm.test.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testPrewarmOnDeploy() {
+    TreeCache treeCache = ((ExpressionFactoryImpl) processEngineConfiguration.getExpressionManager().getExpressionFactory())
+        .getTreeStore().getCache();
+
+    assertThat(treeCache.get("${prewarmedAmount > 100}")).isNotNull();
+    assertThat(treeCache.get("${prewarmedAssignee}")).isNotNull();
+
+    runtimeService.startProcessInstanceByKey("expressionCachePrewarm", Map.of("prewarmedAmount", 500, "prewarmedAssignee", "kermit"));
+    assertThat(taskService.createTaskQuery().taskAssignee("kermit").singleResult().getName()).isEqualTo("Large order");
+  }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.standalone.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngines;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricDetail;
+import org.activiti.engine.history.HistoricVariableUpdate;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncHistoryTest {
+
+  protected List<Integer> appliedRows = new CopyOnWriteArrayList<>();
+
+  protected List<Integer> failedRows = new CopyOnWriteArrayList<>();
+
+  protected volatile boolean failApplying;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  protected ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName(this.getClass().getName());
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-async-history;DB_CLOSE_DELAY=1000");
+    processEngineConfiguration.setHistoryLevel(HistoryLevel.FULL);
+    processEngineConfiguration.setAsyncHistoryEnabled(true);
+    processEngineConfiguration.setProcessEngineMetrics(new ProcessEngineMetrics() {
+      @Override
+      public void asyncHistoryApplied(int numberOfRows, long lagInMillis) {
+        if (failApplying) {
+          throw new ActivitiException("applying failed");
+        }
+        appliedRows.add(numberOfRows);
+      }
+
+      @Override
+      public void asyncHistoryFailed(int numberOfRows) {
+        failedRows.add(numberOfRows);
+      }
+    });
+    this.processEngine = processEngineConfiguration.buildProcessEngine();
+    processEngine.getRepositoryService().createDeployment().addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+  }
+
+  @After
+  public void tearDown() {
+    for (Job job : processEngine.getManagementService().createJobQuery().list()) {
+      processEngine.getManagementService().deleteJob(job.getId());
+    }
+    for (Job job : processEngine.getManagementService().createDeadLetterJobQuery().list()) {
+      processEngine.getManagementService().deleteDeadLetterJob(job.getId());
+    }
+    for (Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+      processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+    }
+
+    processEngine.close();
+    ProcessEngines.unregister(processEngine);
+    processEngine = null;
+  }
+
+  @Test
+  public void testFinishedActivitiesAndVariableUpdatesAreWrittenByJob() {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("name", "kermit");
+    variables.put("count", 3L);
+    ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess", variables);
+
+    // what is still updated by later commands is written right away
+    assertThat(processEngine.getHistoryService().createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(processEngine.getHistoryService().createHistoricVariableInstanceQuery().count()).isEqualTo(2);
+    assertThat(processEngine.getHistoryService().createHistoricActivityInstanceQuery().list())
+        .extracting(HistoricActivityInstance::getActivityId).containsExactly("theTask");
+    assertThat(processEngine.getHistoryService().createHistoricDetailQuery().count()).isZero();
+
+    executeAsyncHistoryJobs();
+    assertThat(processEngine.getHistoryService().createHistoricActivityInstanceQuery().finished().list())
+        .extracting(HistoricActivityInstance::getActivityId).containsExactly("theStart");
+    List<HistoricDetail> variableUpdates = processEngine.getHistoryService().createHistoricDetailQuery().variableUpdates().list();
+    assertThat(variableUpdates).extracting(detail -> ((HistoricVariableUpdate) detail).getValue()).containsExactlyInAnyOrder("kermit", 3L);
+    assertThat(variableUpdates).extracting(HistoricDetail::getProcessInstanceId).containsOnly(processInstance.getId());
+    assertThat(appliedRows).containsExactly(3);
+
+    Task task = processEngine.getTaskService().createTaskQuery().singleResult();
+    processEngine.getTaskService().complete(task.getId());
+    executeAsyncHistoryJobs();
+    assertThat(processEngine.getHistoryService().createHistoricActivityInstanceQuery().finished().list())
+        .extracting(HistoricActivityInstance::getActivityId).containsExactlyInAnyOrder("theStart", "theTask", "theEnd");
+  }
+
+  @Test
+  public void testLargeHistoryIsStoredInByteArray() {
+    Map<String, Object> variables = new HashMap<>();
+    for (int i = 0; i < 50; i++) {
+      variables.put("variable" + i, "value of variable " + i);
+    }
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess", variables);
+
+    Job job = processEngine.getManagementService().createJobQuery().singleResult();
+    assertThat(job.getJobHandlerType()).isEqualTo(AsyncHistoryJobHandler.TYPE);
+    assertThat(job.getJobHandlerConfiguration()).contains("byteArrayId");
+    String byteArrayId = new JSONObject(job.getJobHandlerConfiguration()).getString("byteArrayId");
+
+    executeAsyncHistoryJobs();
+    assertThat(processEngine.getHistoryService().createHistoricDetailQuery().count()).isEqualTo(50);
+    ByteArrayEntity byteArray = processEngine.getManagementService().executeCommand(
+        commandContext -> commandContext.getByteArrayEntityManager().findById(byteArrayId));
+    assertThat(byteArray).isNull();
+  }
+
+  @Test
+  public void testJobWithOnlyVariableUpdatesHasTenantOfExecution() {
+    processEngine.getRepositoryService().createDeployment().addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+        .tenantId("acme").deploy();
+    ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKeyAndTenantId("oneTaskProcess", "acme");
+    executeAsyncHistoryJobs();
+
+    processEngine.getRuntimeService().setVariable(processInstance.getId(), "name", "kermit");
+
+    Job job = processEngine.getManagementService().createJobQuery().singleResult();
+    assertThat(job.getJobHandlerType()).isEqualTo(AsyncHistoryJobHandler.TYPE);
+    assertThat(job.getTenantId()).isEqualTo("acme");
+  }
+
+  @Test
+  public void testJobOutOfRetriesIsReported() {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("name", "kermit");
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess", variables);
+    Job job = processEngine.getManagementService().createJobQuery().singleResult();
+    processEngine.getManagementService().setJobRetries(job.getId(), 1);
+
+    failApplying = true;
+    assertThatExceptionOfType(ActivitiException.class).isThrownBy(() -> processEngine.getManagementService().executeJob(job.getId()));
+
+    assertThat(processEngine.getManagementService().createDeadLetterJobQuery().jobId(job.getId()).count()).isEqualTo(1);
+    assertThat(failedRows).containsExactly(2);
+  }
+
+  @Test
+  public void testHistoryOfDeletedProcessInstanceIsDropped() {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("name", "kermit");
+    ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess", variables);
+    processEngine.getRuntimeService().deleteProcessInstance(processInstance.getId(), "test");
+    processEngine.getHistoryService().deleteHistoricProcessInstance(processInstance.getId());
+
+    executeAsyncHistoryJobs();
+    assertThat(processEngine.getHistoryService().createHistoricActivityInstanceQuery().count()).isZero();
+    assertThat(processEngine.getHistoryService().createHistoricDetailQuery().count()).isZero();
+    assertThat(appliedRows).containsOnly(0);
+  }
+
+  protected void executeAsyncHistoryJobs() {
+    for (Job job : processEngine.getManagementService().createJobQuery().list()) {
+      assertThat(job.getJobHandlerType()).isEqualTo(AsyncHistoryJobHandler.TYPE);
+      processEngine.getManagementService().executeJob(job.getId());
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.standalone.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngines;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.cmd.CompleteTaskCmd;
+import org.activiti.engine.impl.cmd.StartProcessInstanceCmd;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.task.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProcessEngineMetricsTest {
+
+  protected RecordingProcessEngineMetrics metrics = new RecordingProcessEngineMetrics();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  protected ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName(this.getClass().getName());
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-process-engine-metrics;DB_CLOSE_DELAY=1000");
+    processEngineConfiguration.setProcessEngineMetrics(metrics);
+    this.processEngine = processEngineConfiguration.buildProcessEngine();
+    processEngine.getRepositoryService().createDeployment().addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+  }
+
+  @After
+  public void tearDown() {
+    for (Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+      processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+    }
+
+    processEngine.close();
+    ProcessEngines.unregister(processEngine);
+    processEngine = null;
+  }
+
+  @Test
+  public void testCommandsAreTimed() {
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+    assertThatThrownBy(() -> processEngine.getTaskService().complete("unexisting"))
+        .isInstanceOf(ActivitiObjectNotFoundException.class);
+
+    assertThat(metrics.successfulCommands).contains(StartProcessInstanceCmd.class);
+    assertThat(metrics.failedCommands).containsExactly(CompleteTaskCmd.class);
+  }
+
+  @Test
+  public void testFlushedEntitiesAreCountedPerType() {
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+    assertThat(metrics.getFlushCount(ExecutionEntityImpl.class)).containsExactly(2, 0, 0);
+    assertThat(metrics.getFlushCount(TaskEntityImpl.class)).containsExactly(1, 0, 0);
+
+    metrics.flushCounts.clear();
+    Task task = processEngine.getTaskService().createTaskQuery().singleResult();
+    processEngine.getTaskService().complete(task.getId());
+
+    assertThat(metrics.getFlushCount(TaskEntityImpl.class)).containsExactly(0, 0, 1);
+    assertThat(metrics.getFlushCount(ExecutionEntityImpl.class)[2]).isEqualTo(2);
+  }
+
+  @Test
+  public void testProcessDefinitionCacheAccessIsRecorded() {
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+    assertThat(metrics.processDefinitionCacheHits.get()).isPositive();
+    assertThat(metrics.processDefinitionCacheMisses.get()).isZero();
+
+    processEngineConfiguration.getProcessDefinitionCache().clear();
+    processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+    assertThat(metrics.processDefinitionCacheMisses.get()).isEqualTo(1);
+  }
+
+  public static class RecordingProcessEngineMetrics implements ProcessEngineMetrics {
+
+    protected List<Class<?>> successfulCommands = new CopyOnWriteArrayList<>();
+    protected List<Class<?>> failedCommands = new CopyOnWriteArrayList<>();
+    protected Map<Class<? extends Entity>, int[]> flushCounts = new ConcurrentHashMap<>();
+    protected AtomicInteger processDefinitionCacheHits = new AtomicInteger();
+    protected AtomicInteger processDefinitionCacheMisses = new AtomicInteger();
+
+    @Override
+    public void commandExecuted(Class<?> commandClass, long durationInNanos, boolean successful) {
+      (successful ? successfulCommands : failedCommands).add(commandClass);
+    }
+
+    @Override
+    public void entitiesFlushed(Class<? extends Entity> entityClass, int inserts, int updates, int deletes) {
+      int[] flushCount = flushCounts.computeIfAbsent(entityClass, key -> new int[3]);
+      flushCount[0] += inserts;
+      flushCount[1] += updates;
+      flushCount[2] += deletes;
+    }
+
+    @Override
+    public void processDefinitionCacheAccessed(boolean hit) {
+      (hit ? processDefinitionCacheHits : processDefinitionCacheMisses).incrementAndGet();
+    }
+
+    public int[] getFlushCount(Class<? extends Entity> entityClass) {
+      return flushCounts.getOrDefault(entityClass, new int[3]);
+    }
+
+  }
+
+}
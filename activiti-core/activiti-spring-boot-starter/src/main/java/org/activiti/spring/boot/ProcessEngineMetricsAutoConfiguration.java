@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.boot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.spring.boot.actuate.metrics.MicrometerProcessEngineMetrics;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Publishes the process engine measurements to the Micrometer {@link MeterRegistry} of the application,
+ * so they are available next to the activiti endpoint under /actuator/metrics.
+ * Can be switched off with spring.activiti.metrics.enabled=false.
+ */
+@AutoConfiguration(after = {MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class})
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "spring.activiti.metrics", name = "enabled", matchIfMissing = true)
+public class ProcessEngineMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MicrometerProcessEngineMetrics micrometerProcessEngineMetrics(MeterRegistry meterRegistry) {
+        return new MicrometerProcessEngineMetrics(meterRegistry);
+    }
+
+    @Bean
+    public ProcessEngineConfigurationConfigurer processEngineMetricsConfigurer(MicrometerProcessEngineMetrics processEngineMetrics) {
+        return configuration -> {
+            configuration.setProcessEngineMetrics(processEngineMetrics);
+            processEngineMetrics.bindAsyncExecutor(configuration.getAsyncExecutor());
+        };
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.boot.actuate.metrics;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.metrics.ProcessEngineMetrics;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Publishes the measurements of the process engine as Micrometer meters, all named "activiti.*".
+ * The meters of the commands and the flushed entity types are created on first use, and are kept
+ * here so that the hot path doesn't have to look them up in the registry.
+ */
+public class MicrometerProcessEngineMetrics implements ProcessEngineMetrics {
+
+    public static final String COMMAND_TIMER = "activiti.command";
+    public static final String OPTIMISTIC_LOCKING_FAILURE_COUNTER = "activiti.command.optimistic.locking.failures";
+    public static final String FLUSHED_ENTITIES_COUNTER = "activiti.flush.entities";
+    public static final String ACQUIRED_JOBS_SUMMARY = "activiti.async.executor.acquired.jobs";
+    public static final String QUEUE_SIZE_GAUGE = "activiti.async.executor.queue.size";
+    public static final String JOB_LATENCY_TIMER = "activiti.job.latency";
+    public static final String DEAD_LETTER_JOB_COUNTER = "activiti.job.dead.letter";
+    public static final String PROCESS_DEFINITION_CACHE_COUNTER = "activiti.process.definition.cache";
+    public static final String BPMN_RESOURCE_PARSE_TIMER = "activiti.deployment.resource.parse";
+    public static final String HISTORY_PURGE_TIMER = "activiti.history.purge";
+    public static final String PURGED_PROCESS_INSTANCES_COUNTER = "activiti.history.purged.process.instances";
+    public static final String ASYNC_HISTORY_LAG_TIMER = "activiti.history.async.lag";
+    public static final String ASYNC_HISTORY_ROWS_COUNTER = "activiti.history.async.rows";
+    public static final String ASYNC_HISTORY_FAILED_ROWS_COUNTER = "activiti.history.async.failed.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, Timer> successfulCommandTimers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Timer> failedCommandTimers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> optimisticLockingFailureCounters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter[]> flushedEntitiesCounters = new ConcurrentHashMap<>();
+
+    private final DistributionSummary acquiredAsyncJobs;
+    private final DistributionSummary acquiredTimerJobs;
+    private final Timer jobLatency;
+    private final Counter deadLetterJobs;
+    private final Counter processDefinitionCacheHits;
+    private final Counter processDefinitionCacheMisses;
+    private final Timer bpmnResourceParsing;
+    private final Timer historyPurge;
+    private final Counter purgedProcessInstances;
+    private final Timer asyncHistoryLag;
+    private final Counter asyncHistoryRows;
+    private final Counter asyncHistoryFailedRows;
+
+    public MicrometerProcessEngineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.acquiredAsyncJobs = DistributionSummary.builder(ACQUIRED_JOBS_SUMMARY)
+            .description("Number of jobs fetched per acquisition")
+            .tag("type", "async")
+            .register(meterRegistry);
+        this.acquiredTimerJobs = DistributionSummary.builder(ACQUIRED_JOBS_SUMMARY)
+            .description("Number of jobs fetched per acquisition")
+            .tag("type", "timer")
+            .register(meterRegistry);
+        this.jobLatency = Timer.builder(JOB_LATENCY_TIMER)
+            .description("Time between the due date of a job and the start of its execution")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.deadLetterJobs = Counter.builder(DEAD_LETTER_JOB_COUNTER)
+            .description("Jobs moved to the dead letter jobs after running out of retries")
+            .register(meterRegistry);
+        this.processDefinitionCacheHits = Counter.builder(PROCESS_DEFINITION_CACHE_COUNTER)
+            .description("Lookups in the process definition cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.processDefinitionCacheMisses = Counter.builder(PROCESS_DEFINITION_CACHE_COUNTER)
+            .description("Lookups in the process definition cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        // not tagged with the resource name, as these are unbounded over deployments
+        this.bpmnResourceParsing = Timer.builder(BPMN_RESOURCE_PARSE_TIMER)
+            .description("Time to convert and validate a BPMN resource of a deployment")
+            .register(meterRegistry);
+        this.historyPurge = Timer.builder(HISTORY_PURGE_TIMER)
+            .description("Time to delete one batch of historic process instances")
+            .register(meterRegistry);
+        this.purgedProcessInstances = Counter.builder(PURGED_PROCESS_INSTANCES_COUNTER)
+            .description("Historic root process instances deleted by a purge of the history")
+            .register(meterRegistry);
+        this.asyncHistoryLag = Timer.builder(ASYNC_HISTORY_LAG_TIMER)
+            .description("Time between recording history rows and writing them with the asynchronous history")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.asyncHistoryRows = Counter.builder(ASYNC_HISTORY_ROWS_COUNTER)
+            .description("History rows written by the asynchronous history")
+            .register(meterRegistry);
+        this.asyncHistoryFailedRows = Counter.builder(ASYNC_HISTORY_FAILED_ROWS_COUNTER)
+            .description("History rows of asynchronous history jobs that ran out of retries")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registers the gauge of the number of jobs waiting in the queue of the async executor.
+     * Executors without a queue, like the virtual thread mode, always report 0.
+     */
+    public void bindAsyncExecutor(AsyncExecutor asyncExecutor) {
+        Gauge.builder(QUEUE_SIZE_GAUGE, asyncExecutor, MicrometerProcessEngineMetrics::getQueueSize)
+            .description("Jobs handed to the async executor that wait for a thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void commandExecuted(Class<?> commandClass, long durationInNanos, boolean successful) {
+        Map<Class<?>, Timer> timers = successful ? successfulCommandTimers : failedCommandTimers;
+        timers.computeIfAbsent(commandClass, key -> Timer.builder(COMMAND_TIMER)
+                .description("Execution time of the engine commands, including flush and commit")
+                .tag("command", key.getSimpleName())
+                .tag("outcome", successful ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+            .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void optimisticLockingFailure(Class<?> commandClass) {
+        optimisticLockingFailureCounters.computeIfAbsent(commandClass, key -> Counter.builder(OPTIMISTIC_LOCKING_FAILURE_COUNTER)
+                .description("Commands that failed because of a concurrent modification")
+                .tag("command", key.getSimpleName())
+                .register(meterRegistry))
+            .increment();
+    }
+
+    @Override
+    public void entitiesFlushed(Class<? extends Entity> entityClass, int inserts, int updates, int deletes) {
+        Counter[] counters = flushedEntitiesCounters.computeIfAbsent(entityClass, key -> new Counter[] {
+            flushedEntitiesCounter(key, "insert"),
+            flushedEntitiesCounter(key, "update"),
+            flushedEntitiesCounter(key, "delete")
+        });
+        if (inserts > 0) {
+            counters[0].increment(inserts);
+        }
+        if (updates > 0) {
+            counters[1].increment(updates);
+        }
+        if (deletes > 0) {
+            counters[2].increment(deletes);
+        }
+    }
+
+    @Override
+    public void asyncJobsAcquired(int numberOfJobs) {
+        acquiredAsyncJobs.record(numberOfJobs);
+    }
+
+    @Override
+    public void timerJobsAcquired(int numberOfJobs) {
+        acquiredTimerJobs.record(numberOfJobs);
+    }
+
+    @Override
+    public void jobExecutionStarted(Job job, long latencyInMillis) {
+        if (latencyInMillis >= 0) {
+            jobLatency.record(latencyInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void jobMovedToDeadLetter(Job job) {
+        deadLetterJobs.increment();
+    }
+
+    @Override
+    public void processDefinitionCacheAccessed(boolean hit) {
+        (hit ? processDefinitionCacheHits : processDefinitionCacheMisses).increment();
+    }
+
+    @Override
+    public void bpmnResourceParsed(String resourceName, long durationInNanos) {
+        bpmnResourceParsing.record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void historicProcessInstancesPurged(int numberOfProcessInstances, long durationInNanos) {
+        historyPurge.record(durationInNanos, TimeUnit.NANOSECONDS);
+        purgedProcessInstances.increment(numberOfProcessInstances);
+    }
+
+    @Override
+    public void asyncHistoryApplied(int numberOfRows, long lagInMillis) {
+        asyncHistoryLag.record(lagInMillis, TimeUnit.MILLISECONDS);
+        asyncHistoryRows.increment(numberOfRows);
+    }
+
+    @Override
+    public void asyncHistoryFailed(int numberOfRows) {
+        asyncHistoryFailedRows.increment(numberOfRows);
+    }
+
+    private Counter flushedEntitiesCounter(Class<?> entityClass, String operation) {
+        return Counter.builder(FLUSHED_ENTITIES_COUNTER)
+            .description("Entities written to the database by the flush of a command")
+            .tag("entity", entityClass.getSimpleName())
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static double getQueueSize(AsyncExecutor asyncExecutor) {
+        if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+            BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncJobExecutor) asyncExecutor).getThreadPoolQueue();
+            return threadPoolQueue != null ? threadPoolQueue.size() : 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.impl.cmd.GetPropertiesCmd;
+import org.activiti.spring.SpringProcessEngineConfiguration;
+import org.activiti.spring.boot.actuate.metrics.MicrometerProcessEngineMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ProcessEngineMetricsConfigurationTest {
+
+    @Autowired
+    private SpringProcessEngineConfiguration processEngineConfiguration;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    @Test
+    public void shouldConfigureMicrometerProcessEngineMetrics() {
+        assertThat(processEngineConfiguration.getProcessEngineMetrics()).isInstanceOf(MicrometerProcessEngineMetrics.class);
+        assertThat(meterRegistry.find(MicrometerProcessEngineMetrics.QUEUE_SIZE_GAUGE).gauge()).isNotNull();
+    }
+
+    @Test
+    public void shouldTimeCommands() {
+        managementService.executeCommand(new GetPropertiesCmd());
+
+        assertThat(meterRegistry.find(MicrometerProcessEngineMetrics.COMMAND_TIMER)
+            .tags("command", GetPropertiesCmd.class.getSimpleName(), "outcome", "success")
+            .timer().count()).isPositive();
+    }
+
+    @Test
+    public void shouldCountProcessDefinitionCacheLookups() {
+        String processDefinitionId = repositoryService.createProcessDefinitionQuery().latestVersion().list().get(0).getId();
+
+        repositoryService.getProcessDefinition(processDefinitionId);
+
+        assertThat(meterRegistry.find(MicrometerProcessEngineMetrics.PROCESS_DEFINITION_CACHE_COUNTER).counters()).hasSize(2);
+        assertThat(meterRegistry.find(MicrometerProcessEngineMetrics.PROCESS_DEFINITION_CACHE_COUNTER).tag("result", "hit").counter().count()
+            + meterRegistry.find(MicrometerProcessEngineMetrics.PROCESS_DEFINITION_CACHE_COUNTER).tag("result", "miss").counter().count()).isPositive();
+    }
+
+    @Test
+    public void shouldTimeParsingOfDeployedResources() {
+        long parsedResources = meterRegistry.find(MicrometerProcessEngineMetrics.BPMN_RESOURCE_PARSE_TIMER).timer().count();
+
+        String deploymentId = repositoryService.createDeployment()
+            .addString("metricsProcess.bpmn20.xml",
+                "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' targetNamespace='http://activiti.org/BPMN20'>"
+                    + "<process id='metricsProcess' isExecutable='true'><startEvent id='start' />"
+                    + "<sequenceFlow id='flow' sourceRef='start' targetRef='end' /><endEvent id='end' /></process>"
+                    + "</definitions>")
+            .deploy()
+            .getId();
+        repositoryService.deleteDeployment(deploymentId, true);
+
+        assertThat(meterRegistry.find(MicrometerProcessEngineMetrics.BPMN_RESOURCE_PARSE_TIMER).timer().count()).isEqualTo(parsedResources + 1);
+    }
+}
@@ -24,12 +24,18 @@ import java.util.List;
 import javax.sql.DataSource;
 
 import org.activiti.bpmn.exceptions.XMLException;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.event.logger.AsyncEventLogWriter;
+import org.activiti.engine.impl.event.logger.AsyncEventLogger;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
 import org.activiti.engine.test.Deployment;
 import org.activiti.spring.impl.test.SpringActivitiTestCase;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ContextConfiguration("classpath:org/activiti/spring/test/transaction/SpringTransactionIntegrationTest-context.xml")
 public class SpringTransactionIntegrationTest extends SpringActivitiTestCase {
@@ -43,6 +49,9 @@ public class SpringTransactionIntegrationTest extends SpringActivitiTestCase {
     @Autowired
     protected DataSource dataSource;
 
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
 
     private void cleanUp() {
         List<org.activiti.engine.repository.Deployment> deployments = repositoryService.createDeploymentQuery().list();
@@ -91,6 +100,39 @@ public class SpringTransactionIntegrationTest extends SpringActivitiTestCase {
         jdbcTemplate.execute("drop table MY_TABLE if exists;");
     }
 
+    public void testAsyncEventLogEntriesAreOnlyWrittenWhenTransactionCommits() {
+        AsyncEventLogWriter eventLogWriter = new AsyncEventLogWriter().setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        AsyncEventLogger eventLogger = new AsyncEventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper(), eventLogWriter);
+        eventLogWriter.start();
+        runtimeService.addEventListener(eventLogger);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String taskId;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskService.saveTask(taskService.newTask("rolledBackTask"));
+                status.setRollbackOnly();
+            });
+            taskId = transactionTemplate.execute(status -> {
+                Task task = taskService.newTask();
+                taskService.saveTask(task);
+                return task.getId();
+            });
+        } finally {
+            runtimeService.removeEventListener(eventLogger);
+            eventLogWriter.shutdown();
+        }
+
+        assertThat(taskService.createTaskQuery().taskId("rolledBackTask").count()).isEqualTo(0);
+        List<EventLogEntry> eventLogEntries = managementService.getEventLogEntries(null, null);
+        assertThat(eventLogEntries).extracting(EventLogEntry::getTaskId).containsExactly(taskId);
+        assertThat(eventLogWriter.getWrittenCount()).isEqualTo(1);
+
+        taskService.deleteTask(taskId, true);
+        for (EventLogEntry eventLogEntry : eventLogEntries) {
+            managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+        }
+    }
+
     public void testRollBackOnDeployment() {
         // The second process should fail. None of the processes should be deployed, the first one should be rolled back
         assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(0);